@@ -0,0 +1,93 @@
+package syncqubits.ai.blog.pranuBlog.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import syncqubits.ai.blog.pranuBlog.util.BotClassifier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User-agent classification throughput: the verdict cache on a realistic repeating mix,
+ * the compiled matcher on every request (cache misses), and a naive per-signature
+ * {@code contains} scan as the baseline the matcher replaces.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BotClassifierBenchmark {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Safari/605.1.15",
+            "Mozilla/5.0 (Linux; Android 14; SM-S918B) AppleWebKit/537.36 (KHTML, like Gecko) SamsungBrowser/24.0 Chrome/117.0.0.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36 Edg/124.0.2478.80",
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+            "Mozilla/5.0 (compatible; bingbot/2.0; +http://www.bing.com/bingbot.htm)",
+            "facebookexternalhit/1.1 (+http://www.facebook.com/externalhit_uatext.php)",
+            "Mozilla/5.0 AppleWebKit/537.36 (KHTML, like Gecko; compatible; GPTBot/1.0; +https://openai.com/gptbot)",
+            "curl/8.4.0",
+            "python-requests/2.31.0"
+    };
+
+    private BotClassifier classifier;
+    private List<String> lowerCaseSignatures;
+    private String[] uniqueUserAgents;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        classifier = new BotClassifier(new SimpleMeterRegistry(), true, 10_000, List.of());
+        lowerCaseSignatures = BotClassifier.loadSignatures().stream()
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .toList();
+
+        // Distinct strings so every call misses the verdict cache
+        uniqueUserAgents = new String[100_000];
+        for (int i = 0; i < uniqueUserAgents.length; i++) {
+            uniqueUserAgents[i] = USER_AGENTS[i % USER_AGENTS.length] + " build/" + i;
+        }
+    }
+
+    @Benchmark
+    public void cachedMix(Blackhole bh) {
+        bh.consume(classifier.isBot(USER_AGENTS[next(USER_AGENTS.length)]));
+    }
+
+    @Benchmark
+    public void cacheMiss(Blackhole bh) {
+        bh.consume(classifier.isBot(uniqueUserAgents[next(uniqueUserAgents.length)]));
+    }
+
+    @Benchmark
+    public void compiledMatcher(Blackhole bh) {
+        bh.consume(classifier.matchesSignature(USER_AGENTS[next(USER_AGENTS.length)]));
+    }
+
+    @Benchmark
+    public void naiveContainsScan(Blackhole bh) {
+        String userAgent = USER_AGENTS[next(USER_AGENTS.length)].toLowerCase(Locale.ROOT);
+        boolean bot = false;
+        for (String signature : lowerCaseSignatures) {
+            if (userAgent.contains(signature)) {
+                bot = true;
+                break;
+            }
+        }
+        bh.consume(bot);
+    }
+
+    private int next(int bound) {
+        if (++cursor >= bound) {
+            cursor = 0;
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,193 @@
+package syncqubits.ai.blog.pranuBlog.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Engagement documents and posts shaped like the ones PostServiceImpl writes, for benchmarks.
+ * A fixed seed keeps fixtures identical between runs so results are comparable across commits.
+ */
+public final class EngagementFixtures {
+
+    private static final String[] COUNTRIES = {"India", "United States", "Germany", "Brazil", "Unknown"};
+    private static final String[] REFERRERS = {"https://www.google.com/", "https://t.co/abc", "", "https://news.ycombinator.com/"};
+    private static final String[] WORDS = {
+            "performance", "latency", "database", "index", "spring", "cache", "throughput", "query",
+            "benchmark", "profile", "memory", "thread", "request", "response", "jsonb", "postgres"
+    };
+
+    private static final long START = LocalDateTime.of(2025, 1, 1, 0, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private EngagementFixtures() {
+    }
+
+    public static ViewsDocument views(int count) {
+        Random random = new Random(42);
+        List<ViewsDocument.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new ViewsDocument.Entry(
+                    "g" + random.nextInt(Math.max(1, count / 2)),
+                    "Guest " + i,
+                    "10.0." + random.nextInt(256) + "." + random.nextInt(256),
+                    COUNTRIES[random.nextInt(COUNTRIES.length)],
+                    "City " + random.nextInt(100),
+                    "Region " + random.nextInt(20),
+                    timestamp(i, random),
+                    REFERRERS[random.nextInt(REFERRERS.length)],
+                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) Chrome/124.0.0.0 Safari/537.36"));
+        }
+        return new ViewsDocument(count, Math.max(1, count / 2), entries);
+    }
+
+    public static LikesDocument likes(int count) {
+        Random random = new Random(42);
+        List<LikesDocument.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean user = i % 3 == 0;
+            entries.add(new LikesDocument.Entry(
+                    user ? (long) i : null,
+                    user ? null : "Guest " + i,
+                    user ? null : "gi" + i,
+                    "10.0." + random.nextInt(256) + "." + random.nextInt(256),
+                    timestamp(i, random)));
+        }
+        return new LikesDocument(count, entries);
+    }
+
+    /**
+     * @param count total comments including replies; every fourth top-level comment has two replies
+     */
+    public static CommentsDocument comments(int count) {
+        Random random = new Random(42);
+        List<CommentsDocument.Entry> entries = new ArrayList<>();
+        int created = 0;
+        while (created < count) {
+            int commentIndex = created++;
+            List<CommentsDocument.Entry> replies = new ArrayList<>();
+            if (entries.size() % 4 == 0) {
+                for (int r = 0; r < 2 && created < count; r++, created++) {
+                    replies.add(comment("r" + created, created, random, List.of()));
+                }
+            }
+            entries.add(comment("c" + commentIndex, commentIndex, random, replies));
+        }
+        return new CommentsDocument(count, entries);
+    }
+
+    /**
+     * The jsonb text Postgres hands back for a document, as Hibernate would read it.
+     */
+    public static String json(Object document) {
+        try {
+            return MAPPER.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The same document in the format written before typed documents: timestamps as
+     * {@code LocalDateTime.toString()} strings.
+     */
+    public static String legacyJson(Object document) {
+        JsonNode tree = MAPPER.valueToTree(document);
+        toLegacyTimestamps(tree);
+        return tree.toString();
+    }
+
+    /**
+     * Posts as loaded for the dashboard; content strings are shared to keep large fixtures small.
+     */
+    public static List<Post> posts(int count, long authorId) {
+        Random random = new Random(42);
+        String[] contents = new String[64];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = sentence(random, 120);
+        }
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Post.PostStatus[] statuses = Post.PostStatus.values();
+
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> favorites = new HashMap<>();
+            if (i % 10 == 0) {
+                favorites.put(Long.toString(authorId), true);
+            }
+            MetricsDocument metrics = new MetricsDocument(
+                    random.nextInt(100_000), random.nextInt(5_000), random.nextInt(1_000));
+
+            posts.add(Post.builder()
+                    .id((long) i)
+                    .title(sentence(random, 8))
+                    .content(contents[random.nextInt(contents.length)])
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .favorites(favorites)
+                    .metrics(metrics)
+                    .createdAt(start.plusMinutes(random.nextInt(60 * 24 * 365)))
+                    .build());
+        }
+        return posts;
+    }
+
+    private static CommentsDocument.Entry comment(String id, int i, Random random, List<CommentsDocument.Entry> replies) {
+        return new CommentsDocument.Entry(
+                id,
+                i % 5 == 0 ? (long) i : null,
+                "Guest " + i,
+                null,
+                null,
+                sentence(random, 25),
+                timestamp(i, random),
+                replies);
+    }
+
+    private static long timestamp(int i, Random random) {
+        return START + i * 7_000L + random.nextInt(1_000);
+    }
+
+    private static void toLegacyTimestamps(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.fields().forEachRemaining(field -> {
+                if (field.getKey().endsWith("_at") && field.getValue().isNumber()) {
+                    field.setValue(TextNode.valueOf(LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(field.getValue().asLong()), ZoneId.systemDefault()).toString()));
+                } else {
+                    toLegacyTimestamps(field.getValue());
+                }
+            });
+        } else if (node.isArray()) {
+            node.forEach(EngagementFixtures::toLegacyTimestamps);
+        }
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
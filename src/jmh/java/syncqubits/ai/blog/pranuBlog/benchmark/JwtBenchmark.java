@@ -0,0 +1,62 @@
+package syncqubits.ai.blog.pranuBlog.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+import syncqubits.ai.blog.pranuBlog.repository.InvalidatedTokenRepository;
+import syncqubits.ai.blog.pranuBlog.util.JwtUtil;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT work: the sequence JwtAuthenticationFilter runs on every authenticated
+ * request, and its parts. The blacklist lookup is stubbed out so only token handling is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        InvalidatedTokenRepository repository = (InvalidatedTokenRepository) Proxy.newProxyInstance(
+                InvalidatedTokenRepository.class.getClassLoader(),
+                new Class<?>[]{InvalidatedTokenRepository.class},
+                (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+
+        jwtUtil = new JwtUtil(repository);
+        ReflectionTestUtils.setField(jwtUtil, "secret", "C4UYUEVWWDowu7aVXlcr8FjmnCzEZAoyivPr94zw6zU");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 10_800_000L);
+        token = jwtUtil.generateToken(42L, "author@example.com", "AUTHOR");
+    }
+
+    @Benchmark
+    public void authenticationFilter(Blackhole bh) {
+        bh.consume(jwtUtil.extractEmail(token));
+        bh.consume(jwtUtil.validateToken(token));
+        bh.consume(jwtUtil.extractRole(token));
+        bh.consume(jwtUtil.extractUserId(token));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "author@example.com", "AUTHOR");
+    }
+}
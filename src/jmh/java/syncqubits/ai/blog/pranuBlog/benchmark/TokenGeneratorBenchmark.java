@@ -0,0 +1,37 @@
+package syncqubits.ai.blog.pranuBlog.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import syncqubits.ai.blog.pranuBlog.util.TokenGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Share token and guest identifier generation, single-threaded and with request threads
+ * contending on the shared SecureRandom.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenGeneratorBenchmark {
+
+    private final TokenGenerator tokenGenerator = new TokenGenerator();
+
+    @Benchmark
+    public String shareToken() {
+        return tokenGenerator.generateShareToken();
+    }
+
+    @Benchmark
+    public String guestIdentifier() {
+        return tokenGenerator.generateGuestIdentifier();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String shareTokenContended() {
+        return tokenGenerator.generateShareToken();
+    }
+}
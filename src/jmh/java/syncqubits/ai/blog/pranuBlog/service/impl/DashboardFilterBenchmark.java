@@ -0,0 +1,55 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import syncqubits.ai.blog.pranuBlog.benchmark.EngagementFixtures;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory dashboard filtering and sorting over an author's posts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardFilterBenchmark {
+
+    private static final long AUTHOR_ID = 7L;
+
+    @Param({"10", "1000", "100000"})
+    public int posts;
+
+    @Param({"RECENT", "TOP_VIEWS"})
+    public String sortBy;
+
+    private List<Post> allPosts;
+
+    @Setup
+    public void setup() {
+        allPosts = EngagementFixtures.posts(posts, AUTHOR_ID);
+    }
+
+    /**
+     * A term no fixture contains, so every title and body is lower-cased and scanned.
+     */
+    @Benchmark
+    public List<Post> searchFilter() {
+        return DashboardServiceImpl.applyFilters(allPosts, "Kubernetes", null, null, null, null, AUTHOR_ID);
+    }
+
+    @Benchmark
+    public List<Post> statusDateAndFavoritesFilter() {
+        return DashboardServiceImpl.applyFilters(allPosts, null, "published",
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 9, 1, 0, 0), true, AUTHOR_ID);
+    }
+
+    @Benchmark
+    public List<Post> sorting() {
+        return DashboardServiceImpl.applySorting(allPosts, sortBy);
+    }
+}
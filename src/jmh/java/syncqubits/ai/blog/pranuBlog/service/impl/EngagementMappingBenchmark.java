@@ -0,0 +1,52 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+import syncqubits.ai.blog.pranuBlog.benchmark.EngagementFixtures;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostDetailResponse;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning loaded engagement documents into the DTOs of a post detail response
+ * (one epoch-millis to {@code LocalDateTime} conversion per entry), across realistic document sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EngagementMappingBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int entries;
+
+    private ViewsDocument views;
+    private LikesDocument likes;
+    private CommentsDocument comments;
+
+    @Setup
+    public void setup() {
+        views = EngagementFixtures.views(entries);
+        likes = EngagementFixtures.likes(entries);
+        comments = EngagementFixtures.comments(entries);
+    }
+
+    @Benchmark
+    public PostDetailResponse.ViewsData views() {
+        return PostServiceImpl.extractViewsData(views);
+    }
+
+    @Benchmark
+    public PostDetailResponse.LikesData likes() {
+        return PostServiceImpl.extractLikesData(likes);
+    }
+
+    @Benchmark
+    public PostDetailResponse.CommentsData comments() {
+        return PostServiceImpl.extractCommentsData(comments);
+    }
+}
@@ -0,0 +1,192 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import syncqubits.ai.blog.pranuBlog.benchmark.EngagementFixtures;
+import syncqubits.ai.blog.pranuBlog.dto.nested.CommentEntryDTO;
+import syncqubits.ai.blog.pranuBlog.dto.nested.LikeEntryDTO;
+import syncqubits.ai.blog.pranuBlog.dto.nested.ViewEntryDTO;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostDetailResponse;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
+import syncqubits.ai.blog.pranuBlog.mapper.PostMapper;
+import syncqubits.ai.blog.pranuBlog.mapper.PostMapperImpl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a post's engagement jsonb and building its detail response (toPostDetailResponse),
+ * with typed documents against the previous representation: {@code Map<String, Object>}
+ * documents with {@code LocalDateTime} strings, cast and parsed per entry.
+ *
+ * Both sides include the JSON read Hibernate does on load. The benchmark profile runs the gc
+ * profiler, so {@code gc.alloc.rate.norm} gives the allocation per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostDetailBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000", "100000"})
+    public int entries;
+
+    // Hibernate's JSON format mapper is a plain Jackson ObjectMapper
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PostMapper postMapper = new PostMapperImpl();
+
+    private String views;
+    private String likes;
+    private String comments;
+    private String legacyViews;
+    private String legacyLikes;
+    private String legacyComments;
+
+    @Setup
+    public void setup() {
+        ViewsDocument viewsDocument = EngagementFixtures.views(entries);
+        LikesDocument likesDocument = EngagementFixtures.likes(entries);
+        CommentsDocument commentsDocument = EngagementFixtures.comments(entries);
+
+        views = EngagementFixtures.json(viewsDocument);
+        likes = EngagementFixtures.json(likesDocument);
+        comments = EngagementFixtures.json(commentsDocument);
+        legacyViews = EngagementFixtures.legacyJson(viewsDocument);
+        legacyLikes = EngagementFixtures.legacyJson(likesDocument);
+        legacyComments = EngagementFixtures.legacyJson(commentsDocument);
+    }
+
+    @Benchmark
+    public PostDetailResponse typed() throws IOException {
+        Post post = post();
+        post.setViews(objectMapper.readValue(views, ViewsDocument.class));
+        post.setLikes(objectMapper.readValue(likes, LikesDocument.class));
+        post.setComments(objectMapper.readValue(comments, CommentsDocument.class));
+        return PostServiceImpl.buildPostDetailResponse(postMapper, post);
+    }
+
+    @Benchmark
+    public PostDetailResponse legacyMaps() throws IOException {
+        Post post = post();
+        Map<String, Object> viewsMap = objectMapper.readValue(legacyViews, MAP);
+        Map<String, Object> likesMap = objectMapper.readValue(legacyLikes, MAP);
+        Map<String, Object> commentsMap = objectMapper.readValue(legacyComments, MAP);
+
+        PostDetailResponse response = postMapper.toPostDetailResponse(post);
+        response.setIsFavorite((Boolean) post.getFavorites().getOrDefault("is_favorite", false));
+        response.setViews(LegacyMapMapping.extractViewsData(viewsMap));
+        response.setLikes(LegacyMapMapping.extractLikesData(likesMap));
+        response.setComments(LegacyMapMapping.extractCommentsData(commentsMap));
+        response.setMetrics(PostServiceImpl.extractMetrics(post.getMetrics()));
+        return response;
+    }
+
+    private Post post() {
+        Map<String, Object> favorites = new HashMap<>();
+        favorites.put("is_favorite", false);
+        return Post.builder()
+                .id(1L)
+                .author(User.builder().id(1L).name("Author").build())
+                .title("Benchmark post")
+                .slug("benchmark-post")
+                .shareToken("benchmark-token")
+                .content("Body")
+                .status(Post.PostStatus.PUBLISHED)
+                .isPublic(true)
+                .favorites(favorites)
+                .metrics(new MetricsDocument(entries, entries, entries))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+
+    /**
+     * The Map-based engagement mapping PostServiceImpl used before typed documents, kept as the baseline.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class LegacyMapMapping {
+
+        static PostDetailResponse.ViewsData extractViewsData(Map<String, Object> viewsMap) {
+            List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
+                    viewsMap.getOrDefault("entries", new ArrayList<>());
+            return PostDetailResponse.ViewsData.builder()
+                    .count((Integer) viewsMap.getOrDefault("count", 0))
+                    .uniqueViewers((Integer) viewsMap.getOrDefault("unique_viewers", 0))
+                    .entries(entriesList.stream().map(LegacyMapMapping::mapToViewEntryDTO).toList())
+                    .build();
+        }
+
+        static PostDetailResponse.LikesData extractLikesData(Map<String, Object> likesMap) {
+            List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
+                    likesMap.getOrDefault("entries", new ArrayList<>());
+            return PostDetailResponse.LikesData.builder()
+                    .count((Integer) likesMap.getOrDefault("count", 0))
+                    .entries(entriesList.stream().map(LegacyMapMapping::mapToLikeEntryDTO).toList())
+                    .build();
+        }
+
+        static PostDetailResponse.CommentsData extractCommentsData(Map<String, Object> commentsMap) {
+            List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
+                    commentsMap.getOrDefault("entries", new ArrayList<>());
+            return PostDetailResponse.CommentsData.builder()
+                    .count((Integer) commentsMap.getOrDefault("count", 0))
+                    .entries(entriesList.stream().map(LegacyMapMapping::mapToCommentEntryDTO).toList())
+                    .build();
+        }
+
+        static ViewEntryDTO mapToViewEntryDTO(Map<String, Object> map) {
+            return ViewEntryDTO.builder()
+                    .viewerGuestId((String) map.get("viewer_guest_id"))
+                    .guestName((String) map.get("guest_name"))
+                    .ipAddress((String) map.get("ip_address"))
+                    .country((String) map.get("country"))
+                    .city((String) map.get("city"))
+                    .region((String) map.get("region"))
+                    .viewedAt(LocalDateTime.parse((String) map.get("viewed_at")))
+                    .referrer((String) map.get("referrer"))
+                    .userAgent((String) map.get("user_agent"))
+                    .build();
+        }
+
+        static LikeEntryDTO mapToLikeEntryDTO(Map<String, Object> map) {
+            Long userId = map.containsKey("user_id") ? ((Number) map.get("user_id")).longValue() : null;
+            return LikeEntryDTO.builder()
+                    .userId(userId)
+                    .guestName((String) map.get("guest_name"))
+                    .guestIdentifier((String) map.get("guest_identifier"))
+                    .ipAddress((String) map.get("ip_address"))
+                    .likedAt(LocalDateTime.parse((String) map.get("liked_at")))
+                    .build();
+        }
+
+        static CommentEntryDTO mapToCommentEntryDTO(Map<String, Object> map) {
+            Long userId = map.containsKey("user_id") ? ((Number) map.get("user_id")).longValue() : null;
+            List<Map<String, Object>> repliesList = (List<Map<String, Object>>)
+                    map.getOrDefault("replies", new ArrayList<>());
+            return CommentEntryDTO.builder()
+                    .commentId((String) map.get("comment_id"))
+                    .userId(userId)
+                    .guestName((String) map.get("guest_name"))
+                    .content((String) map.get("content"))
+                    .createdAt(LocalDateTime.parse((String) map.get("created_at")))
+                    .replies(repliesList.stream().map(LegacyMapMapping::mapToCommentEntryDTO).toList())
+                    .build();
+        }
+    }
+}
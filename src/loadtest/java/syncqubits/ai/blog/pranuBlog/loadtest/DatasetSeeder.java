@@ -0,0 +1,143 @@
+package syncqubits.ai.blog.pranuBlog.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds a load-test dataset with set-based SQL, so even the large documents are built inside
+ * Postgres instead of being serialized through the application.
+ *
+ * One author owns {@code posts} posts (90% published and public) with a few dozen engagement
+ * entries each, plus one viral post whose views document holds {@code viralViews} entries.
+ * Ids, slugs, tokens and the author's email are offset/suffixed per run so seeding also works
+ * against a database that already has data.
+ */
+@Slf4j
+class DatasetSeeder {
+
+    static final int VIEWS_PER_POST = 40;
+    static final int LIKES_PER_POST = 10;
+    static final int COMMENTS_PER_POST = 5;
+
+    // Same shape and keys as the entries PostServiceImpl writes; timestamps in epoch millis
+    private static final String TIMESTAMP = "CAST(extract(epoch FROM now() - (n * interval '37 seconds')) * 1000 AS bigint)";
+
+    // Values are kept short: Postgres caps a jsonb document at 256MB, about 1.05M entries of this shape
+    private static final String VIEW_ENTRIES = """
+            SELECT jsonb_build_object(
+                       'entries', COALESCE(jsonb_agg(jsonb_build_object(
+                           'viewer_guest_id', 'g' || n,
+                           'guest_name', 'Reader',
+                           'ip_address', '10.' || mod(n / 65536, 256) || '.' || mod(n / 256, 256) || '.' || mod(n, 256),
+                           'country', (ARRAY['India','USA','Germany','Brazil','Unknown'])[1 + mod(n, 5)],
+                           'city', (ARRAY['Mumbai','Austin','Berlin','Recife'])[1 + mod(n, 4)],
+                           'region', (ARRAY['MH','TX','BE','PE'])[1 + mod(n, 4)],
+                           'viewed_at', %s,
+                           'referrer', (ARRAY['https://t.co/x',''])[1 + mod(n, 2)],
+                           'user_agent', 'Mozilla/5.0 (iPhone)')), '[]'::jsonb),
+                       'count', %s,
+                       'unique_viewers', %s)
+            FROM generate_series(1, %s) AS n""";
+
+    private static final String LIKE_ENTRIES = """
+            SELECT jsonb_build_object(
+                       'entries', COALESCE(jsonb_agg(jsonb_build_object(
+                           'guest_name', 'Fan ' || n,
+                           'guest_identifier', 'gi' || n,
+                           'ip_address', '10.1.' || mod(n / 256, 256) || '.' || mod(n, 256),
+                           'liked_at', %s)), '[]'::jsonb),
+                       'count', %s)
+            FROM generate_series(1, %s) AS n""";
+
+    private static final String COMMENT_ENTRIES = """
+            SELECT jsonb_build_object(
+                       'entries', COALESCE(jsonb_agg(jsonb_build_object(
+                           'comment_id', 'c' || substr(md5(p.i || '-' || n), 1, 8),
+                           'guest_name', 'Commenter ' || n,
+                           'guest_identifier', 'gc' || n,
+                           'ip_address', '10.2.' || mod(n / 256, 256) || '.' || mod(n, 256),
+                           'content', 'Comment ' || n || ' on this post, long enough to look like a real one.',
+                           'created_at', %s,
+                           'replies', '[]'::jsonb)), '[]'::jsonb),
+                       'count', %s)
+            FROM generate_series(1, %s) AS n""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DatasetSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    record Dataset(long authorId, String authorEmail, List<String> publicTokens, String viralToken, String hotToken) {
+    }
+
+    Dataset seed(int posts, int viralViews) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        long userId = nextId("users");
+        long firstPostId = nextId("posts");
+        String email = "loadtest-" + run + "@example.com";
+
+        log.info("Seeding author {} with {} posts (run {})", email, posts, run);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, email, password_hash, role, is_verified, requires_re_verification, created_at)
+                VALUES (?, 'Load Test Author', ?, 'not-a-real-hash', 'AUTHOR', true, false, now())""",
+                userId, email);
+
+        String views = VIEW_ENTRIES.formatted(TIMESTAMP, VIEWS_PER_POST, VIEWS_PER_POST / 2, VIEWS_PER_POST);
+        String likes = LIKE_ENTRIES.formatted(TIMESTAMP, LIKES_PER_POST, LIKES_PER_POST);
+        String comments = COMMENT_ENTRIES.formatted(TIMESTAMP, COMMENTS_PER_POST, COMMENTS_PER_POST);
+        jdbcTemplate.update("""
+                INSERT INTO posts (id, author_id, title, slug, share_token, content, excerpt, status, is_public,
+                                   allow_comments, views, likes, favorites, comments, metrics, version, created_at, updated_at)
+                SELECT ? + p.i, ?,
+                       'Post ' || p.i || ' on ' || (ARRAY['performance','latency','databases','caching','scaling'])[1 + mod(p.i, 5)],
+                       ? || '-post-' || p.i,
+                       ? || lpad(p.i::text, 8, '0'),
+                       repeat('Load test body text for post ' || p.i || '. ', 60),
+                       'Excerpt for post ' || p.i,
+                       CASE WHEN mod(p.i, 10) = 0 THEN 'DRAFT' WHEN mod(p.i, 25) = 0 THEN 'ARCHIVED' ELSE 'PUBLISHED' END,
+                       mod(p.i, 10) <> 0,
+                       true,
+                       (%s), (%s), jsonb_build_object('is_favorite', mod(p.i, 20) = 0), (%s),
+                       jsonb_build_object('views', %d, 'likes', %d, 'comments', %d),
+                       0,
+                       now() - (p.i * interval '1 hour'),
+                       now()
+                FROM generate_series(1, ?) AS p(i)""".formatted(views, likes, comments,
+                        VIEWS_PER_POST, LIKES_PER_POST, COMMENTS_PER_POST),
+                firstPostId - 1, userId, "lt-" + run, run, posts);
+
+        List<String> publicTokens = jdbcTemplate.queryForList(
+                "SELECT share_token FROM posts WHERE author_id = ? AND is_public ORDER BY id", String.class, userId);
+        String viralToken = publicTokens.get(0);
+        String hotToken = publicTokens.get(1);
+
+        log.info("Building viral post {} with {} views", viralToken, viralViews);
+        jdbcTemplate.update("""
+                UPDATE posts
+                SET views = (%s),
+                    metrics = jsonb_set(metrics, '{views}', to_jsonb(?::int))
+                WHERE share_token = ?""".formatted(VIEW_ENTRIES.formatted(TIMESTAMP, viralViews, viralViews / 2, viralViews)),
+                viralViews, viralToken);
+
+        // Seeded ids bypassed the pooled sequences; move them past what was used
+        alignSequence("users_seq", "users");
+        alignSequence("posts_seq", "posts");
+        jdbcTemplate.execute("ANALYZE posts");
+
+        return new Dataset(userId, email, publicTokens, viralToken, hotToken);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max == null ? 0 : max) + 1_000;
+    }
+
+    private void alignSequence(String sequence, String table) {
+        jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', (SELECT MAX(id) FROM " + table + ") + 50)",
+                Long.class);
+    }
+}
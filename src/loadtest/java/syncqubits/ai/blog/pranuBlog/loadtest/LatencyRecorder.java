@@ -0,0 +1,98 @@
+package syncqubits.ai.blog.pranuBlog.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency and outcome recording. Latencies are kept exactly (a load test run is
+ * at most a few million samples) so percentiles need no histogram approximation.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void recordResponse(String endpoint, long latencyNanos, int status) {
+        stats(endpoint).record(latencyNanos, Integer.toString(status), status >= 400);
+    }
+
+    void recordError(String endpoint, long latencyNanos, Throwable error) {
+        stats(endpoint).record(latencyNanos, error.getClass().getSimpleName(), true);
+    }
+
+    /**
+     * The generator could not issue a request on schedule (too many in flight).
+     */
+    void recordDropped(String endpoint) {
+        stats(endpoint).dropped();
+    }
+
+    Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        endpoints.forEach((endpoint, stats) -> summary.put(endpoint, stats.summarize(elapsedSeconds)));
+        return summary;
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+    }
+
+    private static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long dropped;
+        private final Map<String, Long> outcomes = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, String outcome, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            outcomes.merge(outcome, 1L, Long::sum);
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        synchronized Map<String, Object> summarize(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long attempted = count + dropped;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("dropped", dropped);
+            summary.put("throughputPerSecond", round(count / elapsedSeconds));
+            summary.put("errorRate", attempted == 0 ? 0.0 : round((double) (errors + dropped) / attempted));
+            summary.put("p50Ms", millis(percentile(sorted, 0.50)));
+            summary.put("p99Ms", millis(percentile(sorted, 0.99)));
+            summary.put("p999Ms", millis(percentile(sorted, 0.999)));
+            summary.put("maxMs", millis(count == 0 ? 0 : sorted[count - 1]));
+            summary.put("outcomes", new TreeMap<>(outcomes));
+            return summary;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000.0) / 1000.0;
+        }
+    }
+}
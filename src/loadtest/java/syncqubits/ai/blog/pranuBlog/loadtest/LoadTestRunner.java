@@ -0,0 +1,221 @@
+package syncqubits.ai.blog.pranuBlog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import syncqubits.ai.blog.pranuBlog.PranuBlogApplication;
+import syncqubits.ai.blog.pranuBlog.util.JwtUtil;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * End-to-end load test: starts the application against an embedded Postgres (or the database
+ * given by {@code loadtest.jdbc-url}), seeds a dataset, drives each scenario with open-model
+ * traffic and writes throughput, latency percentiles and error rates per endpoint to a JSON report.
+ *
+ * Run with {@code mvn -Ploadtest verify}; see the loadtest profile in pom.xml for the settings.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String BROWSER_USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36";
+
+    private static final List<String> ALL_SCENARIOS =
+            List.of("public-read-storm", "like-spam", "comment-burst", "dashboard-refresh");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        String jdbcUrl = setting("loadtest.jdbc-url", "");
+        String username = setting("loadtest.jdbc-username", "postgres");
+        String password = setting("loadtest.jdbc-password", "postgres");
+        int posts = Integer.parseInt(setting("loadtest.posts", "5000"));
+        int viralViews = Integer.parseInt(setting("loadtest.viral-views", "1000000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(setting("loadtest.duration", "60")));
+        double rateScale = Double.parseDouble(setting("loadtest.rate-scale", "1.0"));
+        List<String> scenarios = split(setting("loadtest.scenarios", String.join(",", ALL_SCENARIOS)), "[,\\s]+");
+        File report = new File(setting("loadtest.report", "target/loadtest-report.json"));
+
+        EmbeddedPostgres postgres = null;
+        if (jdbcUrl.isBlank()) {
+            log.info("Starting embedded Postgres");
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        // Devtools would restart the context from the main thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                // Every request comes from one client IP; per-client limits would turn the test into a 429 test
+                "--app.rate-limit.enabled=false",
+                "--logging.level.org.springframework.web=INFO",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        appArgs.addAll(split(setting("loadtest.app-args", ""), "\\s+"));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PranuBlogApplication.class)
+                .run(appArgs.toArray(String[]::new))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            DatasetSeeder.Dataset dataset = new DatasetSeeder(context.getBean(JdbcTemplate.class)).seed(posts, viralViews);
+            String bearer = "Bearer " + context.getBean(JwtUtil.class)
+                    .generateToken(dataset.authorId(), dataset.authorEmail(), "AUTHOR");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Duration timeout = Duration.ofSeconds(Long.parseLong(setting("loadtest.timeout", "30")));
+            OpenLoadGenerator generator = new OpenLoadGenerator(client, timeout,
+                    Integer.parseInt(setting("loadtest.max-in-flight", "2000")));
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (String name : scenarios) {
+                Scenario scenario = scenario(name, rateScale, baseUrl, dataset, bearer, timeout);
+                results.add(generator.run(scenario, duration));
+            }
+
+            Map<String, Object> output = new LinkedHashMap<>();
+            output.put("startedAt", Instant.now().toString());
+            output.put("posts", posts);
+            output.put("viralViews", viralViews);
+            output.put("rateScale", rateScale);
+            output.put("scenarios", results);
+            report.getAbsoluteFile().getParentFile().mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(report, output);
+
+            printSummary(results);
+            log.info("Report written to {}", report.getAbsolutePath());
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private Scenario scenario(String name, double rateScale, String baseUrl, DatasetSeeder.Dataset dataset,
+                              String bearer, Duration timeout) {
+        String publicPosts = baseUrl + "/api/posts/public/";
+        return switch (name) {
+            // Readers landing on posts: mostly the long tail, some on the viral post, a few on the listing
+            case "public-read-storm" -> new Scenario(name, 200 * rateScale, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                double roll = random.nextDouble();
+                if (roll < 0.02) {
+                    return new Scenario.Call("GET /api/posts/public/list",
+                            get(baseUrl + "/api/posts/public/list", timeout).build());
+                }
+                String token = roll < 0.07 ? dataset.viralToken() : pick(dataset.publicTokens(), random);
+                String url = publicPosts + token + "?guestName=Reader&viewerGuestId=v" + random.nextInt(200_000)
+                        + "&referrer=" + encode("https://www.google.com/");
+                return new Scenario.Call("GET /api/posts/public/{shareToken}", get(url, timeout).build());
+            });
+            // Many guests hammering like/unlike on one post
+            case "like-spam" -> new Scenario(name, 100 * rateScale, () -> {
+                int guest = ThreadLocalRandom.current().nextInt(1_000);
+                return new Scenario.Call("POST /api/posts/public/{shareToken}/like",
+                        post(publicPosts + dataset.hotToken() + "/like",
+                                Map.of("guestName", "Guest " + guest, "guestIdentifier", "spam-" + guest), timeout));
+            });
+            // A thread goes live: comments pile onto one post
+            case "comment-burst" -> new Scenario(name, 50 * rateScale, () -> {
+                int guest = ThreadLocalRandom.current().nextInt(10_000);
+                return new Scenario.Call("POST /api/posts/public/{shareToken}/comments",
+                        post(publicPosts + dataset.hotToken() + "/comments",
+                                Map.of("guestName", "Commenter " + guest, "guestIdentifier", "burst-" + guest,
+                                        "content", "Load test comment from guest " + guest), timeout));
+            });
+            // The author keeps refreshing the dashboard with different sorts
+            case "dashboard-refresh" -> new Scenario(name, 10 * rateScale, () -> {
+                String[] sorts = {"RECENT", "TOP_VIEWS", "TOP_LIKES", "TOP_COMMENTS"};
+                String sort = sorts[ThreadLocalRandom.current().nextInt(sorts.length)];
+                return new Scenario.Call("GET /api/dashboard",
+                        get(baseUrl + "/api/dashboard?sortBy=" + sort + "&page=0&size=10", timeout)
+                                .header("Authorization", bearer)
+                                .build());
+            });
+            default -> throw new IllegalArgumentException(
+                    "Unknown scenario '" + name + "', expected one of " + ALL_SCENARIOS);
+        };
+    }
+
+    private HttpRequest.Builder get(String url, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("User-Agent", BROWSER_USER_AGENT)
+                .GET();
+    }
+
+    private HttpRequest post(String url, Map<String, Object> body, Duration timeout) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout)
+                    .header("User-Agent", BROWSER_USER_AGENT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void printSummary(List<Map<String, Object>> results) {
+        StringBuilder table = new StringBuilder("\n");
+        table.append(String.format("%-18s %-46s %9s %9s %8s %9s %9s %9s%n",
+                "scenario", "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms"));
+        for (Map<String, Object> result : results) {
+            Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) result.get("endpoints");
+            endpoints.forEach((endpoint, stats) -> table.append(String.format(
+                    "%-18s %-46s %9s %9s %7.2f%% %9s %9s %9s%n",
+                    result.get("scenario"), endpoint, stats.get("requests"), stats.get("throughputPerSecond"),
+                    (Double) stats.get("errorRate") * 100, stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"))));
+        }
+        log.info(table.toString());
+    }
+
+    private static String pick(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static List<String> split(String value, String separator) {
+        return Arrays.stream(value.split(separator))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,110 @@
+package syncqubits.ai.blog.pranuBlog.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive on a Poisson schedule at the target rate regardless of how
+ * fast the server answers, like independent users do. Latency is measured from each request's
+ * scheduled arrival time, not from when it was actually sent, so a stalled server shows up as
+ * queueing delay instead of being hidden by a slowed-down client (coordinated omission).
+ */
+@Slf4j
+class OpenLoadGenerator {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    OpenLoadGenerator(HttpClient client, Duration requestTimeout, int maxInFlight) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Map<String, Object> run(Scenario scenario, Duration duration) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicInteger inFlight = new AtomicInteger();
+        long durationNanos = duration.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+
+        log.info("Scenario {}: {} req/s for {}s", scenario.name(), scenario.ratePerSecond(), duration.toSeconds());
+        long start = System.nanoTime();
+        long scheduled = start;
+        long issued = 0;
+
+        while (scheduled - start < durationNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario.Call call = scenario.nextCall().get();
+            issue(call, scheduled, recorder, inFlight);
+            issued++;
+            scheduled += nextInterval(meanIntervalNanos);
+        }
+
+        awaitInFlight(inFlight);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", scenario.name());
+        result.put("targetRatePerSecond", scenario.ratePerSecond());
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("issued", issued);
+        result.put("elapsedSeconds", Math.round(elapsedSeconds * 1000.0) / 1000.0);
+        result.put("endpoints", recorder.summarize(elapsedSeconds));
+        return result;
+    }
+
+    private void issue(Scenario.Call call, long scheduledAt, LatencyRecorder recorder, AtomicInteger inFlight) {
+        if (inFlight.get() >= maxInFlight) {
+            recorder.recordDropped(call.endpoint());
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - scheduledAt;
+                    if (error != null) {
+                        recorder.recordError(call.endpoint(), latency, unwrap(error));
+                    } else {
+                        recorder.recordResponse(call.endpoint(), latency, response.statusCode());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitInFlight(AtomicInteger inFlight) {
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still in flight after the drain timeout", inFlight.get());
+        }
+    }
+
+    private static long nextInterval(double meanIntervalNanos) {
+        // Exponential inter-arrival times give a Poisson arrival process
+        double u = ThreadLocalRandom.current().nextDouble();
+        return Math.max(1, (long) (-Math.log(1.0 - u) * meanIntervalNanos));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+    }
+}
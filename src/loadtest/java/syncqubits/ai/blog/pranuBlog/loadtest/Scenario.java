@@ -0,0 +1,16 @@
+package syncqubits.ai.blog.pranuBlog.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * A named traffic pattern: requests produced by {@code nextCall} arriving at {@code ratePerSecond}.
+ */
+record Scenario(String name, double ratePerSecond, Supplier<Call> nextCall) {
+
+    /**
+     * @param endpoint route pattern the request is reported under, e.g. "GET /api/dashboard"
+     */
+    record Call(String endpoint, HttpRequest request) {
+    }
+}
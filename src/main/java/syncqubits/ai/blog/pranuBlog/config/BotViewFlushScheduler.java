@@ -0,0 +1,27 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.BotViewService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BotViewFlushScheduler {
+
+    private final BotViewService botViewService;
+
+    /**
+     * Add pending in-memory bot view counts to post_bot_views
+     */
+    @Scheduled(fixedDelayString = "${app.bot-detection.flush-interval:60000}")
+    public void flushBotViews() {
+        try {
+            botViewService.flush();
+        } catch (Exception e) {
+            log.error("Error flushing bot view counts: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.DraftAutosaveService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DraftAutosaveFlushScheduler {
+
+    private final DraftAutosaveService draftAutosaveService;
+
+    /**
+     * Write autosaved drafts whose debounce window (or maximum wait) has passed
+     */
+    @Scheduled(fixedDelayString = "${app.autosave.flush-interval:1000}")
+    public void flushDrafts() {
+        try {
+            draftAutosaveService.flushDue();
+        } catch (Exception e) {
+            log.error("Error flushing autosaved drafts: {}", e.getMessage(), e);
+        }
+    }
+}
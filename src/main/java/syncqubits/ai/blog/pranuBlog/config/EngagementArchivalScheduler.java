@@ -0,0 +1,32 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.EngagementArchiveService;
+
+@Component
+@ConditionalOnProperty(prefix = "app.archival", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class EngagementArchivalScheduler {
+
+    private final EngagementArchiveService engagementArchiveService;
+
+    /**
+     * Move the raw engagement of archived posts to cold storage, a bounded batch per run
+     */
+    @Scheduled(fixedDelayString = "${app.archival.interval:300000}")
+    public void archiveEngagement() {
+        try {
+            int archived = engagementArchiveService.archivePending();
+            if (archived > 0) {
+                log.info("Moved engagement of {} archived posts to cold storage", archived);
+            }
+        } catch (Exception e) {
+            log.error("Error archiving post engagement: {}", e.getMessage(), e);
+        }
+    }
+}
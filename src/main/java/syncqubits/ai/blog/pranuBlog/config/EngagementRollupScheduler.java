@@ -0,0 +1,27 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.AnalyticsService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EngagementRollupScheduler {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Fold new raw engagement entries into the hourly/daily rollup tables
+     */
+    @Scheduled(fixedDelayString = "${app.rollup.interval:60000}")
+    public void rollupEngagement() {
+        try {
+            analyticsService.rollupEngagement();
+        } catch (Exception e) {
+            log.error("Error during engagement rollup: {}", e.getMessage(), e);
+        }
+    }
+}
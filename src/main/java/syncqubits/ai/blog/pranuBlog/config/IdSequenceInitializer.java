@@ -0,0 +1,50 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Posts and users moved from IDENTITY columns to pooled sequences (allocationSize = 50) so
+ * Hibernate can batch inserts. Existing databases already hold rows whose ids the new
+ * sequences know nothing about, so on startup each sequence is moved past MAX(id). If that
+ * fails, startup fails too: running on would hand out ids that collide with existing rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "posts_seq", "posts",
+            "users_seq", "users"
+    );
+
+    // Injected so the schema (and sequences) exist before we touch them
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                Long value = jdbcTemplate.queryForObject(
+                        "SELECT setval('" + sequence + "', GREATEST("
+                                + "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", "
+                                + "(SELECT last_value FROM " + sequence + ")))",
+                        Long.class);
+                log.info("Sequence {} aligned to {}", sequence, value);
+            } catch (RuntimeException e) {
+                log.error("Could not align sequence {} with table {}", sequence, table, e);
+                throw new IllegalStateException("Could not align sequence " + sequence, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import syncqubits.ai.blog.pranuBlog.util.JdbcQueryInterceptor;
+import syncqubits.ai.blog.pranuBlog.util.QueryMetrics;
+
+import javax.sql.DataSource;
+
+/**
+ * Installs query metrics: wraps the application's {@code dataSource} bean so its connections are
+ * instrumented, and adds an interceptor to every Spring Data repository that tags statements with
+ * the repository method that issued them.
+ *
+ * The datasource is proxied by class so its bean type (e.g. HikariDataSource) is unchanged.
+ * QueryMetrics is looked up lazily so this post-processor doesn't force early initialization of
+ * the meter registry.
+ */
+public class QueryMetricsBeanPostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<QueryMetrics> queryMetrics;
+
+    public QueryMetricsBeanPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice(0, (MethodInterceptor) invocation -> queryMetrics.getObject()
+                                .invokeRepository(repository + "." + invocation.getMethod().getName(), invocation));
+                    }));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+            ProxyFactory proxyFactory = new ProxyFactory(dataSource);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice(new JdbcQueryInterceptor(dataSource, queryMetrics::getObject));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+}
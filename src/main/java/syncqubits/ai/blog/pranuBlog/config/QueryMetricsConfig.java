@@ -0,0 +1,20 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import syncqubits.ai.blog.pranuBlog.util.QueryMetrics;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    /**
+     * Static so the post-processor is registered without instantiating this configuration early
+     */
+    @Bean
+    public static QueryMetricsBeanPostProcessor queryMetricsBeanPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new QueryMetricsBeanPostProcessor(queryMetrics);
+    }
+}
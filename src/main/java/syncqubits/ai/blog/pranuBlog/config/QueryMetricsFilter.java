@@ -0,0 +1,47 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import syncqubits.ai.blog.pranuBlog.util.QueryMetrics;
+
+import java.io.IOException;
+
+/**
+ * Opens a query-metrics scope around each request (ahead of the security chain, whose token
+ * checks also hit the database) and labels its statements with the matched route pattern.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final QueryMetrics queryMetrics;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        boolean owner = queryMetrics.beginRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (owner) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                queryMetrics.endRequest(pattern != null
+                        ? request.getMethod() + " " + pattern
+                        : QueryMetrics.UNMAPPED);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import syncqubits.ai.blog.pranuBlog.util.IpAddressUtil;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Primary + read replica connection pools behind a routing datasource.
+ *
+ * Enabled with {@code app.datasource.replica.enabled=true}; otherwise Spring Boot's single
+ * auto-configured datasource is used unchanged. The primary keeps the {@code spring.datasource}
+ * settings. The replica can be any second database with the same schema (a streaming replica
+ * in production, a second local instance in development).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        log.info("Routing read-only transactions to replica {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:5000}") long maxLagMillis,
+            @Value("${app.datasource.replica.lag-check-interval:1000}") long checkIntervalMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMillis, checkIntervalMillis);
+        Gauge.builder("blog.datasource.replica.lag", monitor, ReplicaLagMonitor::getLagMillis)
+                .description("Last measured replication lag of the read replica")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            IpAddressUtil ipAddressUtil,
+            @Value("${app.datasource.replica.sticky-window:5000}") long stickyWindowMillis,
+            @Value("${app.datasource.replica.max-lag:5000}") long maxLagMillis,
+            @Value("${app.datasource.replica.max-sticky-subjects:100000}") long maxSubjects) {
+        return new ReadYourWritesTracker(ipAddressUtil, stickyWindowMillis, maxLagMillis, maxSubjects);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                replicaLagMonitor, readYourWritesTracker, meterRegistry);
+    }
+
+    /**
+     * Defers fetching a physical connection until the first statement, by which point the
+     * transaction's read-only flag is set and the router can pick a target.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routingDataSource);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
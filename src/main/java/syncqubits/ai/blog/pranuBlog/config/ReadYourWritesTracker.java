@@ -0,0 +1,99 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import syncqubits.ai.blog.pranuBlog.util.IpAddressUtil;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Remembers when each user (or, for guests, client IP) last committed a write, so their reads
+ * can stay on the primary until the replica has caught up.
+ *
+ * The subject comes from the security context or request of the current thread. Work handed to
+ * another thread (async response bodies such as exports and imports) has neither, so it is
+ * captured on the request thread and bound with {@link #runAs}.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> boundSubject = new ThreadLocal<>();
+
+    private final IpAddressUtil ipAddressUtil;
+    private final long stickyWindowMillis;
+    private final Cache<String, Long> lastWrites;
+
+    public ReadYourWritesTracker(IpAddressUtil ipAddressUtil, long stickyWindowMillis,
+                                 long maxLagMillis, long maxSubjects) {
+        this.ipAddressUtil = ipAddressUtil;
+        this.stickyWindowMillis = stickyWindowMillis;
+        this.lastWrites = Caffeine.newBuilder()
+                .maximumSize(maxSubjects)
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMillis + maxLagMillis))
+                .build();
+    }
+
+    public void recordWrite(String subject, long now) {
+        if (subject != null) {
+            lastWrites.put(subject, now);
+        }
+    }
+
+    /**
+     * A subject stays pinned for the sticky window, or longer while the replica lags more than that.
+     */
+    public boolean isSticky(String subject, long now, long replicaLagMillis) {
+        if (subject == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.getIfPresent(subject);
+        return lastWrite != null && now - lastWrite < Math.max(stickyWindowMillis, replicaLagMillis);
+    }
+
+    /**
+     * The subject bound by {@link #runAs}, else the authenticated user id, else the client IP of
+     * the current request, else null (e.g. scheduled jobs).
+     */
+    public String currentSubject() {
+        String bound = boundSubject.get();
+        if (bound != null) {
+            return bound;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getPrincipal();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + ipAddressUtil.getClientIpAddress(attributes.getRequest());
+        }
+        return null;
+    }
+
+    /**
+     * Run {@code task} on this thread as {@code subject}, typically one captured with
+     * {@link #currentSubject()} on the request thread.
+     */
+    public void runAs(String subject, SubjectTask task) throws IOException {
+        String previous = boundSubject.get();
+        boundSubject.set(subject);
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                boundSubject.set(previous);
+            } else {
+                boundSubject.remove();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SubjectTask {
+        void run() throws IOException;
+    }
+}
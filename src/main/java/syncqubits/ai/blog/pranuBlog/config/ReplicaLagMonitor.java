@@ -0,0 +1,85 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replication lag. The replica is only considered usable while the
+ * last check succeeded, is recent, and reported a lag within {@code maxLagMillis}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Milliseconds since the last replayed transaction, or 0 when the replica has replayed
+     * everything it received (an idle primary would otherwise look like growing lag).
+     * Returns 0 on a server that is not in recovery, e.g. a plain second instance.
+     */
+    public static final String DEFAULT_LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE CAST(EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())) * 1000 AS bigint)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleAfterMillis;
+
+    private volatile long lagMillis = -1;
+    private volatile long checkedAt;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, long checkIntervalMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? DEFAULT_LAG_QUERY : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterMillis = checkIntervalMillis * 3;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            Long lag = replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+            if (lag == null) {
+                recordFailure();
+                return;
+            }
+            if (lag > maxLagMillis && isReplicaUsable(now)) {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to primary", lag, maxLagMillis);
+            }
+            recordLag(lag, now);
+        } catch (Exception e) {
+            if (lagMillis >= 0) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            recordFailure();
+        }
+    }
+
+    public void recordLag(long lag, long now) {
+        this.checkedAt = now;
+        this.lagMillis = Math.max(lag, 0);
+    }
+
+    public void recordFailure() {
+        this.lagMillis = -1;
+    }
+
+    public boolean isReplicaUsable(long now) {
+        long lag = lagMillis;
+        return lag >= 0 && lag <= maxLagMillis && now - checkedAt <= staleAfterMillis;
+    }
+
+    /**
+     * Last measured lag, or 0 if unknown.
+     */
+    public long getLagMillis() {
+        return Math.max(lagMillis, 0);
+    }
+}
@@ -0,0 +1,94 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary.
+ *
+ * Reads fall back to the primary while the replica lags beyond the configured limit (or its lag
+ * is unknown), and for a short window after the same user's own write commits, so users always
+ * see what they just wrote. Must sit behind a LazyConnectionDataSourceProxy so the decision is
+ * made at the first statement, after the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private enum Reason { WRITE, LAG, STICKY, READ }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writesTracker;
+    private final Map<Reason, Counter> routed = new EnumMap<>(Reason.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writesTracker,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.writesTracker = writesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        for (Reason reason : Reason.values()) {
+            routed.put(reason, Counter.builder("blog.datasource.routed")
+                    .description("Connections handed out by the read/write routing datasource")
+                    .tag("target", reason == Reason.READ ? "replica" : "primary")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    public Route currentRoute() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWriteOnCommit();
+            return route(Reason.WRITE);
+        }
+
+        long now = System.currentTimeMillis();
+        if (!lagMonitor.isReplicaUsable(now)) {
+            return route(Reason.LAG);
+        }
+        if (writesTracker.isSticky(writesTracker.currentSubject(), now, lagMonitor.getLagMillis())) {
+            return route(Reason.STICKY);
+        }
+        return route(Reason.READ);
+    }
+
+    private Route route(Reason reason) {
+        routed.get(reason).increment();
+        return reason == Reason.READ ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * Pin the current user's reads to the primary once their write transaction has committed.
+     */
+    private void trackWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String subject = writesTracker.currentSubject();
+        if (subject == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writesTracker.recordWrite(subject, System.currentTimeMillis());
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.ScheduledPublishService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledPublishScheduler {
+
+    private final ScheduledPublishService scheduledPublishService;
+
+    /**
+     * Advance the timing wheel and publish posts whose publish time has passed
+     */
+    @Scheduled(fixedDelayString = "${app.scheduled-publish.tick:1000}")
+    public void publishDuePosts() {
+        try {
+            scheduledPublishService.publishDue();
+        } catch (Exception e) {
+            log.error("Error publishing scheduled posts: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Pick up posts scheduled through other nodes
+     */
+    @Scheduled(fixedDelayString = "${app.scheduled-publish.resync-interval:300000}",
+            initialDelayString = "${app.scheduled-publish.resync-interval:300000}")
+    public void resyncScheduledPosts() {
+        try {
+            scheduledPublishService.resync();
+        } catch (Exception e) {
+            log.error("Error reloading scheduled posts: {}", e.getMessage(), e);
+        }
+    }
+}
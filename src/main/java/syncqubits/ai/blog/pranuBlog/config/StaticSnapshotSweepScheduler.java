@@ -0,0 +1,32 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.util.StaticSnapshotStore;
+
+@Component
+@ConditionalOnProperty(prefix = "app.static-snapshots", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StaticSnapshotSweepScheduler {
+
+    private final StaticSnapshotStore staticSnapshotStore;
+
+    /**
+     * Delete static snapshot files superseded by a newer version or removed on unpublish/delete
+     */
+    @Scheduled(fixedDelayString = "${app.static-snapshots.sweep-interval:60000}")
+    public void sweepStaticSnapshots() {
+        try {
+            int deleted = staticSnapshotStore.sweep();
+            if (deleted > 0) {
+                log.debug("Deleted {} superseded static snapshot files", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Error sweeping static snapshots: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.TrafficSketchService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrafficSketchFlushScheduler {
+
+    private final TrafficSketchService trafficSketchService;
+
+    /**
+     * Merge pending in-memory traffic sketches into their persisted rows
+     */
+    @Scheduled(fixedDelayString = "${app.traffic-sketch.flush-interval:30000}")
+    public void flushTrafficSketches() {
+        try {
+            trafficSketchService.flush();
+        } catch (Exception e) {
+            log.error("Error flushing traffic sketches: {}", e.getMessage(), e);
+        }
+    }
+}
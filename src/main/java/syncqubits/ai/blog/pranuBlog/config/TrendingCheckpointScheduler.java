@@ -0,0 +1,27 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.service.TrendingService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingCheckpointScheduler {
+
+    private final TrendingService trendingService;
+
+    /**
+     * Persist the in-memory trending ranking so a restart doesn't start from zero
+     */
+    @Scheduled(fixedDelayString = "${app.trending.checkpoint-interval:60000}")
+    public void checkpointTrending() {
+        try {
+            trendingService.checkpoint();
+        } catch (Exception e) {
+            log.error("Error during trending checkpoint: {}", e.getMessage(), e);
+        }
+    }
+}
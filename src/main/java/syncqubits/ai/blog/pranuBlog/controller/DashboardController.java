@@ -13,8 +13,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import syncqubits.ai.blog.pranuBlog.dto.response.DashboardResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostAnalyticsResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.TrafficBreakdownResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+import syncqubits.ai.blog.pranuBlog.service.AnalyticsService;
 import syncqubits.ai.blog.pranuBlog.service.DashboardService;
+import syncqubits.ai.blog.pranuBlog.service.TrafficSketchService;
 
 import java.time.LocalDateTime;
 
@@ -27,6 +31,8 @@ import java.time.LocalDateTime;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final AnalyticsService analyticsService;
+    private final TrafficSketchService trafficSketchService;
 
     @GetMapping
     @SecurityRequirement(name = "bearerAuth")
@@ -68,4 +74,48 @@ public class DashboardController {
         );
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/posts/{postId}/analytics")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get post analytics", description = "Views, likes and comments over time from rollup tables")
+    @ApiResponse(responseCode = "200", description = "Analytics retrieved")
+    public ResponseEntity<PostAnalyticsResponse> getPostAnalytics(
+            Authentication authentication,
+            @PathVariable Long postId,
+
+            @Parameter(description = "Start of range (default: 30 days before 'to')")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "End of range (default: now)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "Granularity: AUTO, HOUR, DAY")
+            @RequestParam(required = false, defaultValue = "AUTO") String granularity
+    ) {
+        Long userId = (Long) authentication.getPrincipal();
+        log.info("GET /api/dashboard/posts/{}/analytics - User: {}, from: {}, to: {}, granularity: {}",
+                postId, userId, from, to, granularity);
+
+        PostAnalyticsResponse response = analyticsService.getPostAnalytics(userId, postId, from, to, granularity);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/posts/{postId}/traffic")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get traffic breakdown",
+            description = "Top referrers, countries and user agents for a post, with error bounds")
+    @ApiResponse(responseCode = "200", description = "Traffic breakdown retrieved")
+    public ResponseEntity<TrafficBreakdownResponse> getTrafficBreakdown(
+            Authentication authentication,
+            @PathVariable Long postId,
+
+            @Parameter(description = "Number of entries per dimension")
+            @RequestParam(required = false, defaultValue = "10") int limit
+    ) {
+        Long userId = (Long) authentication.getPrincipal();
+        log.info("GET /api/dashboard/posts/{}/traffic - User: {}, limit: {}", postId, userId, limit);
+
+        TrafficBreakdownResponse response = trafficSketchService.getBreakdown(userId, postId, Math.max(1, limit));
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
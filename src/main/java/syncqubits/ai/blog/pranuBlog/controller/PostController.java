@@ -1,5 +1,6 @@
 package syncqubits.ai.blog.pranuBlog.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,16 +10,39 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import syncqubits.ai.blog.pranuBlog.config.ReadYourWritesTracker;
 import syncqubits.ai.blog.pranuBlog.dto.request.*;
 import syncqubits.ai.blog.pranuBlog.dto.response.*;
+import syncqubits.ai.blog.pranuBlog.entity.PostSnapshot;
+import syncqubits.ai.blog.pranuBlog.service.DraftAutosaveService;
+import syncqubits.ai.blog.pranuBlog.service.PostExportService;
+import syncqubits.ai.blog.pranuBlog.service.PostImportService;
+import syncqubits.ai.blog.pranuBlog.service.PostRevisionService;
 import syncqubits.ai.blog.pranuBlog.service.PostService;
+import syncqubits.ai.blog.pranuBlog.service.PostSnapshotService;
+import syncqubits.ai.blog.pranuBlog.service.ScheduledPublishService;
+import syncqubits.ai.blog.pranuBlog.service.TrendingService;
+import syncqubits.ai.blog.pranuBlog.util.IpAddressUtil;
+import syncqubits.ai.blog.pranuBlog.util.RateLimiter;
+import syncqubits.ai.blog.pranuBlog.util.SnapshotEncoding;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -29,6 +53,20 @@ import java.util.Map;
 public class PostController {
 
     private final PostService postService;
+    private final PostImportService postImportService;
+    private final PostExportService postExportService;
+    private final TrendingService trendingService;
+    private final PostSnapshotService postSnapshotService;
+    private final PostRevisionService postRevisionService;
+    private final DraftAutosaveService draftAutosaveService;
+    private final ScheduledPublishService scheduledPublishService;
+    private final ObjectProvider<ReadYourWritesTracker> writesTracker;
+    private final ObjectMapper objectMapper;
+    private final RateLimiter rateLimiter;
+    private final IpAddressUtil ipAddressUtil;
+
+    @Value("${app.snapshots.max-age:60}")
+    private long snapshotMaxAgeSeconds;
 
     private Long getUserId(Authentication authentication) {
         return (Long) authentication.getPrincipal();
@@ -47,6 +85,85 @@ public class PostController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Bulk import posts",
+            description = "Stream an NDJSON upload (one post per line); progress is streamed back as NDJSON")
+    @ApiResponse(responseCode = "200", description = "Import progress stream")
+    public ResponseEntity<StreamingResponseBody> importPosts(
+            Authentication authentication,
+            HttpServletRequest request) {
+        Long userId = getUserId(authentication);
+        log.info("POST /api/posts/import - User: {}", userId);
+
+        StreamingResponseBody body = withWritesSubject(out -> {
+            ImportProgressResponse result = postImportService.importPosts(
+                    userId, request.getInputStream(), progress -> writeLine(out, progress));
+            writeLine(out, result);
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/export")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Export my posts",
+            description = "Stream all of my posts as NDJSON, optionally with views/likes/comments and gzip")
+    @ApiResponse(responseCode = "200", description = "Export stream")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            Authentication authentication,
+            @Parameter(description = "Include raw views, likes and comments")
+            @RequestParam(required = false, defaultValue = "false") boolean includeEngagement,
+            @Parameter(description = "Gzip the export")
+            @RequestParam(required = false, defaultValue = "false") boolean gzip) {
+        Long userId = getUserId(authentication);
+        log.info("GET /api/posts/export - User: {}, includeEngagement: {}, gzip: {}", userId, includeEngagement, gzip);
+
+        // Runs past the request thread; spring.mvc.async.request-timeout bounds how long it may take
+        StreamingResponseBody body = withWritesSubject(out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                postExportService.exportPosts(userId, includeEngagement, gzipOut);
+                gzipOut.finish();
+            } else {
+                postExportService.exportPosts(userId, includeEngagement, out);
+            }
+        });
+
+        String filename = gzip ? "posts.ndjson.gz" : "posts.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Async bodies run without the request's security context and attributes; carry the
+     * read-your-writes subject over so an export sees the user's own recent writes and an
+     * import's writes keep the user's next reads on the primary.
+     */
+    private StreamingResponseBody withWritesSubject(StreamingResponseBody body) {
+        ReadYourWritesTracker tracker = writesTracker.getIfAvailable();
+        if (tracker == null) {
+            return body;
+        }
+        String subject = tracker.currentSubject();
+        return out -> tracker.runAs(subject, () -> body.writeTo(out));
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PutMapping("/{postId}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Update post")
@@ -61,6 +178,91 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{postId}/draft")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Autosave draft",
+            description = "Save the title and full content or content edits of an unpublished post; saves are coalesced and written once per debounce window")
+    @ApiResponse(responseCode = "200", description = "Draft saved")
+    public ResponseEntity<DraftResponse> autosaveDraft(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @Valid @RequestBody DraftAutosaveRequest request) {
+        Long userId = getUserId(authentication);
+        log.debug("PATCH /api/posts/{}/draft - User: {}", postId, userId);
+        DraftResponse response = draftAutosaveService.save(userId, postId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{postId}/draft")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get draft", description = "Latest autosaved title and content, including saves not yet written")
+    @ApiResponse(responseCode = "200", description = "Draft retrieved")
+    public ResponseEntity<DraftResponse> getDraft(
+            Authentication authentication,
+            @PathVariable Long postId) {
+        Long userId = getUserId(authentication);
+        log.info("GET /api/posts/{}/draft - User: {}", postId, userId);
+        DraftResponse response = draftAutosaveService.getDraft(userId, postId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{postId}/revisions")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "List post revisions", description = "Saved versions of the post, newest first")
+    @ApiResponse(responseCode = "200", description = "Revisions retrieved")
+    public ResponseEntity<List<PostRevisionResponse>> listRevisions(
+            Authentication authentication,
+            @PathVariable Long postId) {
+        Long userId = getUserId(authentication);
+        log.info("GET /api/posts/{}/revisions - User: {}", postId, userId);
+        List<PostRevisionResponse> response = postRevisionService.listRevisions(userId, postId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{postId}/revisions/{revision}")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Get post revision", description = "Title and content of one saved version")
+    @ApiResponse(responseCode = "200", description = "Revision retrieved")
+    public ResponseEntity<PostRevisionResponse> getRevision(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @PathVariable int revision) {
+        Long userId = getUserId(authentication);
+        log.info("GET /api/posts/{}/revisions/{} - User: {}", postId, revision, userId);
+        PostRevisionResponse response = postRevisionService.getRevision(userId, postId, revision);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{postId}/revisions/diff")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Diff post revisions", description = "Unified line diff of the content between two revisions")
+    @ApiResponse(responseCode = "200", description = "Diff computed")
+    public ResponseEntity<RevisionDiffResponse> diffRevisions(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @RequestParam int from,
+            @RequestParam int to) {
+        Long userId = getUserId(authentication);
+        log.info("GET /api/posts/{}/revisions/diff - User: {}, from: {}, to: {}", postId, userId, from, to);
+        RevisionDiffResponse response = postRevisionService.diff(userId, postId, from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{postId}/revisions/{revision}/restore")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Restore post revision",
+            description = "Set the post's title and content to a saved version; recorded as a new revision")
+    @ApiResponse(responseCode = "200", description = "Revision restored")
+    public ResponseEntity<PostResponse> restoreRevision(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @PathVariable int revision) {
+        Long userId = getUserId(authentication);
+        log.info("POST /api/posts/{}/revisions/{}/restore - User: {}", postId, revision, userId);
+        PostResponse response = postService.restoreRevision(userId, postId, revision);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{postId}/publish")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Publish post")
@@ -74,6 +276,33 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{postId}/schedule")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Schedule publication", description = "Publish the post automatically at the given time")
+    @ApiResponse(responseCode = "200", description = "Publication scheduled")
+    public ResponseEntity<PostResponse> schedulePublish(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @Valid @RequestBody SchedulePublishRequest request) {
+        Long userId = getUserId(authentication);
+        log.info("POST /api/posts/{}/schedule - User: {}, publishAt: {}", postId, userId, request.getPublishAt());
+        PostResponse response = scheduledPublishService.schedule(userId, postId, request.getPublishAt());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{postId}/schedule")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Cancel scheduled publication")
+    @ApiResponse(responseCode = "200", description = "Scheduled publication cancelled")
+    public ResponseEntity<PostResponse> cancelScheduledPublish(
+            Authentication authentication,
+            @PathVariable Long postId) {
+        Long userId = getUserId(authentication);
+        log.info("DELETE /api/posts/{}/schedule - User: {}", postId, userId);
+        PostResponse response = scheduledPublishService.cancel(userId, postId);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{postId}/unpublish")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Unpublish post")
@@ -87,6 +316,32 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{postId}/archive")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Archive post")
+    @ApiResponse(responseCode = "200", description = "Post archived")
+    public ResponseEntity<PostResponse> archivePost(
+            Authentication authentication,
+            @PathVariable Long postId) {
+        Long userId = getUserId(authentication);
+        log.info("POST /api/posts/{}/archive - User: {}", postId, userId);
+        PostResponse response = postService.archivePost(userId, postId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{postId}/unarchive")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Restore an archived post as a draft")
+    @ApiResponse(responseCode = "200", description = "Post restored as draft")
+    public ResponseEntity<PostResponse> unarchivePost(
+            Authentication authentication,
+            @PathVariable Long postId) {
+        Long userId = getUserId(authentication);
+        log.info("POST /api/posts/{}/unarchive - User: {}", postId, userId);
+        PostResponse response = postService.unarchivePost(userId, postId);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{postId}")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Delete post")
@@ -133,6 +388,17 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/public/trending")
+    @Operation(summary = "Trending public posts", description = "Public posts ranked by time-decayed engagement")
+    @ApiResponse(responseCode = "200", description = "Trending posts retrieved")
+    public ResponseEntity<List<PostResponse>> getTrendingPosts(
+            @Parameter(description = "Maximum number of posts")
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        log.info("GET /api/posts/public/trending - limit: {}", limit);
+        List<PostResponse> response = trendingService.getTrendingPosts(Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/public/{shareToken}")
     @Operation(summary = "Get public post", description = "View published post by token")
     @ApiResponse(responseCode = "200", description = "Post retrieved")
@@ -144,11 +410,35 @@ public class PostController {
             @RequestHeader(value = "User-Agent", required = false) String userAgent,
             HttpServletRequest request) {
         log.info("GET /api/posts/public/{}", shareToken);
+        rateLimiter.acquire(RateLimiter.Endpoint.VIEW, ipAddressUtil.getClientIpAddress(request), viewerGuestId);
         PostDetailResponse response = postService.getPublicPost(
                 shareToken, guestName, viewerGuestId, referrer, userAgent, request);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/public/{shareToken}/content")
+    @Operation(summary = "Get public post content",
+            description = "Published content only, served from a precompressed snapshot; does not record a view")
+    @ApiResponse(responseCode = "200", description = "Post content retrieved")
+    public ResponseEntity<byte[]> getPublicPostContent(
+            @PathVariable String shareToken,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/posts/public/{}/content", shareToken);
+        PostSnapshot snapshot = postSnapshotService.getSnapshot(shareToken);
+
+        // Weak ETag: the gzip and identity bodies are the same representation
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(snapshotMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag("W/\"" + snapshot.getContentHash() + "\"");
+
+        if (snapshot.getGzip().length < snapshot.getJson().length && SnapshotEncoding.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
     @PostMapping("/{postId}/favorite")
     @SecurityRequirement(name = "bearerAuth")
     @Operation(summary = "Toggle favorite")
@@ -180,6 +470,8 @@ public class PostController {
             throw new IllegalArgumentException("Guest name is required");
         }
 
+        rateLimiter.acquire(RateLimiter.Endpoint.LIKE, ipAddressUtil.getClientIpAddress(request), guestIdentifier);
+
         PostResponse response = postService.toggleLike(
                 shareToken, userId, guestName, guestIdentifier, request);
 
@@ -198,6 +490,8 @@ public class PostController {
             @Valid @RequestBody CommentRequest request,
             HttpServletRequest httpRequest) {
         log.info("POST /api/posts/public/{}/comments", shareToken);
+        rateLimiter.acquire(RateLimiter.Endpoint.COMMENT,
+                ipAddressUtil.getClientIpAddress(httpRequest), request.getGuestIdentifier());
         CommentResponse response = postService.addComment(shareToken, request, httpRequest);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -207,8 +501,11 @@ public class PostController {
     @ApiResponse(responseCode = "201", description = "Reply added")
     public ResponseEntity<CommentResponse> addReply(
             @PathVariable String shareToken,
-            @Valid @RequestBody ReplyRequest request) {
+            @Valid @RequestBody ReplyRequest request,
+            HttpServletRequest httpRequest) {
         log.info("POST /api/posts/public/{}/replies", shareToken);
+        rateLimiter.acquire(RateLimiter.Endpoint.REPLY,
+                ipAddressUtil.getClientIpAddress(httpRequest), request.getGuestIdentifier());
         CommentResponse response = postService.addReply(shareToken, request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
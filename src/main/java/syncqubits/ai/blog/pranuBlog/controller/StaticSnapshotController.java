@@ -0,0 +1,183 @@
+package syncqubits.ai.blog.pranuBlog.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import syncqubits.ai.blog.pranuBlog.entity.PostSnapshot;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.service.PostSnapshotService;
+import syncqubits.ai.blog.pranuBlog.util.PostHtmlRenderer;
+import syncqubits.ai.blog.pranuBlog.util.ShareTokenCache;
+import syncqubits.ai.blog.pranuBlog.util.SnapshotEncoding;
+import syncqubits.ai.blog.pranuBlog.util.StaticSnapshotStore;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the static pages written by {@link StaticSnapshotStore} straight from disk.
+ *
+ * On Tomcat connectors that support it the file is handed to sendfile; otherwise it is copied
+ * with FileChannel.transferTo. Posts without static files yet (published before the mode was
+ * switched on) are served from their stored snapshot instead.
+ *
+ * Static files are local to each node, and an edit or unpublish only rewrites or removes the
+ * files of the node that handled it. Every request therefore checks the share token is still
+ * public first, and a node that finds it isn't removes its own files. It then compares the files'
+ * JSON hash with the stored snapshot's content hash (both cached), and rewrites files left over
+ * from before an edit on another node.
+ */
+@RestController
+@RequestMapping("/api/posts/public")
+@ConditionalOnProperty(prefix = "app.static-snapshots", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Posts", description = "Blog post management")
+@CrossOrigin(origins = "*")
+public class StaticSnapshotController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StaticSnapshotStore staticSnapshotStore;
+    private final PostSnapshotService postSnapshotService;
+    private final PostHtmlRenderer htmlRenderer;
+    private final ShareTokenCache shareTokenCache;
+
+    @Value("${app.snapshots.max-age:60}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/{shareToken}/static.html")
+    @Operation(summary = "Get static post page", description = "Published post as a static HTML page; does not record a view")
+    @ApiResponse(responseCode = "200", description = "Page retrieved")
+    public void getStaticHtml(@PathVariable String shareToken,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(shareToken, StaticSnapshotStore.Format.HTML, request, response);
+    }
+
+    @GetMapping("/{shareToken}/static.json")
+    @Operation(summary = "Get static post content", description = "Published content as a static JSON file; does not record a view")
+    @ApiResponse(responseCode = "200", description = "Content retrieved")
+    public void getStaticJson(@PathVariable String shareToken,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(shareToken, StaticSnapshotStore.Format.JSON, request, response);
+    }
+
+    private void serve(String shareToken, StaticSnapshotStore.Format format,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!shareTokenCache.resolve(shareToken).isPublic()) {
+            staticSnapshotStore.remove(shareToken);
+            throw new UnauthorizedException("Post is not public");
+        }
+
+        PostSnapshot snapshot = postSnapshotService.getSnapshot(shareToken);
+        boolean acceptsGzip = SnapshotEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        Optional<StaticSnapshotStore.StaticFile> file = staticSnapshotStore.find(shareToken, format, acceptsGzip);
+        if (file.isPresent() && !isCurrent(file.get(), snapshot)) {
+            // Written before an edit handled by another node
+            postSnapshotService.writeStatic(snapshot);
+            file = staticSnapshotStore.find(shareToken, format, acceptsGzip)
+                    .filter(rewritten -> isCurrent(rewritten, snapshot));
+        }
+        if (file.isEmpty()) {
+            serveStoredSnapshot(snapshot, format, acceptsGzip, request, response);
+            return;
+        }
+
+        StaticSnapshotStore.StaticFile staticFile = file.get();
+        if (notModified(staticFile.hash(), request, response)) {
+            return;
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(staticFile.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Removed by a concurrent unpublish after the lookup
+            serveStoredSnapshot(snapshot, format, acceptsGzip, request, response);
+            return;
+        }
+
+        try (channel) {
+            long size = channel.size();
+            writeHeaders(format, staticFile.gzip(), response);
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat sends the file from the connector once this handler returns. Superseded
+                // objects outlive the grace period in StaticSnapshotStore, so the name stays valid.
+                request.setAttribute(SENDFILE_FILENAME, staticFile.path().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static boolean isCurrent(StaticSnapshotStore.StaticFile file, PostSnapshot snapshot) {
+        return file.contentHash().equals(snapshot.getContentHash());
+    }
+
+    private void serveStoredSnapshot(PostSnapshot snapshot, StaticSnapshotStore.Format format, boolean acceptsGzip,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body;
+        boolean gzip = false;
+        if (format == StaticSnapshotStore.Format.HTML) {
+            body = htmlRenderer.render(snapshot.getJson());
+            if (notModified(SnapshotEncoding.sha256(body), request, response)) {
+                return;
+            }
+        } else {
+            if (notModified(snapshot.getContentHash(), request, response)) {
+                return;
+            }
+            gzip = acceptsGzip && snapshot.getGzip().length < snapshot.getJson().length;
+            body = gzip ? snapshot.getGzip() : snapshot.getJson();
+        }
+
+        writeHeaders(format, gzip, response);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Weak ETag on the content hash, shared by the gzip and identity bodies. Sends 304 when it matches.
+     */
+    private static boolean notModified(String hash, HttpServletRequest request, HttpServletResponse response) {
+        return new ServletWebRequest(request, response).checkNotModified("W/\"" + hash + "\"");
+    }
+
+    private void writeHeaders(StaticSnapshotStore.Format format, boolean gzip, HttpServletResponse response) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package syncqubits.ai.blog.pranuBlog.dto.nested;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Replace the characters in [start, end) with {@code text}; offsets are UTF-16 indexes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TextEditDTO {
+
+    @NotNull(message = "Edit start is required")
+    @Min(value = 0, message = "Edit start must not be negative")
+    private Integer start;
+
+    @NotNull(message = "Edit end is required")
+    @Min(value = 0, message = "Edit end must not be negative")
+    private Integer end;
+
+    private String text;
+}
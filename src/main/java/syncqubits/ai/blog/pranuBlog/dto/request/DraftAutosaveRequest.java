@@ -0,0 +1,31 @@
+package syncqubits.ai.blog.pranuBlog.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import syncqubits.ai.blog.pranuBlog.dto.nested.TextEditDTO;
+
+import java.util.List;
+
+/**
+ * An autosave: a new title and either the full content or edits to the current draft content.
+ * Edits apply in order, each to the result of the previous one, and need {@code baseLength},
+ * the length of the content they were made against.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DraftAutosaveRequest {
+
+    @Size(min = 3, max = 200, message = "Title must be between 3 and 200 characters")
+    private String title;
+
+    @Size(min = 10, message = "Content must be at least 10 characters")
+    private String content;
+
+    @Valid
+    private List<TextEditDTO> edits;
+
+    private Integer baseLength;
+}
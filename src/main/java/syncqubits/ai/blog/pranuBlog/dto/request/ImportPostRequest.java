@@ -0,0 +1,35 @@
+package syncqubits.ai.blog.pranuBlog.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * One line of an NDJSON bulk import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportPostRequest {
+
+    @NotBlank(message = "Title is required")
+    @Size(min = 3, max = 200, message = "Title must be between 3 and 200 characters")
+    private String title;
+
+    private String slug;
+
+    @NotBlank(message = "Content is required")
+    @Size(min = 10, message = "Content must be at least 10 characters")
+    private String content;
+
+    private String excerpt;
+
+    private String coverImageUrl;
+
+    @Builder.Default
+    private Boolean allowComments = true;
+
+    // DRAFT (default) or PUBLISHED
+    private String status;
+}
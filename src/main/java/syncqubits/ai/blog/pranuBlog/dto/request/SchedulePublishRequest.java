@@ -0,0 +1,18 @@
+package syncqubits.ai.blog.pranuBlog.dto.request;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulePublishRequest {
+
+    @NotNull(message = "Publish time is required")
+    @Future(message = "Publish time must be in the future")
+    private LocalDateTime publishAt;
+}
@@ -0,0 +1,26 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The current draft of a post. {@code pending} drafts are held in memory and not yet written to
+ * the post; {@code content} is only returned by the draft lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DraftResponse {
+    private Long postId;
+    private String title;
+    private String content;
+    private Integer contentLength;
+    private Boolean pending;
+    // Saves merged into the pending draft so far
+    private Integer coalescedSaves;
+    private LocalDateTime lastSavedAt;
+}
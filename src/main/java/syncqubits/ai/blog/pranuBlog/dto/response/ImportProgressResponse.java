@@ -0,0 +1,31 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportProgressResponse {
+    private String phase; // PROGRESS, DONE, FAILED
+    private Long linesRead;
+    private Long imported;
+    private Long skipped;
+    private Long elapsedMillis;
+    private String failure; // set on FAILED; rows counted in imported stay committed
+
+    @Builder.Default
+    private List<ImportError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportError {
+        private Long line;
+        private String message;
+    }
+}
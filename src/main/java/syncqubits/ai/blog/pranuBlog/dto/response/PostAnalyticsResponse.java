@@ -0,0 +1,32 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostAnalyticsResponse {
+    private Long postId;
+    private String granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long totalViews;
+    private Long totalLikes;
+    private Long totalComments;
+    private List<DataPoint> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DataPoint {
+        private LocalDateTime bucketStart;
+        private Long views;
+        private Long likes;
+        private Long comments;
+    }
+}
@@ -0,0 +1,26 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The public, engagement-free part of a published post; what a post snapshot holds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostContentResponse {
+    private Long id;
+    private String title;
+    private String slug;
+    private String shareToken;
+    private String content;
+    private String excerpt;
+    private String coverImageUrl;
+    private Boolean allowComments;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -28,6 +28,7 @@ public class PostDetailResponse {
     private CommentsData comments;
     private MetricsDTO metrics;
 
+    private LocalDateTime publishAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String authorName;
@@ -0,0 +1,38 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON export. Engagement fields are only present when requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostExportRecord {
+    private Long id;
+    private String title;
+    private String slug;
+    private String shareToken;
+    private String content;
+    private String excerpt;
+    private String coverImageUrl;
+    private String status;
+    private Boolean isPublic;
+    private Boolean allowComments;
+    private MetricsDocument metrics;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private ViewsDocument views;
+    private LikesDocument likes;
+    private CommentsDocument comments;
+}
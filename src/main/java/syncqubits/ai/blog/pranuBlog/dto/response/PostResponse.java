@@ -20,6 +20,7 @@ public class PostResponse {
     private Boolean isPublic;
     private Boolean allowComments;
     private MetricsDTO metrics;
+    private LocalDateTime publishAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String authorName;
@@ -0,0 +1,23 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post revision; {@code content} is only filled in when a single revision is requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostRevisionResponse {
+    private Long postId;
+    private Integer revision;
+    private String title;
+    private String content;
+    private Integer contentLength;
+    private LocalDateTime createdAt;
+}
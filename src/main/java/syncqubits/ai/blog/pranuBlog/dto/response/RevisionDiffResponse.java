@@ -0,0 +1,18 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevisionDiffResponse {
+    private Long postId;
+    private Integer from;
+    private Integer to;
+    private Boolean titleChanged;
+    private Integer linesAdded;
+    private Integer linesRemoved;
+    // Unified diff of the content, three lines of context
+    private String diff;
+}
@@ -0,0 +1,29 @@
+package syncqubits.ai.blog.pranuBlog.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrafficBreakdownResponse {
+    private Long postId;
+    private Long totalViews;
+    private Long botViews;        // bot/crawler views, excluded from totalViews and the breakdowns
+    private List<HeavyHitter> referrers;
+    private List<HeavyHitter> countries;
+    private List<HeavyHitter> userAgents;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HeavyHitter {
+        private String value;
+        private Long count;           // upper bound
+        private Long maxError;        // count may overestimate by at most this much
+        private Long guaranteedCount; // lower bound: count - maxError
+    }
+}
@@ -0,0 +1,26 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * The raw engagement documents of an archived post, as moved to cold storage.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ArchivedEngagement(ViewsDocument views, LikesDocument likes, CommentsDocument comments) {
+
+    public static ArchivedEngagement of(Post post) {
+        return new ArchivedEngagement(post.getViews(), post.getLikes(), post.getComments());
+    }
+
+    /**
+     * Replace the post's documents with their counters only, as they stay in the hot row.
+     */
+    public static void stripEntries(Post post) {
+        ViewsDocument views = post.getViews();
+        post.setViews(new ViewsDocument(views.count(), views.uniqueViewers(), List.of()));
+        post.setLikes(new LikesDocument(post.getLikes().count(), List.of()));
+        post.setComments(new CommentsDocument(post.getComments().count(), List.of()));
+    }
+}
@@ -0,0 +1,82 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import syncqubits.ai.blog.pranuBlog.util.EpochMillisDeserializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code posts.comments} jsonb document: top-level comments with one level of replies.
+ * {@code count} includes replies. Immutable: adding a comment or reply builds a new document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CommentsDocument(int count, List<Entry> entries) implements Serializable {
+
+    public static final CommentsDocument EMPTY = new CommentsDocument(0, List.of());
+
+    public CommentsDocument {
+        entries = entries == null ? List.of() : List.copyOf(entries);
+    }
+
+    /**
+     * @return index of the top-level comment with this id, or -1
+     */
+    public int indexOf(String commentId) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).commentId().equals(commentId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public CommentsDocument plus(Entry comment) {
+        List<Entry> updated = new ArrayList<>(entries.size() + 1);
+        updated.addAll(entries);
+        updated.add(comment);
+        return new CommentsDocument(totalCount(updated), updated);
+    }
+
+    public CommentsDocument plusReply(int parentIndex, Entry reply) {
+        List<Entry> updated = new ArrayList<>(entries);
+        updated.set(parentIndex, updated.get(parentIndex).plusReply(reply));
+        return new CommentsDocument(totalCount(updated), updated);
+    }
+
+    private static int totalCount(List<Entry> entries) {
+        int count = entries.size();
+        for (Entry entry : entries) {
+            count += entry.replies().size();
+        }
+        return count;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Entry(
+            @JsonProperty("comment_id") String commentId,
+            @JsonProperty("user_id") Long userId,
+            @JsonProperty("guest_name") String guestName,
+            @JsonProperty("guest_identifier") String guestIdentifier,
+            @JsonProperty("ip_address") String ipAddress,
+            String content,
+            @JsonProperty("created_at") @JsonDeserialize(using = EpochMillisDeserializer.class) long createdAt,
+            List<Entry> replies) implements Serializable {
+
+        public Entry {
+            replies = replies == null ? List.of() : List.copyOf(replies);
+        }
+
+        Entry plusReply(Entry reply) {
+            List<Entry> updated = new ArrayList<>(replies.size() + 1);
+            updated.addAll(replies);
+            updated.add(reply);
+            return new Entry(commentId, userId, guestName, guestIdentifier, ipAddress, content, createdAt, updated);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Per-post engagement counts for one hour or one day, maintained incrementally from the
+ * raw jsonb entries by the rollup job.
+ */
+@Entity
+@Table(name = "engagement_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long views = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long likes = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long comments = 0L;
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "post_id", nullable = false)
+        private Long postId;
+
+        @Column(nullable = false, length = 8)
+        @Enumerated(EnumType.STRING)
+        private Granularity granularity;
+
+        @Column(nullable = false)
+        private LocalDateTime bucketStart;
+    }
+}
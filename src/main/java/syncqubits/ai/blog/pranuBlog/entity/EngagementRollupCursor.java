@@ -0,0 +1,39 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * How far the rollup job has read each engagement array of a post.
+ *
+ * Entries are appended in time order, so the next run only needs the entries from these
+ * indexes on. Unlikes can shift entries below a cursor; the job detects that and rescans the
+ * array, relying on the timestamp window to skip entries it already counted.
+ */
+@Entity
+@Table(name = "engagement_rollup_cursors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EngagementRollupCursor {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(nullable = false)
+    private Integer viewsNext;
+
+    @Column(nullable = false)
+    private Integer likesNext;
+
+    @Column(nullable = false)
+    private Integer commentsNext;
+
+    // Replies sit under their comments and can't be sliced; they are rescanned only when this
+    // falls behind the document's reply total
+    @Column(nullable = false)
+    private Integer repliesSeen;
+}
@@ -0,0 +1,66 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import syncqubits.ai.blog.pranuBlog.util.EpochMillisDeserializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code posts.likes} jsonb document. Immutable: liking or unliking builds a new document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LikesDocument(int count, List<Entry> entries) implements Serializable {
+
+    public static final LikesDocument EMPTY = new LikesDocument(0, List.of());
+
+    public LikesDocument {
+        entries = entries == null ? List.of() : List.copyOf(entries);
+    }
+
+    /**
+     * @return index of the like by this user (or, for guests, this guest identifier), or -1
+     */
+    public int indexOf(Long userId, String guestIdentifier) {
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (userId != null && entry.userId() != null) {
+                if (Objects.equals(entry.userId(), userId)) {
+                    return i;
+                }
+            } else if (guestIdentifier != null && guestIdentifier.equals(entry.guestIdentifier())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public LikesDocument plus(Entry entry) {
+        List<Entry> updated = new ArrayList<>(entries.size() + 1);
+        updated.addAll(entries);
+        updated.add(entry);
+        return new LikesDocument(updated.size(), updated);
+    }
+
+    public LikesDocument minus(int index) {
+        List<Entry> updated = new ArrayList<>(entries);
+        updated.remove(index);
+        return new LikesDocument(updated.size(), updated);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Entry(
+            @JsonProperty("user_id") Long userId,
+            @JsonProperty("guest_name") String guestName,
+            @JsonProperty("guest_identifier") String guestIdentifier,
+            @JsonProperty("ip_address") String ipAddress,
+            @JsonProperty("liked_at") @JsonDeserialize(using = EpochMillisDeserializer.class) long likedAt)
+            implements Serializable {
+    }
+}
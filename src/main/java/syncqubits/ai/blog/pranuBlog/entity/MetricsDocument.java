@@ -0,0 +1,19 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.io.Serializable;
+
+/**
+ * The {@code posts.metrics} jsonb document: engagement counters kept next to the documents they
+ * count, so lists and the dashboard don't have to load the documents themselves.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MetricsDocument(int views, int likes, int comments) implements Serializable {
+
+    public static final MetricsDocument EMPTY = new MetricsDocument(0, 0, 0);
+
+    public static MetricsDocument of(Post post) {
+        return new MetricsDocument(post.getViews().count(), post.getLikes().count(), post.getComments().count());
+    }
+}
@@ -2,10 +2,14 @@ package syncqubits.ai.blog.pranuBlog.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.Mutability;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -16,8 +20,14 @@ import java.util.UUID;
 @Table(name = "posts", indexes = {
         @Index(name = "idx_share_token", columnList = "shareToken"),
         @Index(name = "idx_author_status", columnList = "author_id, status"),
-        @Index(name = "idx_slug", columnList = "slug")
+        @Index(name = "idx_slug", columnList = "slug"),
+        @Index(name = "idx_updated_at", columnList = "updatedAt"),
+        @Index(name = "idx_publish_at", columnList = "publishAt")
 })
+// Not in the second-level cache: views and likes rewrite the row on nearly every read, so a
+// cached copy would be invalidated before it is reused. The read-mostly parts are cached as
+// small values instead: token resolution in ShareTokenCache, public content in post snapshots.
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +36,8 @@ import java.util.UUID;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -65,15 +76,26 @@ public class Post {
     @Builder.Default
     private Boolean allowComments = true;
 
+    // When a scheduled publication is due; cleared once the post is published
+    @Column
+    private LocalDateTime publishAt;
+
+    // Engagement documents are immutable, so Hibernate keeps the loaded instance as its
+    // dirty-check snapshot instead of deep-copying it through JSON. An unchanged document is the
+    // same instance and a changed one differs in its count (the first component compared), so
+    // dirty checking rarely walks entries; with @DynamicUpdate the UPDATE sets only the changed
+    // columns, e.g. likes and metrics for a like.
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
+    @Mutability(Immutability.class)
     @Builder.Default
-    private Map<String, Object> views = new HashMap<>();
+    private ViewsDocument views = ViewsDocument.EMPTY;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
+    @Mutability(Immutability.class)
     @Builder.Default
-    private Map<String, Object> likes = new HashMap<>();
+    private LikesDocument likes = LikesDocument.EMPTY;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
@@ -82,13 +104,21 @@ public class Post {
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
+    @Mutability(Immutability.class)
     @Builder.Default
-    private Map<String, Object> comments = new HashMap<>();
+    private CommentsDocument comments = CommentsDocument.EMPTY;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
+    @Mutability(Immutability.class)
     @Builder.Default
-    private Map<String, Object> metrics = new HashMap<>();
+    private MetricsDocument metrics = MetricsDocument.EMPTY;
+
+    // Engagement writes rewrite whole jsonb columns; concurrent ones are detected and retried
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -98,6 +128,13 @@ public class Post {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Whether anonymous readers may see the post through its share token.
+     */
+    public boolean isPubliclyVisible() {
+        return status == PostStatus.PUBLISHED && Boolean.TRUE.equals(isPublic);
+    }
+
     public enum PostStatus {
         DRAFT,
         PUBLISHED,
@@ -0,0 +1,28 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Views of a post by bots and crawlers, kept apart from the post's engagement columns.
+ */
+@Entity
+@Table(name = "post_bot_views")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBotViews {
+
+    @Id
+    private Long postId;
+
+    @Column(nullable = false)
+    private Long botViews;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
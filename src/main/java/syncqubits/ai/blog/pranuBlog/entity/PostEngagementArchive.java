@@ -0,0 +1,33 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold storage for an archived post's views, likes and comments: an {@link ArchivedEngagement}
+ * serialized to JSON and gzipped. The post row keeps only the counts.
+ */
+@Entity
+@Table(name = "post_engagement_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostEngagementArchive {
+
+    @Id
+    private Long postId;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    // Size of the JSON before compression
+    @Column(nullable = false)
+    private Integer rawBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,63 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One saved version of a post's title and content.
+ *
+ * Keyframes ({@code keyframeRevision == revision}) hold the deflated full content; every other
+ * revision holds a compressed line delta against the revision before it. Rebuilding a revision
+ * reads at most one keyframe interval of rows.
+ */
+@Entity
+@Table(name = "post_revisions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostRevision {
+
+    @EmbeddedId
+    private Key id;
+
+    // The keyframe this revision's delta chain starts from
+    @Column(nullable = false)
+    private Integer keyframeRevision;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    // Length of the full content, in characters
+    @Column(nullable = false)
+    private Integer contentLength;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isKeyframe() {
+        return keyframeRevision.equals(id.getRevision());
+    }
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "post_id", nullable = false)
+        private Long postId;
+
+        @Column(nullable = false)
+        private Integer revision;
+    }
+}
@@ -0,0 +1,41 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The public representation of a published post, serialized and compressed once at publish
+ * time and rewritten whenever the published post changes.
+ */
+@Entity
+@Table(name = "post_snapshots", indexes = {
+        @Index(name = "idx_snapshot_share_token", columnList = "shareToken", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSnapshot {
+
+    @Id
+    private Long postId;
+
+    @Column(nullable = false)
+    private String shareToken;
+
+    // SHA-256 of json, hex encoded
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private byte[] json;
+
+    @Column(nullable = false)
+    private byte[] gzip;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
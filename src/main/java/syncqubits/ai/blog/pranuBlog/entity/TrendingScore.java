@@ -0,0 +1,46 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one node's in-memory trending ranking: the decayed score a post earned from
+ * engagement handled by that node, as of {@code scoredAt}. A post's cluster-wide score is the
+ * sum over nodes.
+ */
+@Entity
+@Table(name = "trending_node_scores")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingScore {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private LocalDateTime scoredAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "node_id", nullable = false, length = 64)
+        private String nodeId;
+
+        @Column(name = "post_id", nullable = false)
+        private Long postId;
+    }
+}
@@ -3,6 +3,7 @@ package syncqubits.ai.blog.pranuBlog.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,6 +11,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+// Not in the second-level cache: the row carries the OTP, verification flags and password hash,
+// and a per-node cached copy would let a consumed OTP or a logout re-verification be bypassed
+// on another node until it expired.
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,12 +22,14 @@ import java.util.List;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
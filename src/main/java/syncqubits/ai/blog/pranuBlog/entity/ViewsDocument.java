@@ -0,0 +1,52 @@
+package syncqubits.ai.blog.pranuBlog.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import syncqubits.ai.blog.pranuBlog.util.EpochMillisDeserializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code posts.views} jsonb document. Immutable: recording a view builds a new document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ViewsDocument(
+        int count,
+        @JsonProperty("unique_viewers") int uniqueViewers,
+        List<Entry> entries) implements Serializable {
+
+    public static final ViewsDocument EMPTY = new ViewsDocument(0, 0, List.of());
+
+    public ViewsDocument {
+        entries = entries == null ? List.of() : List.copyOf(entries);
+    }
+
+    public ViewsDocument plus(Entry entry) {
+        String viewer = entry.viewerGuestId();
+        boolean newViewer = viewer != null && !viewer.isEmpty()
+                && entries.stream().noneMatch(e -> viewer.equals(e.viewerGuestId()));
+
+        List<Entry> updated = new ArrayList<>(entries.size() + 1);
+        updated.addAll(entries);
+        updated.add(entry);
+        return new ViewsDocument(updated.size(), newViewer ? uniqueViewers + 1 : uniqueViewers, updated);
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Entry(
+            @JsonProperty("viewer_guest_id") String viewerGuestId,
+            @JsonProperty("guest_name") String guestName,
+            @JsonProperty("ip_address") String ipAddress,
+            String country,
+            String city,
+            String region,
+            @JsonProperty("viewed_at") @JsonDeserialize(using = EpochMillisDeserializer.class) long viewedAt,
+            String referrer,
+            @JsonProperty("user_agent") String userAgent) implements Serializable {
+    }
+}
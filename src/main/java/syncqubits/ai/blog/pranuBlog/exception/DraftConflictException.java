@@ -0,0 +1,7 @@
+package syncqubits.ai.blog.pranuBlog.exception;
+
+public class DraftConflictException extends RuntimeException {
+    public DraftConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,7 +2,9 @@ package syncqubits.ai.blog.pranuBlog.mapper;
 
 import org.mapstruct.*;
 import syncqubits.ai.blog.pranuBlog.dto.request.CreatePostRequest;
+import syncqubits.ai.blog.pranuBlog.dto.request.ImportPostRequest;
 import syncqubits.ai.blog.pranuBlog.dto.request.UpdatePostRequest;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostContentResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostDetailResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
 import syncqubits.ai.blog.pranuBlog.entity.Post;
@@ -20,10 +22,28 @@ public interface PostMapper {
     @Mapping(target = "favorites", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "metrics", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "publishAt", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Post toEntity(CreatePostRequest request);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "shareToken", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "isPublic", ignore = true)
+    @Mapping(target = "views", ignore = true)
+    @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "favorites", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "metrics", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "publishAt", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Post toEntity(ImportPostRequest request);
+
     @Mapping(target = "status", expression = "java(post.getStatus().name())")
     @Mapping(target = "authorName", source = "author.name")
     @Mapping(target = "metrics", ignore = true)
@@ -38,6 +58,9 @@ public interface PostMapper {
     @Mapping(target = "metrics", ignore = true)
     PostDetailResponse toPostDetailResponse(Post post);
 
+    @Mapping(target = "authorName", source = "author.name")
+    PostContentResponse toPostContentResponse(Post post);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "author", ignore = true)
@@ -49,6 +72,8 @@ public interface PostMapper {
     @Mapping(target = "favorites", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "metrics", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "publishAt", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromRequest(UpdatePostRequest request, @MappingTarget Post post);
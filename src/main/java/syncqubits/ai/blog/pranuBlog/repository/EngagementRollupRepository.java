@@ -0,0 +1,183 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.EngagementRollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EngagementRollupRepository extends JpaRepository<EngagementRollup, EngagementRollup.Key> {
+
+    @Query("SELECT r FROM EngagementRollup r " +
+            "WHERE r.id.postId = :postId AND r.id.granularity = :granularity " +
+            "AND r.id.bucketStart >= :from AND r.id.bucketStart <= :to " +
+            "ORDER BY r.id.bucketStart")
+    List<EngagementRollup> findSeries(Long postId, EngagementRollup.Granularity granularity,
+                                      LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM EngagementRollup r WHERE r.id.postId = :postId")
+    void deleteByPostId(Long postId);
+
+    /**
+     * Where this run starts reading each post's arrays: the cursor, clamped to the array length,
+     * or 0 when the entry just before it is newer than {@code from} (unlikes shifted unread
+     * entries below the cursor). Shared by {@link #rollupEvents} and {@link #advanceCursors},
+     * which run in one transaction.
+     */
+    String CURSOR_STARTS = """
+            WITH cursors AS (
+                SELECT p.id AS post_id,
+                       LEAST(COALESCE(c.views_next, 0), jsonb_array_length(COALESCE(p.views -> 'entries', CAST('[]' AS jsonb)))) AS views_next,
+                       LEAST(COALESCE(c.likes_next, 0), jsonb_array_length(COALESCE(p.likes -> 'entries', CAST('[]' AS jsonb)))) AS likes_next,
+                       LEAST(COALESCE(c.comments_next, 0), jsonb_array_length(COALESCE(p.comments -> 'entries', CAST('[]' AS jsonb)))) AS comments_next,
+                       COALESCE(CAST(p.comments ->> 'count' AS int), 0)
+                           - jsonb_array_length(COALESCE(p.comments -> 'entries', CAST('[]' AS jsonb)))
+                           <> COALESCE(c.replies_seen, 0) AS replies_changed
+                FROM posts p
+                LEFT JOIN engagement_rollup_cursors c ON c.post_id = p.id
+                WHERE p.updated_at > :from
+            ),
+            starts AS (
+                SELECT k.post_id,
+                       CASE WHEN k.views_next > 0 AND CASE jsonb_typeof(p.views -> 'entries' -> (k.views_next - 1) -> 'viewed_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(p.views -> 'entries' -> (k.views_next - 1) ->> 'viewed_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(p.views -> 'entries' -> (k.views_next - 1) ->> 'viewed_at' AS timestamp)
+                                     END > :from
+                           THEN 0 ELSE k.views_next
+                       END AS views_from,
+                       CASE WHEN k.likes_next > 0 AND CASE jsonb_typeof(p.likes -> 'entries' -> (k.likes_next - 1) -> 'liked_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(p.likes -> 'entries' -> (k.likes_next - 1) ->> 'liked_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(p.likes -> 'entries' -> (k.likes_next - 1) ->> 'liked_at' AS timestamp)
+                                     END > :from
+                           THEN 0 ELSE k.likes_next
+                       END AS likes_from,
+                       CASE WHEN k.comments_next > 0 AND CASE jsonb_typeof(p.comments -> 'entries' -> (k.comments_next - 1) -> 'created_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(p.comments -> 'entries' -> (k.comments_next - 1) ->> 'created_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(p.comments -> 'entries' -> (k.comments_next - 1) ->> 'created_at' AS timestamp)
+                                     END > :from
+                           THEN 0 ELSE k.comments_next
+                       END AS comments_from,
+                       k.replies_changed
+                FROM cursors k
+                JOIN posts p ON p.id = k.post_id
+            )
+            """;
+
+    /**
+     * Aggregate view/like/comment/reply entries with timestamps in (from, to] into buckets of
+     * the given unit ('hour' or 'day') and add them to the existing rollup rows.
+     * Only posts touched since {@code from} are read, and of those only the entries past their
+     * rollup cursor (a jsonpath slice, so earlier entries are never unnested). Entry timestamps
+     * are epoch millis, or local date-time strings in entries written before that format; both
+     * read as server time.
+     */
+    @Modifying
+    @Query(value = CURSOR_STARTS + """
+            , events AS (
+                SELECT s.post_id,
+                       CASE jsonb_typeof(e -> 'viewed_at')
+                           WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'viewed_at' AS bigint) / 1000.0) AS timestamp)
+                           ELSE CAST(e ->> 'viewed_at' AS timestamp)
+                       END AS at,
+                       1 AS views, 0 AS likes, 0 AS comments
+                FROM starts s
+                JOIN posts p ON p.id = s.post_id
+                CROSS JOIN LATERAL jsonb_path_query(p.views, '$.entries[$from to last]', jsonb_build_object('from', s.views_from)) e
+                UNION ALL
+                SELECT s.post_id,
+                       CASE jsonb_typeof(e -> 'liked_at')
+                           WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'liked_at' AS bigint) / 1000.0) AS timestamp)
+                           ELSE CAST(e ->> 'liked_at' AS timestamp)
+                       END,
+                       0, 1, 0
+                FROM starts s
+                JOIN posts p ON p.id = s.post_id
+                CROSS JOIN LATERAL jsonb_path_query(p.likes, '$.entries[$from to last]', jsonb_build_object('from', s.likes_from)) e
+                UNION ALL
+                SELECT s.post_id,
+                       CASE jsonb_typeof(e -> 'created_at')
+                           WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'created_at' AS bigint) / 1000.0) AS timestamp)
+                           ELSE CAST(e ->> 'created_at' AS timestamp)
+                       END,
+                       0, 0, 1
+                FROM starts s
+                JOIN posts p ON p.id = s.post_id
+                CROSS JOIN LATERAL jsonb_path_query(p.comments, '$.entries[$from to last]', jsonb_build_object('from', s.comments_from)) e
+                UNION ALL
+                SELECT s.post_id,
+                       CASE jsonb_typeof(r -> 'created_at')
+                           WHEN 'number' THEN CAST(to_timestamp(CAST(r ->> 'created_at' AS bigint) / 1000.0) AS timestamp)
+                           ELSE CAST(r ->> 'created_at' AS timestamp)
+                       END,
+                       0, 0, 1
+                FROM starts s
+                JOIN posts p ON p.id = s.post_id
+                CROSS JOIN LATERAL jsonb_array_elements(COALESCE(p.comments -> 'entries', CAST('[]' AS jsonb))) e
+                CROSS JOIN LATERAL jsonb_array_elements(COALESCE(e -> 'replies', CAST('[]' AS jsonb))) r
+                WHERE s.replies_changed
+            )
+            INSERT INTO engagement_rollups (post_id, granularity, bucket_start, views, likes, comments)
+            SELECT post_id, CAST(:granularity AS varchar), date_trunc(:unit, at), SUM(views), SUM(likes), SUM(comments)
+            FROM events
+            WHERE at > :from AND at <= :to
+            GROUP BY 1, 3
+            ON CONFLICT (post_id, granularity, bucket_start) DO UPDATE SET
+                views = engagement_rollups.views + EXCLUDED.views,
+                likes = engagement_rollups.likes + EXCLUDED.likes,
+                comments = engagement_rollups.comments + EXCLUDED.comments
+            """, nativeQuery = true)
+    int rollupEvents(String granularity, String unit, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Move each touched post's cursors past the entries with timestamps up to {@code to}; newer
+     * ones are read again by the next run.
+     */
+    @Modifying
+    @Query(value = CURSOR_STARTS + """
+            INSERT INTO engagement_rollup_cursors (post_id, views_next, likes_next, comments_next, replies_seen)
+            SELECT s.post_id,
+                   s.views_from + (SELECT count(*) FROM jsonb_path_query(p.views, '$.entries[$from to last]', jsonb_build_object('from', s.views_from)) e
+                               WHERE CASE jsonb_typeof(e -> 'viewed_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'viewed_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(e ->> 'viewed_at' AS timestamp)
+                                     END <= :to),
+                   s.likes_from + (SELECT count(*) FROM jsonb_path_query(p.likes, '$.entries[$from to last]', jsonb_build_object('from', s.likes_from)) e
+                               WHERE CASE jsonb_typeof(e -> 'liked_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'liked_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(e ->> 'liked_at' AS timestamp)
+                                     END <= :to),
+                   s.comments_from + (SELECT count(*) FROM jsonb_path_query(p.comments, '$.entries[$from to last]', jsonb_build_object('from', s.comments_from)) e
+                               WHERE CASE jsonb_typeof(e -> 'created_at')
+                                         WHEN 'number' THEN CAST(to_timestamp(CAST(e ->> 'created_at' AS bigint) / 1000.0) AS timestamp)
+                                         ELSE CAST(e ->> 'created_at' AS timestamp)
+                                     END <= :to),
+                   CASE WHEN s.replies_changed
+                       THEN (SELECT count(*)
+                             FROM jsonb_array_elements(COALESCE(p.comments -> 'entries', CAST('[]' AS jsonb))) e
+                             CROSS JOIN LATERAL jsonb_array_elements(COALESCE(e -> 'replies', CAST('[]' AS jsonb))) r
+                             WHERE CASE jsonb_typeof(r -> 'created_at')
+                                       WHEN 'number' THEN CAST(to_timestamp(CAST(r ->> 'created_at' AS bigint) / 1000.0) AS timestamp)
+                                       ELSE CAST(r ->> 'created_at' AS timestamp)
+                                   END <= :to)
+                       ELSE COALESCE(c.replies_seen, 0)
+                   END
+            FROM starts s
+            JOIN posts p ON p.id = s.post_id
+            LEFT JOIN engagement_rollup_cursors c ON c.post_id = s.post_id
+            ON CONFLICT (post_id) DO UPDATE SET
+                views_next = EXCLUDED.views_next,
+                likes_next = EXCLUDED.likes_next,
+                comments_next = EXCLUDED.comments_next,
+                replies_seen = EXCLUDED.replies_seen
+            """, nativeQuery = true)
+    int advanceCursors(LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM EngagementRollupCursor c WHERE c.postId = :postId")
+    void deleteCursorByPostId(Long postId);
+}
@@ -0,0 +1,24 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.PostBotViews;
+
+@Repository
+public interface PostBotViewsRepository extends JpaRepository<PostBotViews, Long> {
+
+    /**
+     * Add {@code delta} bot views to a post's counter, creating the row on first use.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO post_bot_views (post_id, bot_views, updated_at)
+            VALUES (:postId, :delta, now())
+            ON CONFLICT (post_id) DO UPDATE
+            SET bot_views = post_bot_views.bot_views + EXCLUDED.bot_views,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void addBotViews(Long postId, long delta);
+}
@@ -0,0 +1,15 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.PostEngagementArchive;
+
+@Repository
+public interface PostEngagementArchiveRepository extends JpaRepository<PostEngagementArchive, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PostEngagementArchive a WHERE a.postId = :postId")
+    void deleteByPostId(Long postId);
+}
@@ -1,27 +1,107 @@
 package syncqubits.ai.blog.pranuBlog.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import syncqubits.ai.blog.pranuBlog.entity.Post;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
     Optional<Post> findByShareToken(String shareToken);
 
+    Optional<ShareTokenRef> findRefByShareToken(String shareToken);
+
+    @Query("SELECT p.author.id FROM Post p WHERE p.id = :postId")
+    Optional<Long> findAuthorIdById(Long postId);
+
+    // List queries fetch the author in the same select: responses show its name, and loading it
+    // lazily costs one query per distinct author. Single-post lookups keep findById and load the
+    // author only when the response needs it.
+
+    @EntityGraph(attributePaths = "author")
     List<Post> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
 
+    @EntityGraph(attributePaths = "author")
     List<Post> findByAuthorIdAndStatusOrderByCreatedAtDesc(Long authorId, Post.PostStatus status);
 
+    @EntityGraph(attributePaths = "author")
     @Query("SELECT p FROM Post p WHERE p.author.id = :authorId ORDER BY p.updatedAt DESC")
     List<Post> findRecentPostsByAuthor(Long authorId);
 
+    @EntityGraph(attributePaths = "author")
+    List<Post> findWithAuthorByIdIn(Collection<Long> ids);
+
+    /**
+     * Server-side cursor over an author's posts for exports; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Post p WHERE p.author.id = :authorId ORDER BY p.id")
+    Stream<Post> streamByAuthorId(Long authorId);
+
     boolean existsBySlug(String slug);
 
+    @Query("SELECT p.slug FROM Post p WHERE p.slug IN :slugs")
+    List<String> findExistingSlugs(Collection<String> slugs);
+
+    @EntityGraph(attributePaths = "author")
     List<Post> findByStatusAndIsPublicOrderByCreatedAtDesc(Post.PostStatus status, Boolean isPublic);
 
+    @Query("SELECT p.id AS id, p.publishAt AS publishAt FROM Post p WHERE p.publishAt IS NOT NULL")
+    List<ScheduledRef> findScheduled();
+
+    /**
+     * Lock the given posts that are due for scheduled publication. Rows another node has already
+     * locked are skipped (FOR UPDATE SKIP LOCKED), so each publication is fired by one node.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.publishAt <= :now ORDER BY p.id")
+    List<Post> lockDueForPublish(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * The given posts still due for scheduled publication, read without locking; tells rows
+     * skipped by {@link #lockDueForPublish} apart from ones no longer due.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids AND p.publishAt <= :now")
+    List<Long> findDueForPublish(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Posts in {@code status} last changed before {@code before} whose engagement is not in cold
+     * storage yet, oldest first.
+     */
+    @Query("SELECT p.id FROM Post p WHERE p.status = :status AND p.updatedAt < :before " +
+            "AND NOT EXISTS (SELECT 1 FROM PostEngagementArchive a WHERE a.postId = p.id) " +
+            "ORDER BY p.updatedAt")
+    List<Long> findArchivalCandidates(Post.PostStatus status, LocalDateTime before, Pageable pageable);
+
+    interface ScheduledRef {
+        Long getId();
+        LocalDateTime getPublishAt();
+    }
+
+    interface ShareTokenRef {
+        Long getId();
+        Post.PostStatus getStatus();
+        Boolean getIsPublic();
+        Boolean getAllowComments();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.PostRevision;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostRevisionRepository extends JpaRepository<PostRevision, PostRevision.Key> {
+
+    Optional<PostRevision> findTopByIdPostIdOrderByIdRevisionDesc(Long postId);
+
+    /**
+     * Revisions {@code from..to} inclusive, oldest first: a keyframe and the deltas on top of it.
+     */
+    @Query("SELECT r FROM PostRevision r " +
+            "WHERE r.id.postId = :postId AND r.id.revision >= :from AND r.id.revision <= :to " +
+            "ORDER BY r.id.revision")
+    List<PostRevision> findChain(Long postId, Integer from, Integer to);
+
+    @Query("SELECT r.id.revision AS revision, r.title AS title, r.contentLength AS contentLength, " +
+            "r.createdAt AS createdAt FROM PostRevision r " +
+            "WHERE r.id.postId = :postId ORDER BY r.id.revision DESC")
+    List<Summary> findSummaries(Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostRevision r WHERE r.id.postId = :postId")
+    void deleteByPostId(Long postId);
+
+    interface Summary {
+        Integer getRevision();
+        String getTitle();
+        Integer getContentLength();
+        LocalDateTime getCreatedAt();
+    }
+}
@@ -0,0 +1,19 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.PostSnapshot;
+
+import java.util.Optional;
+
+@Repository
+public interface PostSnapshotRepository extends JpaRepository<PostSnapshot, Long> {
+
+    Optional<PostSnapshot> findByShareToken(String shareToken);
+
+    @Modifying
+    @Query("DELETE FROM PostSnapshot s WHERE s.postId = :postId")
+    void deleteByPostId(Long postId);
+}
@@ -0,0 +1,18 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.PostTrafficSketch;
+
+import java.util.Optional;
+
+@Repository
+public interface PostTrafficSketchRepository extends JpaRepository<PostTrafficSketch, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PostTrafficSketch s WHERE s.postId = :postId")
+    Optional<PostTrafficSketch> findByPostIdForUpdate(Long postId);
+}
@@ -0,0 +1,29 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import syncqubits.ai.blog.pranuBlog.entity.TrendingScore;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, TrendingScore.Key> {
+
+    @Query("SELECT t FROM TrendingScore t WHERE t.id.nodeId <> :nodeId")
+    List<TrendingScore> findOtherNodes(String nodeId);
+
+    @Query("SELECT t FROM TrendingScore t WHERE t.id.nodeId = :nodeId")
+    List<TrendingScore> findByNode(String nodeId);
+
+    @Modifying
+    @Query("DELETE FROM TrendingScore t WHERE t.id.nodeId = :nodeId")
+    void deleteByNode(String nodeId);
+
+    // Rows of nodes that stopped checkpointing long enough ago to have decayed away
+    @Modifying
+    @Query("DELETE FROM TrendingScore t WHERE t.scoredAt < :before")
+    int deleteScoredBefore(LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package syncqubits.ai.blog.pranuBlog.repository;
+
+import syncqubits.ai.blog.pranuBlog.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Load a user by email through the natural-id API, so a user already in the persistence
+     * context is returned without another query.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,11 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.PostAnalyticsResponse;
+
+import java.time.LocalDateTime;
+
+public interface AnalyticsService {
+    PostAnalyticsResponse getPostAnalytics(Long authorId, Long postId, LocalDateTime from,
+                                           LocalDateTime to, String granularity);
+    void rollupEngagement();
+}
@@ -0,0 +1,8 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+public interface BotViewService {
+    void recordBotView(Long postId);
+    long getBotViews(Long postId);
+    void flush();
+    void deletePost(Long postId);
+}
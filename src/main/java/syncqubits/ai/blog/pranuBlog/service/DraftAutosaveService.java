@@ -0,0 +1,14 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.request.DraftAutosaveRequest;
+import syncqubits.ai.blog.pranuBlog.dto.response.DraftResponse;
+
+public interface DraftAutosaveService {
+    DraftResponse save(Long authorId, Long postId, DraftAutosaveRequest request);
+    DraftResponse getDraft(Long authorId, Long postId);
+
+    void flushDue();
+    void flush(Long postId);
+    void flushAll();
+    void discard(Long postId);
+}
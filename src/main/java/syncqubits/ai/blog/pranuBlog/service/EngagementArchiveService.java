@@ -0,0 +1,13 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.entity.ArchivedEngagement;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+
+import java.util.Optional;
+
+public interface EngagementArchiveService {
+    int archivePending();
+    Optional<ArchivedEngagement> find(Post post);
+    void rehydrate(Post post);
+    void deletePost(Long postId);
+}
@@ -0,0 +1,7 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import java.io.OutputStream;
+
+public interface PostExportService {
+    long exportPosts(Long authorId, boolean includeEngagement, OutputStream out);
+}
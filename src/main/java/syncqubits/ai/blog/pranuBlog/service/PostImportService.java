@@ -0,0 +1,11 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.ImportProgressResponse;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface PostImportService {
+    ImportProgressResponse importPosts(Long authorId, InputStream ndjson,
+                                       Consumer<ImportProgressResponse> progressListener);
+}
@@ -0,0 +1,17 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.PostRevisionResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.RevisionDiffResponse;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+
+import java.util.List;
+
+public interface PostRevisionService {
+    void recordInitial(Post post);
+    void recordUpdate(Post post, String previousTitle, String previousContent);
+    void deletePost(Long postId);
+
+    List<PostRevisionResponse> listRevisions(Long authorId, Long postId);
+    PostRevisionResponse getRevision(Long authorId, Long postId, int revision);
+    RevisionDiffResponse diff(Long authorId, Long postId, int from, int to);
+}
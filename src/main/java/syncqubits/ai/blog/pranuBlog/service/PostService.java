@@ -9,13 +9,21 @@ import syncqubits.ai.blog.pranuBlog.dto.response.CommentResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostDetailResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface PostService {
     PostResponse createPost(Long authorId, CreatePostRequest request);
     PostResponse updatePost(Long authorId, Long postId, UpdatePostRequest request);
+    PostResponse restoreRevision(Long authorId, Long postId, int revision);
     PostResponse publishPost(Long authorId, Long postId);
     PostResponse unpublishPost(Long authorId, Long postId);
+    PostResponse archivePost(Long authorId, Long postId);
+    PostResponse unarchivePost(Long authorId, Long postId);
+    PostResponse schedulePublish(Long authorId, Long postId, LocalDateTime publishAt);
+    PostResponse cancelScheduledPublish(Long authorId, Long postId);
+    ScheduledPublishResult publishScheduled(Collection<Long> postIds);
     void deletePost(Long authorId, Long postId);
 
     List<PostResponse> getMyPosts(Long authorId);
@@ -29,4 +37,11 @@ public interface PostService {
                             String guestIdentifier, HttpServletRequest request); // UPDATED - TOGGLE
     CommentResponse addComment(String shareToken, CommentRequest request, HttpServletRequest httpRequest);
     CommentResponse addReply(String shareToken, ReplyRequest request);
+
+    /**
+     * @param published ids published by this call
+     * @param busy      ids still due but locked by another transaction, to be tried again
+     */
+    record ScheduledPublishResult(List<Long> published, List<Long> busy) {
+    }
 }
\ No newline at end of file
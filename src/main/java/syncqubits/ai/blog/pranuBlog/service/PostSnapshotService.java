@@ -0,0 +1,15 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.PostSnapshot;
+
+public interface PostSnapshotService {
+    PostSnapshot getSnapshot(String shareToken);
+    void publish(Post post);
+    void remove(Post post);
+
+    /**
+     * Rewrite this node's static pages from the snapshot; a no-op without static snapshots.
+     */
+    void writeStatic(PostSnapshot snapshot);
+}
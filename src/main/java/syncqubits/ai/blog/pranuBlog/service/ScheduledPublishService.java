@@ -0,0 +1,13 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+
+import java.time.LocalDateTime;
+
+public interface ScheduledPublishService {
+    PostResponse schedule(Long authorId, Long postId, LocalDateTime publishAt);
+    PostResponse cancel(Long authorId, Long postId);
+
+    void publishDue();
+    void resync();
+}
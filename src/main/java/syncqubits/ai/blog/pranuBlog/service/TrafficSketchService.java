@@ -0,0 +1,10 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.TrafficBreakdownResponse;
+
+public interface TrafficSketchService {
+    void recordView(Long postId, String referrer, String country, String userAgent);
+    TrafficBreakdownResponse getBreakdown(Long authorId, Long postId, int limit);
+    void flush();
+    void deletePost(Long postId);
+}
@@ -0,0 +1,19 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+
+import java.util.List;
+
+public interface TrendingService {
+
+    enum EngagementType {
+        VIEW,
+        LIKE,
+        COMMENT
+    }
+
+    void recordEngagement(Long postId, EngagementType type);
+    void removePost(Long postId);
+    List<PostResponse> getTrendingPosts(int limit);
+    void checkpoint();
+}
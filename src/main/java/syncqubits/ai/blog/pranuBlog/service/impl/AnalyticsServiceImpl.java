@@ -0,0 +1,150 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostAnalyticsResponse;
+import syncqubits.ai.blog.pranuBlog.entity.EngagementRollup;
+import syncqubits.ai.blog.pranuBlog.entity.RollupWatermark;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.repository.EngagementRollupRepository;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.RollupWatermarkRepository;
+import syncqubits.ai.blog.pranuBlog.service.AnalyticsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final String ROLLUP_WATERMARK = "engagement-rollup";
+    private static final Duration HOURLY_MAX_RANGE = Duration.ofDays(3);
+    private static final int MAX_POINTS = 2000;
+
+    private final EngagementRollupRepository rollupRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final PostRepository postRepository;
+
+    // Events newer than this are left for the next run so slow transactions aren't missed
+    @Value("${app.rollup.safety-lag:60000}")
+    private long safetyLagMillis;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostAnalyticsResponse getPostAnalytics(Long authorId, Long postId, LocalDateTime from,
+                                                  LocalDateTime to, String granularity) {
+        log.info("Fetching analytics for post {} by author {} from {} to {}", postId, authorId, from, to);
+
+        Long ownerId = postRepository.findAuthorIdById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        if (!ownerId.equals(authorId)) {
+            throw new UnauthorizedException("You don't have permission to access this post");
+        }
+
+        if (to == null) {
+            to = LocalDateTime.now();
+        }
+        if (from == null) {
+            from = to.minusDays(30);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        EngagementRollup.Granularity resolved = resolveGranularity(granularity, from, to);
+        ChronoUnit unit = resolved == EngagementRollup.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime start = from.truncatedTo(unit);
+        LocalDateTime end = to.truncatedTo(unit);
+
+        if (unit.between(start, end) > MAX_POINTS) {
+            throw new IllegalArgumentException("Requested range is too large for " + resolved + " granularity");
+        }
+
+        Map<LocalDateTime, EngagementRollup> buckets = new HashMap<>();
+        for (EngagementRollup rollup : rollupRepository.findSeries(postId, resolved, start, end)) {
+            buckets.put(rollup.getId().getBucketStart(), rollup);
+        }
+
+        List<PostAnalyticsResponse.DataPoint> series = new ArrayList<>();
+        long totalViews = 0;
+        long totalLikes = 0;
+        long totalComments = 0;
+        for (LocalDateTime bucket = start; !bucket.isAfter(end); bucket = bucket.plus(1, unit)) {
+            EngagementRollup rollup = buckets.get(bucket);
+            long views = rollup != null ? rollup.getViews() : 0;
+            long likes = rollup != null ? rollup.getLikes() : 0;
+            long comments = rollup != null ? rollup.getComments() : 0;
+
+            totalViews += views;
+            totalLikes += likes;
+            totalComments += comments;
+            series.add(PostAnalyticsResponse.DataPoint.builder()
+                    .bucketStart(bucket)
+                    .views(views)
+                    .likes(likes)
+                    .comments(comments)
+                    .build());
+        }
+
+        return PostAnalyticsResponse.builder()
+                .postId(postId)
+                .granularity(resolved.name())
+                .from(start)
+                .to(end)
+                .totalViews(totalViews)
+                .totalLikes(totalLikes)
+                .totalComments(totalComments)
+                .series(series)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void rollupEngagement() {
+        // Row lock on the watermark serializes the job across nodes
+        RollupWatermark watermark = watermarkRepository.findByNameForUpdate(ROLLUP_WATERMARK)
+                .orElseGet(() -> watermarkRepository.saveAndFlush(RollupWatermark.builder()
+                        .name(ROLLUP_WATERMARK)
+                        .processedTo(LocalDateTime.of(1970, 1, 1, 0, 0))
+                        .build()));
+
+        LocalDateTime from = watermark.getProcessedTo();
+        LocalDateTime to = LocalDateTime.now().minus(Duration.ofMillis(safetyLagMillis));
+        if (!to.isAfter(from)) {
+            return;
+        }
+
+        int hourly = rollupRepository.rollupEvents(EngagementRollup.Granularity.HOUR.name(), "hour", from, to);
+        int daily = rollupRepository.rollupEvents(EngagementRollup.Granularity.DAY.name(), "day", from, to);
+        rollupRepository.advanceCursors(from, to);
+
+        watermark.setProcessedTo(to);
+        watermarkRepository.save(watermark);
+
+        log.debug("Engagement rollup ({}, {}]: {} hourly and {} daily buckets updated", from, to, hourly, daily);
+    }
+
+    private EngagementRollup.Granularity resolveGranularity(String granularity, LocalDateTime from, LocalDateTime to) {
+        if (granularity != null && !granularity.isBlank() && !"AUTO".equalsIgnoreCase(granularity)) {
+            try {
+                return EngagementRollup.Granularity.valueOf(granularity.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid granularity: " + granularity);
+            }
+        }
+        return Duration.between(from, to).compareTo(HOURLY_MAX_RANGE) <= 0
+                ? EngagementRollup.Granularity.HOUR
+                : EngagementRollup.Granularity.DAY;
+    }
+}
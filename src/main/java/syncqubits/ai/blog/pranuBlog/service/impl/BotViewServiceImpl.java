@@ -0,0 +1,90 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.entity.PostBotViews;
+import syncqubits.ai.blog.pranuBlog.repository.PostBotViewsRepository;
+import syncqubits.ai.blog.pranuBlog.service.BotViewService;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts bot/crawler views per post in memory and periodically adds them to post_bot_views,
+ * one upsert per touched post, so crawler traffic never writes to the posts table.
+ */
+@Service
+@Slf4j
+public class BotViewServiceImpl implements BotViewService {
+
+    private final PostBotViewsRepository botViewsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter botViewCounter;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public BotViewServiceImpl(PostBotViewsRepository botViewsRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.botViewsRepository = botViewsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.botViewCounter = Counter.builder("blog.views.bots")
+                .description("Views classified as bots/crawlers and kept out of engagement data")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordBotView(Long postId) {
+        pending.merge(postId, 1L, Long::sum);
+        botViewCounter.increment();
+    }
+
+    @Override
+    public long getBotViews(Long postId) {
+        long persisted = botViewsRepository.findById(postId)
+                .map(PostBotViews::getBotViews)
+                .orElse(0L);
+        return persisted + pending.getOrDefault(postId, 0L);
+    }
+
+    @Override
+    public void flush() {
+        int flushed = 0;
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            Long delta = pending.remove(postId);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> botViewsRepository.addBotViews(postId, delta));
+                flushed++;
+            } catch (Exception e) {
+                log.warn("Could not flush bot views for post {}: {}", postId, e.getMessage());
+                pending.merge(postId, delta, Long::sum);
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed bot view counts for {} posts", flushed);
+        }
+    }
+
+    @Override
+    public void deletePost(Long postId) {
+        pending.remove(postId);
+        botViewsRepository.deleteById(postId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error flushing bot view counts on shutdown: {}", e.getMessage());
+        }
+    }
+}
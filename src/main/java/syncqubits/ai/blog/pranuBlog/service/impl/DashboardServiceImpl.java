@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import syncqubits.ai.blog.pranuBlog.dto.response.DashboardResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PagedPostResponse;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
 import syncqubits.ai.blog.pranuBlog.entity.Post;
 import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
 import syncqubits.ai.blog.pranuBlog.service.DashboardService;
@@ -20,7 +21,6 @@ import syncqubits.ai.blog.pranuBlog.dto.nested.MetricsDTO;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -59,15 +59,15 @@ public class DashboardServiceImpl implements DashboardService {
                 .count();
 
         int totalViews = allPosts.stream()
-                .mapToInt(p -> getMetricValue(p.getMetrics(), "views"))
+                .mapToInt(p -> p.getMetrics().views())
                 .sum();
 
         int totalLikes = allPosts.stream()
-                .mapToInt(p -> getMetricValue(p.getMetrics(), "likes"))
+                .mapToInt(p -> p.getMetrics().likes())
                 .sum();
 
         int totalComments = allPosts.stream()
-                .mapToInt(p -> getMetricValue(p.getMetrics(), "comments"))
+                .mapToInt(p -> p.getMetrics().comments())
                 .sum();
 
         int totalFavorites = allPosts.stream()
@@ -102,7 +102,7 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
-    private List<Post> applyFilters(
+    static List<Post> applyFilters(
             List<Post> posts,
             String search,
             String status,
@@ -158,7 +158,7 @@ public class DashboardServiceImpl implements DashboardService {
                 .collect(Collectors.toList());
     }
 
-    private List<Post> applySorting(List<Post> posts, String sortBy) {
+    static List<Post> applySorting(List<Post> posts, String sortBy) {
         if (sortBy == null || sortBy.trim().isEmpty()) {
             sortBy = "RECENT";
         }
@@ -167,19 +167,19 @@ public class DashboardServiceImpl implements DashboardService {
             case "TOP_VIEWS":
                 return posts.stream()
                         .sorted(Comparator.comparingInt(p ->
-                                -getMetricValue(p.getMetrics(), "views")))
+                                -p.getMetrics().views()))
                         .collect(Collectors.toList());
 
             case "TOP_LIKES":
                 return posts.stream()
                         .sorted(Comparator.comparingInt(p ->
-                                -getMetricValue(p.getMetrics(), "likes")))
+                                -p.getMetrics().likes()))
                         .collect(Collectors.toList());
 
             case "TOP_COMMENTS":
                 return posts.stream()
                         .sorted(Comparator.comparingInt(p ->
-                                -getMetricValue(p.getMetrics(), "comments")))
+                                -p.getMetrics().comments()))
                         .collect(Collectors.toList());
 
             case "RECENT":
@@ -241,25 +241,11 @@ public class DashboardServiceImpl implements DashboardService {
         return response;
     }
 
-    private MetricsDTO extractMetrics(Map<String, Object> metricsMap) {
+    private MetricsDTO extractMetrics(MetricsDocument metrics) {
         return MetricsDTO.builder()
-                .views(getMetricValue(metricsMap, "views"))
-                .likes(getMetricValue(metricsMap, "likes"))
-                .comments(getMetricValue(metricsMap, "comments"))
+                .views(metrics.views())
+                .likes(metrics.likes())
+                .comments(metrics.comments())
                 .build();
     }
-
-    private int getMetricValue(Map<String, Object> metricsMap, String key) {
-        if (metricsMap == null || !metricsMap.containsKey(key)) {
-            return 0;
-        }
-        Object value = metricsMap.get(key);
-        if (value instanceof Integer) {
-            return (Integer) value;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        return 0;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,413 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.dto.nested.TextEditDTO;
+import syncqubits.ai.blog.pranuBlog.dto.request.DraftAutosaveRequest;
+import syncqubits.ai.blog.pranuBlog.dto.response.DraftResponse;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.exception.DraftConflictException;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.service.DraftAutosaveService;
+import syncqubits.ai.blog.pranuBlog.service.PostRevisionService;
+import syncqubits.ai.blog.pranuBlog.util.LostUpdateRetry;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Debounced draft autosave.
+ *
+ * Saves are applied to an in-memory draft per post and answered without touching the database
+ * (only the first save after a write reads the post). A draft is written to the post once no
+ * save has arrived for the debounce window, or once it has been pending for the maximum wait,
+ * so continuous typing still reaches the database. Only title and content change, so the write
+ * is a two-column update that also records a revision.
+ *
+ * Only unpublished posts are autosaved: a published post's content is live, so it changes
+ * through an explicit update. Pending drafts are written before the post is updated or published
+ * through PostService, and on shutdown; a draft whose post was published meanwhile is dropped.
+ *
+ * Two striped locks: the draft lock only covers applying a save to the in-memory draft, so saves
+ * never wait on the database. The write lock serializes writes of the same post, so an older
+ * draft never lands after a newer one. A draft stays pending while it is written and is only
+ * removed if no newer save replaced it meanwhile.
+ */
+@Service
+@Slf4j
+public class DraftAutosaveServiceImpl implements DraftAutosaveService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final int LOCK_STRIPES = 64;
+    // Same bound as the content of UpdatePostRequest, checked here for content built from edits
+    private static final int MIN_CONTENT_LENGTH = 10;
+
+    private final PostRepository postRepository;
+    private final PostRevisionService postRevisionService;
+    private final LostUpdateRetry lostUpdateRetry;
+    private final TransactionTemplate transactionTemplate;
+    private final long debounceMillis;
+    private final long maxWaitMillis;
+    private final int maxPending;
+
+    private final ConcurrentHashMap<Long, PendingDraft> pending = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+
+    private final Counter saveCounter;
+    private final Counter coalescedCounter;
+    private final Map<FlushReason, Counter> writeCounters = new EnumMap<>(FlushReason.class);
+
+    public DraftAutosaveServiceImpl(
+            PostRepository postRepository,
+            PostRevisionService postRevisionService,
+            LostUpdateRetry lostUpdateRetry,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.autosave.debounce:10000}") long debounceMillis,
+            @Value("${app.autosave.max-wait:60000}") long maxWaitMillis,
+            @Value("${app.autosave.max-pending:10000}") int maxPending) {
+        this.postRepository = postRepository;
+        this.postRevisionService = postRevisionService;
+        this.lostUpdateRetry = lostUpdateRetry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.debounceMillis = debounceMillis;
+        this.maxWaitMillis = Math.max(debounceMillis, maxWaitMillis);
+        this.maxPending = maxPending;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+            writeLocks[i] = new ReentrantLock();
+        }
+
+        this.saveCounter = Counter.builder("blog.autosave.saves")
+                .description("Draft autosaves received")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("blog.autosave.coalesced")
+                .description("Draft autosaves merged into a later write instead of writing the post")
+                .register(meterRegistry);
+        for (FlushReason reason : FlushReason.values()) {
+            writeCounters.put(reason, Counter.builder("blog.autosave.writes")
+                    .description("Autosaved drafts written to the post")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("blog.autosave.pending", pending, Map::size)
+                .description("Autosaved drafts held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DraftResponse save(Long authorId, Long postId, DraftAutosaveRequest request) {
+        boolean hasEdits = request.getEdits() != null && !request.getEdits().isEmpty();
+        if (request.getContent() != null && hasEdits) {
+            throw new IllegalArgumentException("Send either content or edits, not both");
+        }
+        if (request.getTitle() == null && request.getContent() == null && !hasEdits) {
+            throw new IllegalArgumentException("Nothing to save");
+        }
+        if (hasEdits && request.getBaseLength() == null) {
+            throw new IllegalArgumentException("baseLength is required with edits");
+        }
+
+        long now = System.currentTimeMillis();
+        saveCounter.increment();
+
+        PendingDraft next;
+        boolean overflow;
+        Post post = null;
+        while (true) {
+            synchronized (lockFor(postId)) {
+                PendingDraft current = pending.get(postId);
+                if (current != null) {
+                    if (!current.authorId().equals(authorId)) {
+                        throw new UnauthorizedException("You don't have permission to access this post");
+                    }
+                    next = new PendingDraft(authorId,
+                            request.getTitle() != null ? request.getTitle() : current.title(),
+                            applyContent(current.content(), request), current.firstSavedAt(), now, current.saves() + 1);
+                } else if (post != null) {
+                    next = new PendingDraft(authorId,
+                            request.getTitle() != null ? request.getTitle() : post.getTitle(),
+                            applyContent(post.getContent(), request), now, now, 1);
+                } else {
+                    next = null;
+                }
+                if (next != null) {
+                    overflow = current == null && pending.size() >= maxPending;
+                    pending.put(postId, next);
+                    break;
+                }
+            }
+            // No draft yet: read the post outside the lock, then apply the save to it
+            post = getPostByIdAndAuthor(postId, authorId);
+            if (post.getStatus() == Post.PostStatus.PUBLISHED) {
+                throw new IllegalArgumentException("Published posts are not autosaved; save changes with an update");
+            }
+        }
+
+        if (overflow) {
+            // Too many drafts in memory: write this one straight through
+            ReentrantLock writeLock = writeLockFor(postId);
+            writeLock.lock();
+            try {
+                write(postId, next, FlushReason.OVERFLOW);
+                pending.remove(postId, next);
+            } catch (RuntimeException e) {
+                // Still pending; the scheduled flush retries it
+                log.warn("Could not write autosaved draft of post {}: {}", postId, e.getMessage());
+            } finally {
+                writeLock.unlock();
+            }
+            return toResponse(postId, next, pending.containsKey(postId), false);
+        }
+        return toResponse(postId, next, true, false);
+    }
+
+    @Override
+    public DraftResponse getDraft(Long authorId, Long postId) {
+        PendingDraft draft = pending.get(postId);
+        if (draft != null && draft.authorId().equals(authorId)) {
+            return toResponse(postId, draft, true, true);
+        }
+
+        Post post = getPostByIdAndAuthor(postId, authorId);
+        return DraftResponse.builder()
+                .postId(postId)
+                .title(post.getTitle())
+                .content(post.getContent())
+                .contentLength(post.getContent().length())
+                .pending(false)
+                .lastSavedAt(post.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        int written = 0;
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            ReentrantLock writeLock = writeLockFor(postId);
+            // Being written by a flush, or a slow write of another post on the stripe: next tick
+            if (!writeLock.tryLock()) {
+                continue;
+            }
+            try {
+                PendingDraft draft = pending.get(postId);
+                if (draft == null) {
+                    continue;
+                }
+                FlushReason reason = now - draft.lastSavedAt() >= debounceMillis ? FlushReason.DEBOUNCE
+                        : now - draft.firstSavedAt() >= maxWaitMillis ? FlushReason.MAX_WAIT
+                        : null;
+                if (reason == null) {
+                    continue;
+                }
+                try {
+                    write(postId, draft, reason);
+                    // Kept if a newer save replaced it while it was written
+                    pending.remove(postId, draft);
+                    written++;
+                } catch (Exception e) {
+                    log.warn("Could not write autosaved draft of post {}: {}", postId, e.getMessage());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        if (written > 0) {
+            log.debug("Wrote {} autosaved drafts", written);
+        }
+    }
+
+    /**
+     * Write a post's pending draft now. Joins the caller's transaction, and puts the draft back if
+     * that transaction rolls back.
+     */
+    @Override
+    public void flush(Long postId) {
+        ReentrantLock writeLock = writeLockFor(postId);
+        writeLock.lock();
+        try {
+            PendingDraft draft = pending.remove(postId);
+            if (draft == null) {
+                return;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            pending.putIfAbsent(postId, draft);
+                        }
+                    }
+                });
+            }
+            try {
+                write(postId, draft, FlushReason.EXPLICIT);
+            } catch (RuntimeException e) {
+                pending.putIfAbsent(postId, draft);
+                throw e;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            ReentrantLock writeLock = writeLockFor(postId);
+            writeLock.lock();
+            try {
+                PendingDraft draft = pending.remove(postId);
+                if (draft == null) {
+                    continue;
+                }
+                write(postId, draft, FlushReason.SHUTDOWN);
+            } catch (Exception e) {
+                log.error("Could not write autosaved draft of post {}: {}", postId, e.getMessage());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void discard(Long postId) {
+        pending.remove(postId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flushAll();
+        } catch (Exception e) {
+            log.error("Error writing autosaved drafts on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void write(Long postId, PendingDraft draft, FlushReason reason) {
+        // Inside a caller's transaction a lost update has to fail that transaction; on our own, retry it
+        boolean written = TransactionSynchronizationManager.isActualTransactionActive()
+                ? writeDraft(postId, draft)
+                : lostUpdateRetry.run("autosave", () -> writeDraft(postId, draft));
+
+        if (written) {
+            writeCounters.get(reason).increment();
+        }
+        coalescedCounter.increment(written ? draft.saves() - 1 : draft.saves());
+    }
+
+    private boolean writeDraft(Long postId, PendingDraft draft) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Post post = postRepository.findById(postId).orElse(null);
+            if (post == null) {
+                return false;
+            }
+            if (post.getStatus() == Post.PostStatus.PUBLISHED) {
+                // Published elsewhere without this node's draft; its content is live now
+                log.warn("Dropping autosaved draft of post {}: the post has been published", postId);
+                return false;
+            }
+            String previousTitle = post.getTitle();
+            String previousContent = post.getContent();
+            if (Objects.equals(previousTitle, draft.title()) && Objects.equals(previousContent, draft.content())) {
+                return false;
+            }
+
+            post.setTitle(draft.title());
+            post.setContent(draft.content());
+            post = postRepository.saveAndFlush(post);
+            postRevisionService.recordUpdate(post, previousTitle, previousContent);
+            return true;
+        }));
+    }
+
+    private static String applyContent(String content, DraftAutosaveRequest request) {
+        if (request.getContent() != null) {
+            return request.getContent();
+        }
+        if (request.getEdits() == null || request.getEdits().isEmpty()) {
+            return content;
+        }
+        if (request.getBaseLength() != content.length()) {
+            throw new DraftConflictException("Draft content has changed (length " + content.length()
+                    + ", edits made against " + request.getBaseLength() + "); reload the draft or send the full content");
+        }
+
+        StringBuilder result = new StringBuilder(content);
+        for (TextEditDTO edit : request.getEdits()) {
+            if (edit.getStart() > edit.getEnd() || edit.getEnd() > result.length()) {
+                throw new IllegalArgumentException("Edit [" + edit.getStart() + ", " + edit.getEnd()
+                        + ") is outside the content (length " + result.length() + ")");
+            }
+            result.replace(edit.getStart(), edit.getEnd(), edit.getText() == null ? "" : edit.getText());
+        }
+        if (result.length() < MIN_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Content must be at least " + MIN_CONTENT_LENGTH + " characters");
+        }
+        return result.toString();
+    }
+
+    private Post getPostByIdAndAuthor(Long postId, Long authorId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+
+        if (!post.getAuthor().getId().equals(authorId)) {
+            throw new UnauthorizedException("You don't have permission to access this post");
+        }
+
+        return post;
+    }
+
+    private Object lockFor(Long postId) {
+        return locks[Math.floorMod(postId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private ReentrantLock writeLockFor(Long postId) {
+        return writeLocks[Math.floorMod(postId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static DraftResponse toResponse(Long postId, PendingDraft draft, boolean pending, boolean withContent) {
+        return DraftResponse.builder()
+                .postId(postId)
+                .title(draft.title())
+                .content(withContent ? draft.content() : null)
+                .contentLength(draft.content().length())
+                .pending(pending)
+                .coalescedSaves(draft.saves())
+                .lastSavedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(draft.lastSavedAt()), ZONE))
+                .build();
+    }
+
+    private enum FlushReason {
+        DEBOUNCE,
+        MAX_WAIT,
+        EXPLICIT,
+        SHUTDOWN,
+        OVERFLOW
+    }
+
+    private record PendingDraft(Long authorId, String title, String content,
+                                long firstSavedAt, long lastSavedAt, int saves) {
+    }
+}
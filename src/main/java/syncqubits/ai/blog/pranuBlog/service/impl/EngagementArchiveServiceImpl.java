@@ -0,0 +1,199 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.entity.ArchivedEngagement;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.PostEngagementArchive;
+import syncqubits.ai.blog.pranuBlog.repository.PostEngagementArchiveRepository;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.service.EngagementArchiveService;
+import syncqubits.ai.blog.pranuBlog.util.LostUpdateRetry;
+import syncqubits.ai.blog.pranuBlog.util.SnapshotEncoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Cold storage for the engagement of ARCHIVED posts.
+ *
+ * A background job moves the views, likes and comments documents of posts archived longer than
+ * {@code min-age} into post_engagement_archives as gzipped JSON, leaving documents with only
+ * their counts in the post row. The delay lets the engagement rollup read the entries first.
+ * Each run archives at most {@code batch-size} posts and stops once {@code max-bytes-per-run}
+ * of raw JSON has moved, so the job's database load stays bounded.
+ *
+ * Reads of an archived post's engagement decode the cold copy; moving the post out of ARCHIVED
+ * writes it back into the post row.
+ */
+@Service
+@Slf4j
+public class EngagementArchiveServiceImpl implements EngagementArchiveService {
+
+    private final PostRepository postRepository;
+    private final PostEngagementArchiveRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+    private final LostUpdateRetry lostUpdateRetry;
+    private final TransactionTemplate transactionTemplate;
+    private final long minAgeMillis;
+    private final int batchSize;
+    private final long maxBytesPerRun;
+
+    private final Counter archivedCounter;
+    private final Counter rawBytesCounter;
+    private final Counter compressedBytesCounter;
+    private final Counter readCounter;
+    private final Counter restoredCounter;
+
+    public EngagementArchiveServiceImpl(
+            PostRepository postRepository,
+            PostEngagementArchiveRepository archiveRepository,
+            ObjectMapper objectMapper,
+            LostUpdateRetry lostUpdateRetry,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.archival.min-age:86400000}") long minAgeMillis,
+            @Value("${app.archival.batch-size:50}") int batchSize,
+            @Value("${app.archival.max-bytes-per-run:67108864}") long maxBytesPerRun) {
+        this.postRepository = postRepository;
+        this.archiveRepository = archiveRepository;
+        this.objectMapper = objectMapper;
+        this.lostUpdateRetry = lostUpdateRetry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAgeMillis = minAgeMillis;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBytesPerRun = maxBytesPerRun;
+
+        this.archivedCounter = Counter.builder("blog.archival.posts")
+                .description("Archived posts whose engagement was moved to cold storage")
+                .register(meterRegistry);
+        this.rawBytesCounter = Counter.builder("blog.archival.bytes")
+                .description("Engagement JSON moved to cold storage, before compression")
+                .tag("form", "raw")
+                .register(meterRegistry);
+        this.compressedBytesCounter = Counter.builder("blog.archival.bytes")
+                .description("Engagement JSON moved to cold storage, after compression")
+                .tag("form", "compressed")
+                .register(meterRegistry);
+        this.readCounter = Counter.builder("blog.archival.rehydrations")
+                .description("Cold engagement decoded for a read or restored to the post row")
+                .tag("mode", "read")
+                .register(meterRegistry);
+        this.restoredCounter = Counter.builder("blog.archival.rehydrations")
+                .description("Cold engagement decoded for a read or restored to the post row")
+                .tag("mode", "restore")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int archivePending() {
+        LocalDateTime before = LocalDateTime.now().minus(Duration.ofMillis(minAgeMillis));
+        List<Long> candidates = postRepository.findArchivalCandidates(
+                Post.PostStatus.ARCHIVED, before, PageRequest.of(0, batchSize));
+
+        int archived = 0;
+        long movedBytes = 0;
+        for (Long postId : candidates) {
+            if (movedBytes >= maxBytesPerRun) {
+                break;
+            }
+            try {
+                Integer rawBytes = lostUpdateRetry.run("archive",
+                        () -> transactionTemplate.execute(status -> archive(postId)));
+                if (rawBytes != null) {
+                    archived++;
+                    movedBytes += rawBytes;
+                }
+            } catch (Exception e) {
+                log.warn("Could not archive engagement of post {}: {}", postId, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * @return raw size of the archived JSON, or null if the post no longer qualifies
+     */
+    private Integer archive(Long postId) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null || post.getStatus() != Post.PostStatus.ARCHIVED || archiveRepository.existsById(postId)) {
+            return null;
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ArchivedEngagement.of(post));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize engagement of post " + postId, e);
+        }
+        byte[] gzip = SnapshotEncoding.gzip(json);
+
+        archiveRepository.save(PostEngagementArchive.builder()
+                .postId(postId)
+                .data(gzip)
+                .rawBytes(json.length)
+                .archivedAt(LocalDateTime.now())
+                .build());
+        ArchivedEngagement.stripEntries(post);
+        postRepository.save(post);
+
+        archivedCounter.increment();
+        rawBytesCounter.increment(json.length);
+        compressedBytesCounter.increment(gzip.length);
+        log.debug("Archived engagement of post {}: {} bytes, {} compressed", postId, json.length, gzip.length);
+        return json.length;
+    }
+
+    @Override
+    public Optional<ArchivedEngagement> find(Post post) {
+        if (post.getStatus() != Post.PostStatus.ARCHIVED) {
+            return Optional.empty();
+        }
+        Optional<ArchivedEngagement> engagement = archiveRepository.findById(post.getId()).map(this::decode);
+        engagement.ifPresent(e -> readCounter.increment());
+        return engagement;
+    }
+
+    /**
+     * Move the cold copy back into the post row; runs in the caller's transaction.
+     */
+    @Override
+    public void rehydrate(Post post) {
+        archiveRepository.findById(post.getId()).ifPresent(archive -> {
+            ArchivedEngagement engagement = decode(archive);
+            post.setViews(engagement.views());
+            post.setLikes(engagement.likes());
+            post.setComments(engagement.comments());
+            archiveRepository.delete(archive);
+            restoredCounter.increment();
+            log.info("Restored archived engagement of post {}", post.getId());
+        });
+    }
+
+    @Override
+    public void deletePost(Long postId) {
+        archiveRepository.deleteByPostId(postId);
+    }
+
+    private ArchivedEngagement decode(PostEngagementArchive archive) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(archive.getData()))) {
+            return objectMapper.readValue(in, ArchivedEngagement.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived engagement of post " + archive.getPostId(), e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostExportRecord;
+import syncqubits.ai.blog.pranuBlog.entity.ArchivedEngagement;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.service.EngagementArchiveService;
+import syncqubits.ai.blog.pranuBlog.service.PostExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Streams an author's posts as NDJSON straight from a server-side cursor.
+ *
+ * Rows are fetched in fixed-size batches, written one line at a time and detached
+ * immediately, so memory use doesn't grow with the number of posts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostExportServiceImpl implements PostExportService {
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final EngagementArchiveService engagementArchiveService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPosts(Long authorId, boolean includeEngagement, OutputStream out) {
+        log.info("Exporting posts for author: {} (engagement: {})", authorId, includeEngagement);
+
+        long exported = 0;
+        try (Stream<Post> posts = postRepository.streamByAuthorId(authorId);
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                writer.write(toExportRecord(post, includeEngagement));
+                entityManager.detach(post);
+                exported++;
+            }
+            writer.flush();
+            if (exported > 0) {
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export stream", e);
+        }
+
+        log.info("Exported {} posts for author: {}", exported, authorId);
+        return exported;
+    }
+
+    private PostExportRecord toExportRecord(Post post, boolean includeEngagement) {
+        PostExportRecord.PostExportRecordBuilder builder = PostExportRecord.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .slug(post.getSlug())
+                .shareToken(post.getShareToken())
+                .content(post.getContent())
+                .excerpt(post.getExcerpt())
+                .coverImageUrl(post.getCoverImageUrl())
+                .status(post.getStatus().name())
+                .isPublic(post.getIsPublic())
+                .allowComments(post.getAllowComments())
+                .metrics(post.getMetrics())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt());
+
+        if (includeEngagement) {
+            Optional<ArchivedEngagement> archived = engagementArchiveService.find(post);
+            if (archived.isPresent()) {
+                builder.views(archived.get().views())
+                        .likes(archived.get().likes())
+                        .comments(archived.get().comments());
+            } else {
+                builder.views(post.getViews())
+                        .likes(post.getLikes())
+                        .comments(post.getComments());
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,257 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.dto.request.ImportPostRequest;
+import syncqubits.ai.blog.pranuBlog.dto.response.ImportProgressResponse;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.mapper.PostMapper;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.UserRepository;
+import syncqubits.ai.blog.pranuBlog.service.PostImportService;
+import syncqubits.ai.blog.pranuBlog.util.EngagementDefaults;
+import syncqubits.ai.blog.pranuBlog.util.TokenGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON upload of posts into the database in chunks.
+ *
+ * Each chunk is its own transaction: posts get pooled sequence ids, are inserted through
+ * JDBC batching (rewritten into multi-row inserts by the driver), then the persistence
+ * context is cleared so memory stays flat regardless of upload size.
+ *
+ * Chunks committed before a failure stay committed. The import then ends with a FAILED line
+ * instead of a DONE line, so the client can tell a partial import from a complete one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostImportServiceImpl implements PostImportService {
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final PostMapper postMapper;
+    private final TokenGenerator tokenGenerator;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-errors:100}")
+    private int maxErrors;
+
+    @Override
+    public ImportProgressResponse importPosts(Long authorId, InputStream ndjson,
+                                              Consumer<ImportProgressResponse> progressListener) {
+        log.info("Starting bulk import for author: {}", authorId);
+
+        if (!userRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author not found");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ImportState state = new ImportState(System.currentTimeMillis());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            readChunks(authorId, reader, transactionTemplate, state, progressListener);
+        } catch (IOException | RuntimeException e) {
+            log.error("Bulk import for author {} failed after line {} ({} posts committed)",
+                    authorId, state.linesRead, state.imported, e);
+            ImportProgressResponse failed = state.snapshot("FAILED");
+            failed.setFailure(e instanceof IOException || e instanceof UncheckedIOException
+                    ? "Failed to read import stream"
+                    : "Import aborted by a server error");
+            return failed;
+        }
+
+        ImportProgressResponse result = state.snapshot("DONE");
+        log.info("Bulk import for author {} finished: {} imported, {} skipped in {} ms",
+                authorId, result.getImported(), result.getSkipped(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void readChunks(Long authorId, BufferedReader reader, TransactionTemplate transactionTemplate,
+                            ImportState state, Consumer<ImportProgressResponse> progressListener)
+            throws IOException {
+        Set<String> seenSlugs = new HashSet<>();
+        List<ParsedLine> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            state.linesRead++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            ImportPostRequest request = parseLine(line, state);
+            if (request == null) {
+                continue;
+            }
+            if (request.getSlug() != null && !seenSlugs.add(request.getSlug())) {
+                state.skip(state.linesRead, "Duplicate slug in upload: " + request.getSlug(), maxErrors);
+                continue;
+            }
+
+            chunk.add(new ParsedLine(state.linesRead, request));
+            if (chunk.size() >= chunkSize) {
+                commitChunk(authorId, chunk, transactionTemplate, state);
+                chunk.clear();
+                progressListener.accept(state.snapshot("PROGRESS"));
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            commitChunk(authorId, chunk, transactionTemplate, state);
+        }
+    }
+
+    // Counted only once the transaction has committed, so a FAILED line reports durable rows
+    private void commitChunk(Long authorId, List<ParsedLine> chunk, TransactionTemplate transactionTemplate,
+                             ImportState state) {
+        Integer written = transactionTemplate.execute(tx -> writeChunk(authorId, chunk, state));
+        state.imported += written != null ? written : 0;
+    }
+
+    private ImportPostRequest parseLine(String line, ImportState state) {
+        ImportPostRequest request;
+        try {
+            request = objectMapper.readValue(line, ImportPostRequest.class);
+        } catch (JsonProcessingException e) {
+            state.skip(state.linesRead, "Invalid JSON: " + e.getOriginalMessage(), maxErrors);
+            return null;
+        }
+
+        Set<ConstraintViolation<ImportPostRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; "));
+            state.skip(state.linesRead, message, maxErrors);
+            return null;
+        }
+        return request;
+    }
+
+    private int writeChunk(Long authorId, List<ParsedLine> chunk, ImportState state) {
+        // Imported posts would only churn the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        Set<String> slugs = chunk.stream()
+                .map(p -> p.request.getSlug())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingSlugs = slugs.isEmpty()
+                ? Set.of()
+                : new HashSet<>(postRepository.findExistingSlugs(slugs));
+
+        User author = userRepository.getReferenceById(authorId);
+        List<Post> posts = new ArrayList<>(chunk.size());
+
+        for (ParsedLine parsed : chunk) {
+            ImportPostRequest request = parsed.request;
+            if (request.getSlug() != null && existingSlugs.contains(request.getSlug())) {
+                state.skip(parsed.lineNumber, "Slug already exists: " + request.getSlug(), maxErrors);
+                continue;
+            }
+            posts.add(toPost(request, author));
+        }
+
+        postRepository.saveAll(posts);
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("Imported chunk of {} posts for author {}", posts.size(), authorId);
+        return posts.size();
+    }
+
+    private Post toPost(ImportPostRequest request, User author) {
+        Post post = postMapper.toEntity(request);
+        post.setAuthor(author);
+        if (post.getAllowComments() == null) {
+            post.setAllowComments(true);
+        }
+
+        if ("PUBLISHED".equalsIgnoreCase(request.getStatus())) {
+            post.setStatus(Post.PostStatus.PUBLISHED);
+            post.setIsPublic(true);
+            post.setShareToken(tokenGenerator.generateShareToken());
+        }
+
+        post.setViews(EngagementDefaults.views());
+        post.setLikes(EngagementDefaults.likes());
+        post.setFavorites(EngagementDefaults.favorites());
+        post.setComments(EngagementDefaults.comments());
+        post.setMetrics(EngagementDefaults.metrics());
+        return post;
+    }
+
+    private static final class ParsedLine {
+        private final long lineNumber;
+        private final ImportPostRequest request;
+
+        private ParsedLine(long lineNumber, ImportPostRequest request) {
+            this.lineNumber = lineNumber;
+            this.request = request;
+        }
+    }
+
+    private static final class ImportState {
+        private final long startedAt;
+        private final List<ImportProgressResponse.ImportError> errors = new ArrayList<>();
+        private long linesRead;
+        private long imported;
+        private long skipped;
+
+        private ImportState(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void skip(long line, String message, int maxErrors) {
+            skipped++;
+            if (errors.size() < maxErrors) {
+                errors.add(ImportProgressResponse.ImportError.builder()
+                        .line(line)
+                        .message(message)
+                        .build());
+            }
+        }
+
+        private ImportProgressResponse snapshot(String phase) {
+            return ImportProgressResponse.builder()
+                    .phase(phase)
+                    .linesRead(linesRead)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .elapsedMillis(System.currentTimeMillis() - startedAt)
+                    .errors(new ArrayList<>(errors))
+                    .build();
+        }
+    }
+}
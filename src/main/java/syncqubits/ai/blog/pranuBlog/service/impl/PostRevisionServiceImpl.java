@@ -0,0 +1,216 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostRevisionResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.RevisionDiffResponse;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.PostRevision;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.PostRevisionRepository;
+import syncqubits.ai.blog.pranuBlog.service.PostRevisionService;
+import syncqubits.ai.blog.pranuBlog.util.LineDiff;
+import syncqubits.ai.blog.pranuBlog.util.TextDelta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Post revision history, stored as compressed line deltas with periodic keyframes.
+ *
+ * Each update is diffed against the content it replaces and stored as a delta on the previous
+ * revision. A full keyframe is written every {@code keyframe-interval} revisions, or sooner when
+ * the delta would not be smaller than the compressed content, so rebuilding any revision applies
+ * at most {@code keyframe-interval - 1} deltas. Posts created before revisions existed get their
+ * pre-edit content as revision 1 on their first update.
+ */
+@Service
+@Slf4j
+public class PostRevisionServiceImpl implements PostRevisionService {
+
+    private static final int DIFF_CONTEXT_LINES = 3;
+
+    private final PostRevisionRepository revisionRepository;
+    private final PostRepository postRepository;
+    private final int keyframeInterval;
+    private final int maxDiffEdits;
+
+    public PostRevisionServiceImpl(
+            PostRevisionRepository revisionRepository,
+            PostRepository postRepository,
+            @Value("${app.revisions.keyframe-interval:20}") int keyframeInterval,
+            @Value("${app.revisions.max-diff-edits:2000}") int maxDiffEdits) {
+        this.revisionRepository = revisionRepository;
+        this.postRepository = postRepository;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.maxDiffEdits = Math.max(1, maxDiffEdits);
+    }
+
+    @Override
+    @Transactional
+    public void recordInitial(Post post) {
+        // The post's own @CreationTimestamp is only filled in when its insert is flushed
+        revisionRepository.save(keyframe(post.getId(), 1, post.getTitle(), post.getContent(), LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional
+    public void recordUpdate(Post post, String previousTitle, String previousContent) {
+        if (Objects.equals(previousTitle, post.getTitle()) && Objects.equals(previousContent, post.getContent())) {
+            return;
+        }
+
+        PostRevision latest = revisionRepository.findTopByIdPostIdOrderByIdRevisionDesc(post.getId())
+                .orElse(null);
+        if (latest == null) {
+            // First edit of a post that predates revisions: keep what it replaces as revision 1
+            latest = revisionRepository.save(keyframe(post.getId(), 1, previousTitle, previousContent,
+                    Objects.requireNonNullElseGet(post.getCreatedAt(), LocalDateTime::now)));
+        }
+
+        int revision = latest.getId().getRevision() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        PostRevision record;
+        if (revision - latest.getKeyframeRevision() >= keyframeInterval) {
+            record = keyframe(post.getId(), revision, post.getTitle(), post.getContent(), now);
+        } else {
+            String[] base = LineDiff.lines(previousContent);
+            String[] target = LineDiff.lines(post.getContent());
+            byte[] delta = TextDelta.encode(base, target, LineDiff.diff(base, target, maxDiffEdits));
+            byte[] full = TextDelta.compress(post.getContent());
+            record = delta.length < full.length
+                    ? revision(post.getId(), revision, latest.getKeyframeRevision(), post.getTitle(),
+                            delta, post.getContent().length(), now)
+                    : revision(post.getId(), revision, revision, post.getTitle(),
+                            full, post.getContent().length(), now);
+        }
+        revisionRepository.save(record);
+
+        log.debug("Recorded revision {} of post {} ({} bytes, keyframe: {})",
+                revision, post.getId(), record.getData().length, record.isKeyframe());
+    }
+
+    @Override
+    @Transactional
+    public void deletePost(Long postId) {
+        revisionRepository.deleteByPostId(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostRevisionResponse> listRevisions(Long authorId, Long postId) {
+        checkAuthor(postId, authorId);
+
+        return revisionRepository.findSummaries(postId).stream()
+                .map(summary -> PostRevisionResponse.builder()
+                        .postId(postId)
+                        .revision(summary.getRevision())
+                        .title(summary.getTitle())
+                        .contentLength(summary.getContentLength())
+                        .createdAt(summary.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostRevisionResponse getRevision(Long authorId, Long postId, int revision) {
+        checkAuthor(postId, authorId);
+
+        PostRevision target = findRevision(postId, revision);
+        return PostRevisionResponse.builder()
+                .postId(postId)
+                .revision(revision)
+                .title(target.getTitle())
+                .content(rebuild(target))
+                .contentLength(target.getContentLength())
+                .createdAt(target.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RevisionDiffResponse diff(Long authorId, Long postId, int from, int to) {
+        checkAuthor(postId, authorId);
+
+        PostRevision fromRevision = findRevision(postId, from);
+        PostRevision toRevision = findRevision(postId, to);
+        String[] a = LineDiff.lines(rebuild(fromRevision));
+        String[] b = LineDiff.lines(rebuild(toRevision));
+        List<LineDiff.Change> changes = LineDiff.diff(a, b, maxDiffEdits);
+
+        int added = 0;
+        int removed = 0;
+        for (LineDiff.Change change : changes) {
+            added += change.newEnd() - change.newStart();
+            removed += change.oldEnd() - change.oldStart();
+        }
+
+        return RevisionDiffResponse.builder()
+                .postId(postId)
+                .from(from)
+                .to(to)
+                .titleChanged(!fromRevision.getTitle().equals(toRevision.getTitle()))
+                .linesAdded(added)
+                .linesRemoved(removed)
+                .diff(LineDiff.unified(a, b, changes, DIFF_CONTEXT_LINES))
+                .build();
+    }
+
+    private String rebuild(PostRevision target) {
+        if (target.isKeyframe()) {
+            return TextDelta.decompress(target.getData());
+        }
+
+        List<PostRevision> chain = revisionRepository.findChain(
+                target.getId().getPostId(), target.getKeyframeRevision(), target.getId().getRevision());
+        int expected = target.getId().getRevision() - target.getKeyframeRevision() + 1;
+        if (chain.size() != expected || !chain.get(0).isKeyframe()) {
+            throw new IllegalStateException("Incomplete revision chain for post "
+                    + target.getId().getPostId() + " revision " + target.getId().getRevision());
+        }
+
+        String content = TextDelta.decompress(chain.get(0).getData());
+        for (PostRevision delta : chain.subList(1, chain.size())) {
+            content = TextDelta.apply(content, delta.getData());
+        }
+        return content;
+    }
+
+    private PostRevision findRevision(Long postId, int revision) {
+        return revisionRepository.findById(new PostRevision.Key(postId, revision))
+                .orElseThrow(() -> new ResourceNotFoundException("Revision not found"));
+    }
+
+    private void checkAuthor(Long postId, Long authorId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+
+        if (!post.getAuthor().getId().equals(authorId)) {
+            throw new UnauthorizedException("You don't have permission to access this post");
+        }
+    }
+
+    private static PostRevision keyframe(Long postId, int revision, String title, String content,
+                                         LocalDateTime createdAt) {
+        return revision(postId, revision, revision, title, TextDelta.compress(content), content.length(), createdAt);
+    }
+
+    private static PostRevision revision(Long postId, int revision, int keyframeRevision, String title,
+                                         byte[] data, int contentLength, LocalDateTime createdAt) {
+        return PostRevision.builder()
+                .id(new PostRevision.Key(postId, revision))
+                .keyframeRevision(keyframeRevision)
+                .title(title)
+                .data(data)
+                .contentLength(contentLength)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -6,6 +6,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import syncqubits.ai.blog.pranuBlog.dto.nested.CommentEntryDTO;
 import syncqubits.ai.blog.pranuBlog.dto.nested.LikeEntryDTO;
 import syncqubits.ai.blog.pranuBlog.dto.nested.MetricsDTO;
@@ -17,19 +20,41 @@ import syncqubits.ai.blog.pranuBlog.dto.request.UpdatePostRequest;
 import syncqubits.ai.blog.pranuBlog.dto.response.CommentResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostDetailResponse;
 import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostRevisionResponse;
+import syncqubits.ai.blog.pranuBlog.entity.ArchivedEngagement;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
 import syncqubits.ai.blog.pranuBlog.entity.Post;
 import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
 import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
 import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
 import syncqubits.ai.blog.pranuBlog.mapper.PostMapper;
+import syncqubits.ai.blog.pranuBlog.repository.EngagementRollupRepository;
 import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
 import syncqubits.ai.blog.pranuBlog.repository.UserRepository;
+import syncqubits.ai.blog.pranuBlog.service.BotViewService;
+import syncqubits.ai.blog.pranuBlog.service.DraftAutosaveService;
+import syncqubits.ai.blog.pranuBlog.service.EngagementArchiveService;
+import syncqubits.ai.blog.pranuBlog.service.PostRevisionService;
 import syncqubits.ai.blog.pranuBlog.service.PostService;
+import syncqubits.ai.blog.pranuBlog.service.PostSnapshotService;
+import syncqubits.ai.blog.pranuBlog.service.TrafficSketchService;
+import syncqubits.ai.blog.pranuBlog.service.TrendingService;
+import syncqubits.ai.blog.pranuBlog.util.BotClassifier;
+import syncqubits.ai.blog.pranuBlog.util.EngagementDefaults;
 import syncqubits.ai.blog.pranuBlog.util.GeoLocationUtil;
 import syncqubits.ai.blog.pranuBlog.util.IpAddressUtil;
+import syncqubits.ai.blog.pranuBlog.util.LostUpdateRetry;
+import syncqubits.ai.blog.pranuBlog.util.PostMetrics;
+import syncqubits.ai.blog.pranuBlog.util.ShareTokenCache;
 import syncqubits.ai.blog.pranuBlog.util.TokenGenerator;
+import syncqubits.ai.blog.pranuBlog.util.ViewDeduplicator;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -38,6 +63,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostServiceImpl implements PostService {
 
+    // Engagement timestamps are epoch millis; responses show them in server time as before
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostMapper postMapper;
@@ -45,6 +73,20 @@ public class PostServiceImpl implements PostService {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final IpAddressUtil ipAddressUtil;
     private final GeoLocationUtil geoLocationUtil;
+    private final ViewDeduplicator viewDeduplicator;
+    private final ShareTokenCache shareTokenCache;
+    private final EngagementRollupRepository engagementRollupRepository;
+    private final TrendingService trendingService;
+    private final TrafficSketchService trafficSketchService;
+    private final BotClassifier botClassifier;
+    private final BotViewService botViewService;
+    private final PostSnapshotService postSnapshotService;
+    private final PostRevisionService postRevisionService;
+    private final DraftAutosaveService draftAutosaveService;
+    private final EngagementArchiveService engagementArchiveService;
+    private final PostMetrics postMetrics;
+    private final LostUpdateRetry lostUpdateRetry;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Override
@@ -77,13 +119,14 @@ public class PostServiceImpl implements PostService {
         post.setAuthor(author);
 
         // Initialize JSON fields
-        post.setViews(initializeViews());
-        post.setLikes(initializeLikes());
-        post.setFavorites(initializeFavorites());
-        post.setComments(initializeComments());
-        post.setMetrics(initializeMetrics());
+        post.setViews(EngagementDefaults.views());
+        post.setLikes(EngagementDefaults.likes());
+        post.setFavorites(EngagementDefaults.favorites());
+        post.setComments(EngagementDefaults.comments());
+        post.setMetrics(EngagementDefaults.metrics());
 
         post = postRepository.save(post);
+        postRevisionService.recordInitial(post);
         log.info("Post created with ID: {}", post.getId());
 
         return toPostResponse(post);
@@ -94,7 +137,32 @@ public class PostServiceImpl implements PostService {
     public PostResponse updatePost(Long authorId, Long postId, UpdatePostRequest request) {
         log.info("Updating post {} for author: {}", postId, authorId);
 
-        Post post = getPostByIdAndAuthor(postId, authorId);
+        Post post = applyUpdate(getPostByIdAndAuthor(postId, authorId), request);
+
+        log.info("Post updated successfully: {}", postId);
+        return toPostResponse(post);
+    }
+
+    @Override
+    @Transactional
+    public PostResponse restoreRevision(Long authorId, Long postId, int revision) {
+        log.info("Restoring revision {} of post {} for author: {}", revision, postId, authorId);
+
+        PostRevisionResponse restored = postRevisionService.getRevision(authorId, postId, revision);
+        UpdatePostRequest request = UpdatePostRequest.builder()
+                .title(restored.getTitle())
+                .content(restored.getContent())
+                .build();
+        // Recorded as a new revision, so the restore itself can be undone
+        Post post = applyUpdate(getPostByIdAndAuthor(postId, authorId), request);
+
+        log.info("Post {} restored to revision {}", postId, revision);
+        return toPostResponse(post);
+    }
+
+    private Post applyUpdate(Post post, UpdatePostRequest request) {
+        // An autosaved draft is older than this update; write it first so it cannot land on top
+        draftAutosaveService.flush(post.getId());
 
         if (request.getSlug() != null && !request.getSlug().equals(post.getSlug())) {
             if (postRepository.existsBySlug(request.getSlug())) {
@@ -102,19 +170,91 @@ public class PostServiceImpl implements PostService {
             }
         }
 
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
         postMapper.updateEntityFromRequest(request, post);
+        // Flushed first so a concurrent edit fails on the version check here, before the revision is recorded
+        post = postRepository.saveAndFlush(post);
+        postRevisionService.recordUpdate(post, previousTitle, previousContent);
+        shareTokenCache.invalidateAfterCommit(post.getShareToken());
+        if (post.getStatus() == Post.PostStatus.PUBLISHED && Boolean.TRUE.equals(post.getIsPublic())) {
+            postSnapshotService.publish(post);
+        }
+        return post;
+    }
+
+    @Override
+    @Transactional
+    public PostResponse publishPost(Long authorId, Long postId) {
+        log.info("Publishing post {} for author: {}", postId, authorId);
+
+        Post post = applyPublish(getPostByIdAndAuthor(postId, authorId));
+
+        log.info("Post published with share token: {}", post.getShareToken());
+        return toPostResponse(post);
+    }
+
+    @Override
+    @Transactional
+    public PostResponse schedulePublish(Long authorId, Long postId, LocalDateTime publishAt) {
+        log.info("Scheduling post {} for author: {} at {}", postId, authorId, publishAt);
+
+        if (publishAt == null || !publishAt.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Publish time must be in the future");
+        }
+
+        Post post = getPostByIdAndAuthor(postId, authorId);
+        if (post.getStatus() == Post.PostStatus.PUBLISHED) {
+            throw new IllegalArgumentException("Post is already published");
+        }
+
+        post.setPublishAt(publishAt);
         post = postRepository.save(post);
 
-        log.info("Post updated successfully: {}", postId);
+        log.info("Post {} scheduled for {}", postId, publishAt);
         return toPostResponse(post);
     }
 
     @Override
     @Transactional
-    public PostResponse publishPost(Long authorId, Long postId) {
-        log.info("Publishing post {} for author: {}", postId, authorId);
+    public PostResponse cancelScheduledPublish(Long authorId, Long postId) {
+        log.info("Cancelling scheduled publication of post {} for author: {}", postId, authorId);
 
         Post post = getPostByIdAndAuthor(postId, authorId);
+        post.setPublishAt(null);
+        post = postRepository.save(post);
+
+        return toPostResponse(post);
+    }
+
+    @Override
+    @Transactional
+    public ScheduledPublishResult publishScheduled(Collection<Long> postIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> published = new ArrayList<>();
+        for (Post post : postRepository.lockDueForPublish(postIds, now)) {
+            applyPublish(post);
+            published.add(post.getId());
+            log.info("Scheduled post {} published with share token: {}", post.getId(), post.getShareToken());
+        }
+        if (published.size() == postIds.size()) {
+            return new ScheduledPublishResult(published, List.of());
+        }
+
+        // SKIP LOCKED also skips rows held by autosaves and edits, not just by another node
+        // publishing them; those are still due once the lock is released
+        Set<Long> publishedIds = new HashSet<>(published);
+        List<Long> busy = postRepository.findDueForPublish(postIds, now).stream()
+                .filter(id -> !publishedIds.contains(id))
+                .toList();
+        return new ScheduledPublishResult(published, busy);
+    }
+
+    private Post applyPublish(Post post) {
+        draftAutosaveService.flush(post.getId());
+        if (post.getStatus() == Post.PostStatus.ARCHIVED) {
+            engagementArchiveService.rehydrate(post);
+        }
 
         if (post.getShareToken() == null) {
             post.setShareToken(tokenGenerator.generateShareToken());
@@ -122,10 +262,11 @@ public class PostServiceImpl implements PostService {
 
         post.setStatus(Post.PostStatus.PUBLISHED);
         post.setIsPublic(true);
-        post = postRepository.save(post);
-
-        log.info("Post published with share token: {}", post.getShareToken());
-        return toPostResponse(post);
+        post.setPublishAt(null);
+        post = postRepository.saveAndFlush(post);
+        shareTokenCache.invalidateAfterCommit(post.getShareToken());
+        postSnapshotService.publish(post);
+        return post;
     }
 
     @Override
@@ -134,21 +275,74 @@ public class PostServiceImpl implements PostService {
         log.info("Unpublishing post {} for author: {}", postId, authorId);
 
         Post post = getPostByIdAndAuthor(postId, authorId);
+        if (post.getStatus() == Post.PostStatus.ARCHIVED) {
+            engagementArchiveService.rehydrate(post);
+        }
         post.setStatus(Post.PostStatus.DRAFT);
         post.setIsPublic(false);
         post = postRepository.save(post);
+        shareTokenCache.invalidateAfterCommit(post.getShareToken());
+        postSnapshotService.remove(post);
+        trendingService.removePost(postId);
 
         log.info("Post unpublished: {}", postId);
         return toPostResponse(post);
     }
 
+    @Override
+    @Transactional
+    public PostResponse archivePost(Long authorId, Long postId) {
+        log.info("Archiving post {} for author: {}", postId, authorId);
+
+        Post post = getPostByIdAndAuthor(postId, authorId);
+        // Engagement stays in the row until the archival job moves it to cold storage
+        post.setStatus(Post.PostStatus.ARCHIVED);
+        post.setIsPublic(false);
+        post.setPublishAt(null);
+        post = postRepository.save(post);
+        shareTokenCache.invalidateAfterCommit(post.getShareToken());
+        postSnapshotService.remove(post);
+        trendingService.removePost(postId);
+
+        log.info("Post archived: {}", postId);
+        return toPostResponse(post);
+    }
+
+    @Override
+    @Transactional
+    public PostResponse unarchivePost(Long authorId, Long postId) {
+        log.info("Unarchiving post {} for author: {}", postId, authorId);
+
+        Post post = getPostByIdAndAuthor(postId, authorId);
+        if (post.getStatus() != Post.PostStatus.ARCHIVED) {
+            throw new IllegalArgumentException("Post is not archived");
+        }
+        engagementArchiveService.rehydrate(post);
+        post.setStatus(Post.PostStatus.DRAFT);
+        post = postRepository.save(post);
+
+        log.info("Post unarchived: {}", postId);
+        return toPostResponse(post);
+    }
+
     @Override
     @Transactional
     public void deletePost(Long authorId, Long postId) {
         log.info("Deleting post {} for author: {}", postId, authorId);
 
         Post post = getPostByIdAndAuthor(postId, authorId);
+        engagementRollupRepository.deleteByPostId(postId);
+        engagementRollupRepository.deleteCursorByPostId(postId);
+        trafficSketchService.deletePost(postId);
+        botViewService.deletePost(postId);
+        postMetrics.forgetPost(postId);
+        postSnapshotService.remove(post);
+        postRevisionService.deletePost(postId);
+        draftAutosaveService.discard(postId);
+        engagementArchiveService.deletePost(postId);
         postRepository.delete(post);
+        shareTokenCache.invalidateAfterCommit(post.getShareToken());
+        trendingService.removePost(postId);
 
         log.info("Post deleted: {}", postId);
     }
@@ -170,26 +364,49 @@ public class PostServiceImpl implements PostService {
         log.info("Fetching post {} for author: {}", postId, authorId);
 
         Post post = getPostByIdAndAuthor(postId, authorId);
+        Optional<ArchivedEngagement> archived = engagementArchiveService.find(post);
+        if (archived.isPresent()) {
+            ArchivedEngagement engagement = archived.get();
+            return postMetrics.time("detail", () -> buildPostDetailResponse(postMapper, post,
+                    engagement.views(), engagement.likes(), engagement.comments()));
+        }
         return toPostDetailResponse(post);
     }
 
     @Override
-    @Transactional
     public PostDetailResponse getPublicPost(String shareToken, String guestName, String viewerGuestId,
                                             String referrer, String userAgent, HttpServletRequest request) {
         log.info("Fetching public post with token: {}", shareToken);
 
-        Post post = postRepository.findByShareToken(shareToken)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-
-        if (!post.getIsPublic()) {
+        ShareTokenCache.Entry tokenEntry = shareTokenCache.resolve(shareToken);
+        if (!tokenEntry.isPublic()) {
             throw new UnauthorizedException("Post is not public");
         }
+        Long postId = tokenEntry.getPostId();
 
-        // Record view with IP and geolocation
-        recordView(post, guestName, viewerGuestId, referrer, userAgent, request);
+        // Bots and crawlers are counted separately and never reach the engagement columns
+        if (botClassifier.isBot(userAgent)) {
+            PostDetailResponse response = transactionTemplate.execute(status -> toPostDetailResponse(loadPublicPost(postId)));
+            botViewService.recordBotView(postId);
+            return response;
+        }
 
-        return toPostDetailResponse(post);
+        // Skip repeat views inside the dedup window. Decided once, outside the retried transaction,
+        // because the check itself marks the view as seen.
+        String ipAddress = ipAddressUtil.getClientIpAddress(request);
+        if (!viewDeduplicator.isFirstView(postId, viewerGuestId, ipAddress)) {
+            return transactionTemplate.execute(status -> toPostDetailResponse(loadPublicPost(postId)));
+        }
+
+        // Record view with IP and geolocation
+        Map<String, String> location = geoLocationUtil.getLocationFromIp(ipAddress);
+        return postMetrics.time("view", () -> lostUpdateRetry.run("view",
+                () -> transactionTemplate.execute(status -> {
+                    Post post = loadPostForEngagement(postId);
+                    recordView(post, guestName, viewerGuestId, referrer, userAgent, ipAddress, location);
+                    afterCommit(() -> trendingService.recordEngagement(postId, TrendingService.EngagementType.VIEW));
+                    return toPostDetailResponse(post);
+                })));
     }
 
     @Override
@@ -211,70 +428,51 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    @Transactional
     public PostResponse toggleLike(String shareToken, Long userId, String guestName,
                                    String guestIdentifier, HttpServletRequest request) {
         log.info("Toggling like for post with token: {}", shareToken);
 
-        Post post = postRepository.findByShareToken(shareToken)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-
-        Map<String, Object> likes = post.getLikes();
-        List<Map<String, Object>> entries = (List<Map<String, Object>>)
-                likes.getOrDefault("entries", new ArrayList<>());
-
-        // Find existing like
-        Map<String, Object> existingLike = null;
-        int existingIndex = -1;
+        ShareTokenCache.Entry tokenEntry = shareTokenCache.resolve(shareToken);
+        String ipAddress = ipAddressUtil.getClientIpAddress(request);
 
-        for (int i = 0; i < entries.size(); i++) {
-            Map<String, Object> entry = entries.get(i);
-            boolean isMatch = false;
+        return postMetrics.time("like", () -> lostUpdateRetry.run("like",
+                () -> transactionTemplate.execute(status ->
+                        applyToggleLike(tokenEntry, userId, guestName, guestIdentifier, ipAddress))));
+    }
 
-            if (userId != null && entry.containsKey("user_id")) {
-                isMatch = Objects.equals(entry.get("user_id"), userId.intValue());
-            } else if (guestIdentifier != null && entry.containsKey("guest_identifier")) {
-                isMatch = Objects.equals(entry.get("guest_identifier"), guestIdentifier);
-            }
+    private PostResponse applyToggleLike(ShareTokenCache.Entry tokenEntry, Long userId, String guestName,
+                                         String guestIdentifier, String ipAddress) {
+        Post post = loadPostForEngagement(tokenEntry.getPostId());
 
-            if (isMatch) {
-                existingLike = entry;
-                existingIndex = i;
-                break;
-            }
-        }
+        LikesDocument likes = post.getLikes();
+        int existingIndex = likes.indexOf(userId, guestIdentifier);
 
         String message;
-        if (existingLike != null) {
+        if (existingIndex >= 0) {
             // Unlike - remove existing like
-            entries.remove(existingIndex);
+            likes = likes.minus(existingIndex);
             message = "Post unliked successfully";
             log.info("Removed like from post");
         } else {
             // Like - add new like
-            String ipAddress = ipAddressUtil.getClientIpAddress(request);
-
-            Map<String, Object> likeEntry = new HashMap<>();
-            if (userId != null) {
-                likeEntry.put("user_id", userId);
-            } else {
-                likeEntry.put("guest_name", guestName);
-                likeEntry.put("guest_identifier", guestIdentifier);
-            }
-            likeEntry.put("ip_address", ipAddress);
-            likeEntry.put("liked_at", LocalDateTime.now().toString());
-
-            entries.add(likeEntry);
+            likes = likes.plus(new LikesDocument.Entry(
+                    userId,
+                    userId == null ? guestName : null,
+                    userId == null ? guestIdentifier : null,
+                    ipAddress,
+                    System.currentTimeMillis()));
             message = "Post liked successfully";
+            if (tokenEntry.isPublic()) {
+                Long postId = post.getId();
+                afterCommit(() -> trendingService.recordEngagement(postId, TrendingService.EngagementType.LIKE));
+            }
             log.info("Added like to post");
         }
 
-        likes.put("entries", entries);
-        likes.put("count", entries.size());
-
         post.setLikes(likes);
         updateMetrics(post);
         post = postRepository.save(post);
+        postMetrics.recordDocument(post.getId(), PostMetrics.Document.LIKES, likes, likes.count());
 
         PostResponse response = toPostResponse(post);
         // Add custom message field if needed
@@ -283,47 +481,46 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    @Transactional
     public CommentResponse addComment(String shareToken, CommentRequest request, HttpServletRequest httpRequest) {
         log.info("Adding comment to post with token: {}", shareToken);
 
-        Post post = postRepository.findByShareToken(shareToken)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-
-        if (!post.getAllowComments()) {
+        // Cheap early rejection; the cached entry may be stale, so the loaded post is checked again
+        ShareTokenCache.Entry tokenEntry = shareTokenCache.resolve(shareToken);
+        if (!tokenEntry.isAllowComments()) {
             throw new IllegalArgumentException("Comments are disabled for this post");
         }
-
-        Map<String, Object> comments = post.getComments();
-        List<Map<String, Object>> entries = (List<Map<String, Object>>)
-                comments.getOrDefault("entries", new ArrayList<>());
-
-        String commentId = "c" + UUID.randomUUID().toString().substring(0, 8);
         String ipAddress = ipAddressUtil.getClientIpAddress(httpRequest);
 
-        Map<String, Object> commentEntry = new HashMap<>();
-        commentEntry.put("comment_id", commentId);
-        commentEntry.put("guest_name", request.getGuestName());
-
-        if (request.getUserId() != null) {
-            commentEntry.put("user_id", request.getUserId());
-        }
-        if (request.getGuestIdentifier() != null) {
-            commentEntry.put("guest_identifier", request.getGuestIdentifier());
-        }
+        return postMetrics.time("comment", () -> lostUpdateRetry.run("comment",
+                () -> transactionTemplate.execute(status -> applyComment(tokenEntry, request, ipAddress))));
+    }
 
-        commentEntry.put("ip_address", ipAddress);
-        commentEntry.put("content", request.getContent());
-        commentEntry.put("created_at", LocalDateTime.now().toString());
-        commentEntry.put("replies", new ArrayList<>());
+    private CommentResponse applyComment(ShareTokenCache.Entry tokenEntry, CommentRequest request, String ipAddress) {
+        Post post = loadPostForEngagement(tokenEntry.getPostId());
+        requireCommentsAllowed(post);
 
-        entries.add(commentEntry);
-        comments.put("entries", entries);
-        comments.put("count", calculateTotalComments(entries));
+        String commentId = "c" + UUID.randomUUID().toString().substring(0, 8);
 
+        CommentsDocument.Entry commentEntry = new CommentsDocument.Entry(
+                commentId,
+                request.getUserId(),
+                request.getGuestName(),
+                request.getGuestIdentifier(),
+                ipAddress,
+                request.getContent(),
+                System.currentTimeMillis(),
+                List.of());
+
+        CommentsDocument comments = post.getComments().plus(commentEntry);
         post.setComments(comments);
         updateMetrics(post);
         post = postRepository.save(post);
+        postMetrics.recordDocument(post.getId(), PostMetrics.Document.COMMENTS, comments, comments.count());
+
+        if (tokenEntry.isPublic()) {
+            Long postId = post.getId();
+            afterCommit(() -> trendingService.recordEngagement(postId, TrendingService.EngagementType.COMMENT));
+        }
 
         CommentEntryDTO commentDTO = mapToCommentEntryDTO(commentEntry);
 
@@ -336,50 +533,52 @@ public class PostServiceImpl implements PostService {
 
 
     @Override
-    @Transactional
     public CommentResponse addReply(String shareToken, ReplyRequest request) {
         log.info("Adding reply to comment {} in post with token: {}",
                 request.getParentCommentId(), shareToken);
 
-        Post post = postRepository.findByShareToken(shareToken)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-
-        if (!post.getAllowComments()) {
+        // Cheap early rejection; the cached entry may be stale, so the loaded post is checked again
+        ShareTokenCache.Entry tokenEntry = shareTokenCache.resolve(shareToken);
+        if (!tokenEntry.isAllowComments()) {
             throw new IllegalArgumentException("Comments are disabled for this post");
         }
 
-        Map<String, Object> comments = post.getComments();
-        List<Map<String, Object>> entries = (List<Map<String, Object>>)
-                comments.getOrDefault("entries", new ArrayList<>());
+        return postMetrics.time("reply", () -> lostUpdateRetry.run("reply",
+                () -> transactionTemplate.execute(status -> applyReply(tokenEntry, request))));
+    }
+
+    private CommentResponse applyReply(ShareTokenCache.Entry tokenEntry, ReplyRequest request) {
+        Post post = loadPostForEngagement(tokenEntry.getPostId());
+        requireCommentsAllowed(post);
 
-        Map<String, Object> parentComment = findCommentById(entries, request.getParentCommentId());
-        if (parentComment == null) {
+        CommentsDocument comments = post.getComments();
+        int parentIndex = comments.indexOf(request.getParentCommentId());
+        if (parentIndex < 0) {
             throw new ResourceNotFoundException("Parent comment not found");
         }
 
         String replyId = "r" + UUID.randomUUID().toString().substring(0, 8);
 
-        Map<String, Object> replyEntry = new HashMap<>();
-        replyEntry.put("comment_id", replyId);
-        if (request.getUserId() != null) {
-            replyEntry.put("user_id", request.getUserId());
-        } else {
-            replyEntry.put("guest_name", request.getGuestName());
-        }
-        replyEntry.put("content", request.getContent());
-        replyEntry.put("created_at", LocalDateTime.now().toString());
-
-        List<Map<String, Object>> replies = (List<Map<String, Object>>)
-                parentComment.getOrDefault("replies", new ArrayList<>());
-        replies.add(replyEntry);
-        parentComment.put("replies", replies);
-
-        comments.put("entries", entries);
-        comments.put("count", calculateTotalComments(entries));
-
+        CommentsDocument.Entry replyEntry = new CommentsDocument.Entry(
+                replyId,
+                request.getUserId(),
+                request.getUserId() == null ? request.getGuestName() : null,
+                null,
+                null,
+                request.getContent(),
+                System.currentTimeMillis(),
+                List.of());
+
+        comments = comments.plusReply(parentIndex, replyEntry);
         post.setComments(comments);
         updateMetrics(post);
         post = postRepository.save(post);
+        postMetrics.recordDocument(post.getId(), PostMetrics.Document.COMMENTS, comments, comments.count());
+
+        if (tokenEntry.isPublic()) {
+            Long postId = post.getId();
+            afterCommit(() -> trendingService.recordEngagement(postId, TrendingService.EngagementType.COMMENT));
+        }
 
         CommentEntryDTO replyDTO = mapToCommentEntryDTO(replyEntry);
 
@@ -392,6 +591,40 @@ public class PostServiceImpl implements PostService {
 
     // Helper Methods
 
+    private Post loadPost(Long postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+    }
+
+    // The share token cache may lag an unpublish by a moment; the loaded row is authoritative
+    private Post loadPublicPost(Long postId) {
+        Post post = loadPost(postId);
+        if (!post.isPubliclyVisible()) {
+            throw new UnauthorizedException("Post is not public");
+        }
+        return post;
+    }
+
+    // Every path that appends engagement loads through here. Archived posts are frozen: their
+    // entries may be in cold storage, and one appended to the stripped document would be lost on
+    // rehydrate.
+    private Post loadPostForEngagement(Long postId) {
+        Post post = loadPost(postId);
+        if (post.getStatus() == Post.PostStatus.ARCHIVED) {
+            throw new IllegalArgumentException("Post is archived");
+        }
+        if (!post.isPubliclyVisible()) {
+            throw new UnauthorizedException("Post is not public");
+        }
+        return post;
+    }
+
+    private static void requireCommentsAllowed(Post post) {
+        if (!Boolean.TRUE.equals(post.getAllowComments())) {
+            throw new IllegalArgumentException("Comments are disabled for this post");
+        }
+    }
+
     private Post getPostByIdAndAuthor(Long postId, Long authorId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
@@ -404,120 +637,65 @@ public class PostServiceImpl implements PostService {
     }
 
     private void recordView(Post post, String guestName, String viewerGuestId, String referrer,
-                            String userAgent, HttpServletRequest request) {
-        Map<String, Object> views = post.getViews();
-        List<Map<String, Object>> entries = (List<Map<String, Object>>)
-                views.getOrDefault("entries", new ArrayList<>());
-
-        String ipAddress = ipAddressUtil.getClientIpAddress(request);
-        Map<String, String> location = geoLocationUtil.getLocationFromIp(ipAddress);
-
-        Map<String, Object> viewEntry = new HashMap<>();
-        viewEntry.put("viewer_guest_id", viewerGuestId);
-        viewEntry.put("guest_name", guestName);
-        viewEntry.put("ip_address", ipAddress);
-        viewEntry.put("country", location.get("country"));
-        viewEntry.put("city", location.get("city"));
-        viewEntry.put("region", location.get("region"));
-        viewEntry.put("viewed_at", LocalDateTime.now().toString());
-        viewEntry.put("referrer", referrer);
-        viewEntry.put("user_agent", userAgent);
-
-        entries.add(viewEntry);
-
-        // Calculate unique viewers by guestId
-        Set<String> uniqueViewers = entries.stream()
-                .map(e -> (String) e.get("viewer_guest_id"))
-                .filter(Objects::nonNull)
-                .filter(id -> !id.isEmpty())
-                .collect(Collectors.toSet());
-
-        views.put("entries", entries);
-        views.put("count", entries.size());
-        views.put("unique_viewers", uniqueViewers.size());
+                            String userAgent, String ipAddress, Map<String, String> location) {
+        ViewsDocument views = post.getViews().plus(new ViewsDocument.Entry(
+                viewerGuestId,
+                guestName,
+                ipAddress,
+                location.get("country"),
+                location.get("city"),
+                location.get("region"),
+                System.currentTimeMillis(),
+                referrer,
+                userAgent));
 
         post.setViews(views);
         updateMetrics(post);
         postRepository.save(post);
-    }
-
-    private void updateMetrics(Post post) {
-        Map<String, Object> metrics = post.getMetrics();
-
-        Map<String, Object> views = post.getViews();
-        Map<String, Object> likes = post.getLikes();
-        Map<String, Object> comments = post.getComments();
+        postMetrics.recordDocument(post.getId(), PostMetrics.Document.VIEWS, views, views.count());
 
-        metrics.put("views", views.getOrDefault("count", 0));
-        metrics.put("likes", likes.getOrDefault("count", 0));
-        metrics.put("comments", comments.getOrDefault("count", 0));
-
-        post.setMetrics(metrics);
+        Long postId = post.getId();
+        afterCommit(() -> trafficSketchService.recordView(postId, referrer, location.get("country"), userAgent));
     }
 
-    private Map<String, Object> findCommentById(List<Map<String, Object>> entries, String commentId) {
-        for (Map<String, Object> entry : entries) {
-            if (commentId.equals(entry.get("comment_id"))) {
-                return entry;
+    /**
+     * Defer in-memory side effects until the write commits, so a retried transaction counts once.
+     */
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
-        }
-        return null;
-    }
-
-    private int calculateTotalComments(List<Map<String, Object>> entries) {
-        int count = entries.size();
-        for (Map<String, Object> entry : entries) {
-            List<Map<String, Object>> replies = (List<Map<String, Object>>)
-                    entry.getOrDefault("replies", new ArrayList<>());
-            count += replies.size();
-        }
-        return count;
-    }
-
-    private Map<String, Object> initializeViews() {
-        Map<String, Object> views = new HashMap<>();
-        views.put("count", 0);
-        views.put("unique_viewers", 0);
-        views.put("entries", new ArrayList<>());
-        return views;
+        });
     }
 
-    private Map<String, Object> initializeLikes() {
-        Map<String, Object> likes = new HashMap<>();
-        likes.put("count", 0);
-        likes.put("entries", new ArrayList<>());
-        return likes;
+    private void updateMetrics(Post post) {
+        post.setMetrics(MetricsDocument.of(post));
     }
 
-    private Map<String, Object> initializeFavorites() {
-        Map<String, Object> favorites = new HashMap<>();
-        favorites.put("is_favorite", false);
-        return favorites;
+    private PostResponse toPostResponse(Post post) {
+        return buildPostResponse(postMapper, post);
     }
 
-    private Map<String, Object> initializeComments() {
-        Map<String, Object> comments = new HashMap<>();
-        comments.put("count", 0);
-        comments.put("entries", new ArrayList<>());
-        return comments;
+    private PostDetailResponse toPostDetailResponse(Post post) {
+        return postMetrics.time("detail", () -> buildPostDetailResponse(postMapper, post));
     }
 
-    private Map<String, Object> initializeMetrics() {
-        Map<String, Object> metrics = new HashMap<>();
-        metrics.put("views", 0);
-        metrics.put("likes", 0);
-        metrics.put("comments", 0);
-        metrics.put("recent_activity", new ArrayList<>());
-        return metrics;
-    }
+    // Mapping helpers are static and package-private so the JMH benchmarks and sibling services can call them directly
 
-    private PostResponse toPostResponse(Post post) {
+    static PostResponse buildPostResponse(PostMapper postMapper, Post post) {
         PostResponse response = postMapper.toPostResponse(post);
         response.setMetrics(extractMetrics(post.getMetrics()));
         return response;
     }
 
-    private PostDetailResponse toPostDetailResponse(Post post) {
+    static PostDetailResponse buildPostDetailResponse(PostMapper postMapper, Post post) {
+        return buildPostDetailResponse(postMapper, post, post.getViews(), post.getLikes(), post.getComments());
+    }
+
+    static PostDetailResponse buildPostDetailResponse(PostMapper postMapper, Post post, ViewsDocument views,
+                                                      LikesDocument likes, CommentsDocument comments) {
         PostDetailResponse response = postMapper.toPostDetailResponse(post);
 
         // Set favorite status
@@ -525,13 +703,13 @@ public class PostServiceImpl implements PostService {
         response.setIsFavorite(isFavorite);
 
         // Set views
-        response.setViews(extractViewsData(post.getViews()));
+        response.setViews(extractViewsData(views));
 
         // Set likes
-        response.setLikes(extractLikesData(post.getLikes()));
+        response.setLikes(extractLikesData(likes));
 
         // Set comments
-        response.setComments(extractCommentsData(post.getComments()));
+        response.setComments(extractCommentsData(comments));
 
         // Set metrics
         response.setMetrics(extractMetrics(post.getMetrics()));
@@ -539,104 +717,90 @@ public class PostServiceImpl implements PostService {
         return response;
     }
 
-    private MetricsDTO extractMetrics(Map<String, Object> metricsMap) {
+    static MetricsDTO extractMetrics(MetricsDocument metrics) {
         return MetricsDTO.builder()
-                .views((Integer) metricsMap.getOrDefault("views", 0))
-                .likes((Integer) metricsMap.getOrDefault("likes", 0))
-                .comments((Integer) metricsMap.getOrDefault("comments", 0))
+                .views(metrics.views())
+                .likes(metrics.likes())
+                .comments(metrics.comments())
                 .build();
     }
 
-    private PostDetailResponse.ViewsData extractViewsData(Map<String, Object> viewsMap) {
-        List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
-                viewsMap.getOrDefault("entries", new ArrayList<>());
-
-        List<ViewEntryDTO> entries = entriesList.stream()
-                .map(this::mapToViewEntryDTO)
-                .collect(Collectors.toList());
+    static PostDetailResponse.ViewsData extractViewsData(ViewsDocument views) {
+        List<ViewEntryDTO> entries = new ArrayList<>(views.entries().size());
+        for (ViewsDocument.Entry entry : views.entries()) {
+            entries.add(mapToViewEntryDTO(entry));
+        }
 
         return PostDetailResponse.ViewsData.builder()
-                .count((Integer) viewsMap.getOrDefault("count", 0))
-                .uniqueViewers((Integer) viewsMap.getOrDefault("unique_viewers", 0))
+                .count(views.count())
+                .uniqueViewers(views.uniqueViewers())
                 .entries(entries)
                 .build();
     }
 
-    private PostDetailResponse.LikesData extractLikesData(Map<String, Object> likesMap) {
-        List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
-                likesMap.getOrDefault("entries", new ArrayList<>());
-
-        List<LikeEntryDTO> entries = entriesList.stream()
-                .map(this::mapToLikeEntryDTO)
-                .collect(Collectors.toList());
+    static PostDetailResponse.LikesData extractLikesData(LikesDocument likes) {
+        List<LikeEntryDTO> entries = new ArrayList<>(likes.entries().size());
+        for (LikesDocument.Entry entry : likes.entries()) {
+            entries.add(mapToLikeEntryDTO(entry));
+        }
 
         return PostDetailResponse.LikesData.builder()
-                .count((Integer) likesMap.getOrDefault("count", 0))
+                .count(likes.count())
                 .entries(entries)
                 .build();
     }
 
-    private PostDetailResponse.CommentsData extractCommentsData(Map<String, Object> commentsMap) {
-        List<Map<String, Object>> entriesList = (List<Map<String, Object>>)
-                commentsMap.getOrDefault("entries", new ArrayList<>());
-
-        List<CommentEntryDTO> entries = entriesList.stream()
-                .map(this::mapToCommentEntryDTO)
-                .collect(Collectors.toList());
-
+    static PostDetailResponse.CommentsData extractCommentsData(CommentsDocument comments) {
         return PostDetailResponse.CommentsData.builder()
-                .count((Integer) commentsMap.getOrDefault("count", 0))
-                .entries(entries)
+                .count(comments.count())
+                .entries(mapToCommentEntryDTOs(comments.entries()))
                 .build();
     }
 
-    // Update mapToViewEntryDTO
-    private ViewEntryDTO mapToViewEntryDTO(Map<String, Object> map) {
+    static ViewEntryDTO mapToViewEntryDTO(ViewsDocument.Entry entry) {
         return ViewEntryDTO.builder()
-                .viewerGuestId((String) map.get("viewer_guest_id"))
-                .guestName((String) map.get("guest_name"))
-                .ipAddress((String) map.get("ip_address"))
-                .country((String) map.get("country"))
-                .city((String) map.get("city"))
-                .region((String) map.get("region"))
-                .viewedAt(LocalDateTime.parse((String) map.get("viewed_at")))
-                .referrer((String) map.get("referrer"))
-                .userAgent((String) map.get("user_agent"))
+                .viewerGuestId(entry.viewerGuestId())
+                .guestName(entry.guestName())
+                .ipAddress(entry.ipAddress())
+                .country(entry.country())
+                .city(entry.city())
+                .region(entry.region())
+                .viewedAt(toLocalDateTime(entry.viewedAt()))
+                .referrer(entry.referrer())
+                .userAgent(entry.userAgent())
                 .build();
     }
-    // Update mapToLikeEntryDTO
-    private LikeEntryDTO mapToLikeEntryDTO(Map<String, Object> map) {
-        Long userId = map.containsKey("user_id") ?
-                ((Number) map.get("user_id")).longValue() : null;
 
+    static LikeEntryDTO mapToLikeEntryDTO(LikesDocument.Entry entry) {
         return LikeEntryDTO.builder()
-                .userId(userId)
-                .guestName((String) map.get("guest_name"))
-                .guestIdentifier((String) map.get("guest_identifier"))
-                .ipAddress((String) map.get("ip_address"))
-                .likedAt(LocalDateTime.parse((String) map.get("liked_at")))
+                .userId(entry.userId())
+                .guestName(entry.guestName())
+                .guestIdentifier(entry.guestIdentifier())
+                .ipAddress(entry.ipAddress())
+                .likedAt(toLocalDateTime(entry.likedAt()))
                 .build();
     }
 
-
-    private CommentEntryDTO mapToCommentEntryDTO(Map<String, Object> map) {
-        Long userId = map.containsKey("user_id") ?
-                ((Number) map.get("user_id")).longValue() : null;
-
-        List<Map<String, Object>> repliesList = (List<Map<String, Object>>)
-                map.getOrDefault("replies", new ArrayList<>());
-
-        List<CommentEntryDTO> replies = repliesList.stream()
-                .map(this::mapToCommentEntryDTO)
-                .collect(Collectors.toList());
-
+    static CommentEntryDTO mapToCommentEntryDTO(CommentsDocument.Entry entry) {
         return CommentEntryDTO.builder()
-                .commentId((String) map.get("comment_id"))
-                .userId(userId)
-                .guestName((String) map.get("guest_name"))
-                .content((String) map.get("content"))
-                .createdAt(LocalDateTime.parse((String) map.get("created_at")))
-                .replies(replies)
+                .commentId(entry.commentId())
+                .userId(entry.userId())
+                .guestName(entry.guestName())
+                .content(entry.content())
+                .createdAt(toLocalDateTime(entry.createdAt()))
+                .replies(mapToCommentEntryDTOs(entry.replies()))
                 .build();
     }
-}
\ No newline at end of file
+
+    private static List<CommentEntryDTO> mapToCommentEntryDTOs(List<CommentsDocument.Entry> entries) {
+        List<CommentEntryDTO> dtos = new ArrayList<>(entries.size());
+        for (CommentsDocument.Entry entry : entries) {
+            dtos.add(mapToCommentEntryDTO(entry));
+        }
+        return dtos;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
@@ -0,0 +1,264 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.PostSnapshot;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.mapper.PostMapper;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.PostSnapshotRepository;
+import syncqubits.ai.blog.pranuBlog.service.PostSnapshotService;
+import syncqubits.ai.blog.pranuBlog.util.PostHtmlRenderer;
+import syncqubits.ai.blog.pranuBlog.util.ShareTokenCache;
+import syncqubits.ai.blog.pranuBlog.util.SnapshotEncoding;
+import syncqubits.ai.blog.pranuBlog.util.StaticSnapshotStore;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Public post snapshots: the post's public JSON, serialized and gzipped once when it is
+ * published or edited, and stored in post_snapshots. Reads go through a cache bounded by
+ * snapshot bytes, so a hot post is served without touching the database, the mapper or Jackson.
+ * Every read checks the share token is still public, and a snapshot is only ever built from a
+ * public post.
+ *
+ * The cache is per node and only the node that handled an edit invalidates it, so its TTL
+ * defaults to the HTTP max-age: other nodes serve the old version no longer than a browser or CDN
+ * already may. Invalidations bump a striped generation counter, as in ShareTokenCache, and a read
+ * only caches what it loaded if the generation is unchanged, so a read that raced an edit cannot
+ * put the pre-edit row back after the invalidation.
+ *
+ * A publish only drops the stored snapshot in the caller's transaction. The new one is built
+ * from the committed post once that transaction commits, in its own transaction, so the
+ * serialization and gzip never hold the caller's row locks. Until then, and for posts published
+ * before snapshots existed or bulk-imported ones, the snapshot is built on first read.
+ *
+ * With app.static-snapshots.enabled, published snapshots are also written to disk as static
+ * HTML and JSON pages once the transaction commits, and removed the same way. That only reaches
+ * the node that handled the change; other nodes rewrite theirs when a read finds them stale.
+ */
+@Service
+@Slf4j
+public class PostSnapshotServiceImpl implements PostSnapshotService {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final PostSnapshotRepository snapshotRepository;
+    private final PostRepository postRepository;
+    private final PostMapper postMapper;
+    private final ShareTokenCache shareTokenCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PostHtmlRenderer htmlRenderer;
+    private final StaticSnapshotStore staticSnapshotStore;
+    private final Cache<String, PostSnapshot> snapshots;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public PostSnapshotServiceImpl(
+            PostSnapshotRepository snapshotRepository,
+            PostRepository postRepository,
+            PostMapper postMapper,
+            ShareTokenCache shareTokenCache,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            PostHtmlRenderer htmlRenderer,
+            ObjectProvider<StaticSnapshotStore> staticSnapshotStore,
+            @Value("${app.snapshots.cache-max-bytes:67108864}") long cacheMaxBytes,
+            @Value("${app.snapshots.cache-ttl:60000}") long cacheTtlMillis) {
+        this.snapshotRepository = snapshotRepository;
+        this.postRepository = postRepository;
+        this.postMapper = postMapper;
+        this.shareTokenCache = shareTokenCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Also used from after-commit callbacks, where the caller's transaction is still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.htmlRenderer = htmlRenderer;
+        this.staticSnapshotStore = staticSnapshotStore.getIfAvailable();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String token, PostSnapshot snapshot) -> snapshot.getJson().length + snapshot.getGzip().length)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "postSnapshots");
+    }
+
+    @Override
+    public PostSnapshot getSnapshot(String shareToken) {
+        // Checked on cache hits too: the cached snapshot outlives an unpublish on another node
+        ShareTokenCache.Entry tokenEntry = shareTokenCache.resolve(shareToken);
+        if (!tokenEntry.isPublic()) {
+            throw new UnauthorizedException("Post is not public");
+        }
+
+        PostSnapshot cached = snapshots.getIfPresent(shareToken);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(shareToken);
+        long generation = generations.get(stripe);
+        PostSnapshot snapshot = snapshotRepository.findByShareToken(shareToken)
+                .orElseGet(() -> createMissing(shareToken, tokenEntry.getPostId()));
+        // Atomic with respect to invalidate(), which bumps the generation before removing
+        snapshots.asMap().compute(shareToken, (token, current) ->
+                generations.get(stripe) == generation ? snapshot : current);
+        return snapshot;
+    }
+
+    @Override
+    public void publish(Post post) {
+        Long postId = post.getId();
+        String shareToken = post.getShareToken();
+        snapshotRepository.deleteByPostId(postId);
+        afterCommit(() -> {
+            invalidate(shareToken);
+            rebuild(postId);
+        });
+    }
+
+    @Override
+    public void remove(Post post) {
+        snapshotRepository.deleteByPostId(post.getId());
+        String shareToken = post.getShareToken();
+        if (shareToken == null) {
+            return;
+        }
+        afterCommit(() -> {
+            invalidate(shareToken);
+            removeStatic(post.getId(), shareToken);
+        });
+    }
+
+    private void invalidate(String shareToken) {
+        generations.incrementAndGet(stripe(shareToken));
+        snapshots.invalidate(shareToken);
+    }
+
+    private static int stripe(String shareToken) {
+        return Math.floorMod(shareToken.hashCode(), GENERATION_STRIPES);
+    }
+
+    private PostSnapshot createMissing(String shareToken, Long postId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Post post = postRepository.findById(postId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+                if (!post.isPubliclyVisible()) {
+                    throw new UnauthorizedException("Post is not public");
+                }
+                return snapshotRepository.save(build(post));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another reader stored it first
+            return snapshotRepository.findByShareToken(shareToken).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Build and store the snapshot of the post as committed, and write its static pages. A
+     * failure only costs the first reader a rebuild.
+     */
+    private void rebuild(Long postId) {
+        PostSnapshot snapshot;
+        try {
+            snapshot = transactionTemplate.execute(status -> postRepository.findById(postId)
+                    .filter(Post::isPubliclyVisible)
+                    .map(post -> snapshotRepository.save(build(post)))
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            // Including a reader that stored it first from the same committed post
+            log.warn("Could not store snapshot of post {}: {}", postId, e.getMessage());
+            return;
+        }
+        if (snapshot == null) {
+            return;
+        }
+        log.debug("Stored snapshot of post {}: {} bytes, {} gzipped",
+                postId, snapshot.getJson().length, snapshot.getGzip().length);
+        writeStatic(snapshot);
+    }
+
+    private PostSnapshot build(Post post) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(postMapper.toPostContentResponse(post));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize post " + post.getId(), e);
+        }
+
+        return PostSnapshot.builder()
+                .postId(post.getId())
+                .shareToken(post.getShareToken())
+                .contentHash(SnapshotEncoding.sha256(json))
+                .json(json)
+                .gzip(SnapshotEncoding.gzip(json))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Override
+    public void writeStatic(PostSnapshot snapshot) {
+        if (staticSnapshotStore == null) {
+            return;
+        }
+        try {
+            byte[] html = htmlRenderer.render(snapshot.getJson());
+            staticSnapshotStore.publish(snapshot.getShareToken(),
+                    html, SnapshotEncoding.gzip(html), snapshot.getJson(), snapshot.getGzip());
+        } catch (IOException | RuntimeException e) {
+            // Readers fall back to the stored snapshot
+            log.error("Could not write static snapshot of post {}: {}", snapshot.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    private void removeStatic(Long postId, String shareToken) {
+        if (staticSnapshotStore == null) {
+            return;
+        }
+        try {
+            staticSnapshotStore.remove(shareToken);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not remove static snapshot of post {}: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Run once the surrounding transaction commits (or now, outside one), so a rolled back
+     * publish leaves no trace in the cache or on disk.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.service.PostService;
+import syncqubits.ai.blog.pranuBlog.service.ScheduledPublishService;
+import syncqubits.ai.blog.pranuBlog.util.HierarchicalTimingWheel;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Scheduled publishing driven by an in-memory hierarchical timing wheel instead of polling the
+ * posts table for due rows.
+ *
+ * The wheel is loaded from posts with a publishAt at startup and kept current by this node's
+ * schedule/cancel calls; a periodic resync picks up posts scheduled on other nodes. Each tick,
+ * due posts are published through PostService in batches. The publish transaction locks the due
+ * rows with SKIP LOCKED and re-checks publishAt, so when several nodes fire the same post only
+ * one publishes it, and stale wheel entries (cancelled, rescheduled later, deleted, published by
+ * hand) fire as no-ops. Due posts skipped because another transaction held their row (an
+ * autosave, an edit, another node mid-publish) go back on the wheel for the next tick. When a
+ * batch fails, its posts are retried one per transaction, so only the posts that fail on their
+ * own are rescheduled.
+ */
+@Service
+@Slf4j
+public class ScheduledPublishServiceImpl implements ScheduledPublishService {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final PostService postService;
+    private final PostRepository postRepository;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    public ScheduledPublishServiceImpl(
+            PostService postService,
+            PostRepository postRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.scheduled-publish.tick:1000}") long tickMillis,
+            @Value("${app.scheduled-publish.wheel-size:64}") int wheelSize,
+            @Value("${app.scheduled-publish.levels:4}") int levels,
+            @Value("${app.scheduled-publish.batch-size:100}") int batchSize,
+            @Value("${app.scheduled-publish.retry-delay:60000}") long retryDelayMillis) {
+        this.postService = postService;
+        this.postRepository = postRepository;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, levels, System.currentTimeMillis());
+        this.batchSize = Math.max(1, batchSize);
+        this.retryDelayMillis = retryDelayMillis;
+        this.publishedCounter = Counter.builder("blog.scheduled_publish.published")
+                .description("Posts published by the scheduler on this node")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("blog.scheduled_publish.failed")
+                .description("Scheduled posts that failed to publish and were rescheduled")
+                .register(meterRegistry);
+        Gauge.builder("blog.scheduled_publish.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Scheduled publications held in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void restore() {
+        resync();
+        log.info("Loaded {} scheduled publications", wheel.size());
+    }
+
+    @Override
+    public PostResponse schedule(Long authorId, Long postId, LocalDateTime publishAt) {
+        PostResponse response = postService.schedulePublish(authorId, postId, publishAt);
+        wheel.schedule(postId, toEpochMillis(publishAt));
+        return response;
+    }
+
+    @Override
+    public PostResponse cancel(Long authorId, Long postId) {
+        PostResponse response = postService.cancelScheduledPublish(authorId, postId);
+        wheel.cancel(postId);
+        return response;
+    }
+
+    @Override
+    public void publishDue() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                record(postService.publishScheduled(batch));
+            } catch (Exception e) {
+                log.warn("Could not publish scheduled batch of {} posts, publishing them one by one: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(this::publishOne);
+            }
+        }
+    }
+
+    private void publishOne(Long postId) {
+        try {
+            record(postService.publishScheduled(List.of(postId)));
+        } catch (Exception e) {
+            log.warn("Could not publish scheduled post {}: {}", postId, e.getMessage());
+            failedCounter.increment();
+            wheel.schedule(postId, System.currentTimeMillis() + retryDelayMillis);
+        }
+    }
+
+    private void record(PostService.ScheduledPublishResult result) {
+        publishedCounter.increment(result.published().size());
+        if (!result.busy().isEmpty()) {
+            log.debug("Scheduled posts {} were locked, retrying on the next tick", result.busy());
+            long now = System.currentTimeMillis();
+            result.busy().forEach(postId -> wheel.schedule(postId, now));
+        }
+    }
+
+    /**
+     * Add every scheduled post to the wheel. Entries are only added or moved, never removed, so
+     * a post scheduled here while the query runs is not lost.
+     */
+    @Override
+    public void resync() {
+        for (PostRepository.ScheduledRef ref : postRepository.findScheduled()) {
+            wheel.schedule(ref.getId(), toEpochMillis(ref.getPublishAt()));
+        }
+    }
+
+    // Rounded up, so the wheel never fires before the stored publishAt has passed
+    private static long toEpochMillis(LocalDateTime time) {
+        Instant instant = time.atZone(ZONE).toInstant();
+        return instant.getNano() % 1_000_000 == 0 ? instant.toEpochMilli() : instant.toEpochMilli() + 1;
+    }
+}
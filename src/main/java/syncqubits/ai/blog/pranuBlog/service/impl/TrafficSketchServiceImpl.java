@@ -0,0 +1,240 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.dto.response.TrafficBreakdownResponse;
+import syncqubits.ai.blog.pranuBlog.entity.PostTrafficSketch;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.exception.UnauthorizedException;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.PostTrafficSketchRepository;
+import syncqubits.ai.blog.pranuBlog.service.BotViewService;
+import syncqubits.ai.blog.pranuBlog.service.TrafficSketchService;
+import syncqubits.ai.blog.pranuBlog.util.SpaceSavingSketch;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-post Space-Saving sketches of referrer host, country and user agent.
+ *
+ * Views are folded into in-memory delta sketches; a scheduled flush merges each delta into the
+ * post's persisted sketch row under a row lock, so several nodes can flush safely. Reads merge
+ * the (cached) persisted sketch with the pending delta, which is bounded by the sketch capacity.
+ */
+@Service
+@Slf4j
+public class TrafficSketchServiceImpl implements TrafficSketchService {
+
+    private static final int MAX_VALUE_LENGTH = 256;
+
+    private final PostTrafficSketchRepository sketchRepository;
+    private final PostRepository postRepository;
+    private final BotViewService botViewService;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+
+    private final ConcurrentHashMap<Long, PostSketches> deltas = new ConcurrentHashMap<>();
+    private final Cache<Long, PostSketches> persisted;
+
+    public TrafficSketchServiceImpl(
+            PostTrafficSketchRepository sketchRepository,
+            PostRepository postRepository,
+            BotViewService botViewService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.traffic-sketch.capacity:64}") int capacity,
+            @Value("${app.traffic-sketch.cache-size:10000}") long cacheSize) {
+        this.sketchRepository = sketchRepository;
+        this.postRepository = postRepository;
+        this.botViewService = botViewService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.persisted = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public void recordView(Long postId, String referrer, String country, String userAgent) {
+        deltas.compute(postId, (id, sketches) -> {
+            if (sketches == null) {
+                sketches = new PostSketches(capacity);
+            }
+            sketches.add(normalizeReferrer(referrer), normalize(country, "Unknown"), normalize(userAgent, "(none)"));
+            return sketches;
+        });
+    }
+
+    @Override
+    public TrafficBreakdownResponse getBreakdown(Long authorId, Long postId, int limit) {
+        Long ownerId = postRepository.findAuthorIdById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        if (!ownerId.equals(authorId)) {
+            throw new UnauthorizedException("You don't have permission to access this post");
+        }
+
+        PostSketches combined = persisted.get(postId, this::load).copy();
+        PostSketches[] pending = new PostSketches[1];
+        deltas.computeIfPresent(postId, (id, sketches) -> {
+            pending[0] = sketches.copy();
+            return sketches;
+        });
+        if (pending[0] != null) {
+            combined.merge(pending[0]);
+        }
+
+        return TrafficBreakdownResponse.builder()
+                .postId(postId)
+                .totalViews(combined.referrers.getTotal())
+                .botViews(botViewService.getBotViews(postId))
+                .referrers(toHeavyHitters(combined.referrers, limit))
+                .countries(toHeavyHitters(combined.countries, limit))
+                .userAgents(toHeavyHitters(combined.userAgents, limit))
+                .build();
+    }
+
+    @Override
+    public void flush() {
+        int flushed = 0;
+        for (Long postId : new ArrayList<>(deltas.keySet())) {
+            PostSketches delta = deltas.remove(postId);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                PostSketches merged = transactionTemplate.execute(tx -> mergeIntoRow(postId, delta));
+                persisted.put(postId, merged);
+                flushed++;
+            } catch (Exception e) {
+                log.warn("Could not flush traffic sketch for post {}: {}", postId, e.getMessage());
+                deltas.merge(postId, delta, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                });
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed traffic sketches for {} posts", flushed);
+        }
+    }
+
+    @Override
+    public void deletePost(Long postId) {
+        deltas.remove(postId);
+        persisted.invalidate(postId);
+        sketchRepository.deleteById(postId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error flushing traffic sketches on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private PostSketches mergeIntoRow(Long postId, PostSketches delta) {
+        PostTrafficSketch row = sketchRepository.findByPostIdForUpdate(postId)
+                .orElseGet(() -> PostTrafficSketch.builder().postId(postId).build());
+
+        PostSketches sketches = fromRow(row);
+        sketches.merge(delta);
+
+        row.setReferrers(sketches.referrers.toMap());
+        row.setCountries(sketches.countries.toMap());
+        row.setUserAgents(sketches.userAgents.toMap());
+        sketchRepository.save(row);
+        return sketches;
+    }
+
+    private PostSketches load(Long postId) {
+        return sketchRepository.findById(postId)
+                .map(this::fromRow)
+                .orElseGet(() -> new PostSketches(capacity));
+    }
+
+    private PostSketches fromRow(PostTrafficSketch row) {
+        return new PostSketches(
+                SpaceSavingSketch.fromMap(row.getReferrers(), capacity),
+                SpaceSavingSketch.fromMap(row.getCountries(), capacity),
+                SpaceSavingSketch.fromMap(row.getUserAgents(), capacity));
+    }
+
+    private List<TrafficBreakdownResponse.HeavyHitter> toHeavyHitters(SpaceSavingSketch sketch, int limit) {
+        return sketch.top(limit).stream()
+                .map(c -> TrafficBreakdownResponse.HeavyHitter.builder()
+                        .value(c.getValue())
+                        .count(c.getCount())
+                        .maxError(c.getError())
+                        .guaranteedCount(c.getCount() - c.getError())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private String normalizeReferrer(String referrer) {
+        if (referrer == null || referrer.isBlank()) {
+            return "(direct)";
+        }
+        try {
+            String host = URI.create(referrer.trim()).getHost();
+            if (host != null) {
+                return host.startsWith("www.") ? host.substring(4) : host;
+            }
+        } catch (IllegalArgumentException e) {
+            // not a URI, fall through and keep the raw value
+        }
+        return normalize(referrer, "(direct)");
+    }
+
+    private String normalize(String value, String fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > MAX_VALUE_LENGTH ? trimmed.substring(0, MAX_VALUE_LENGTH) : trimmed;
+    }
+
+    private static final class PostSketches {
+        private final SpaceSavingSketch referrers;
+        private final SpaceSavingSketch countries;
+        private final SpaceSavingSketch userAgents;
+
+        private PostSketches(int capacity) {
+            this(new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity));
+        }
+
+        private PostSketches(SpaceSavingSketch referrers, SpaceSavingSketch countries, SpaceSavingSketch userAgents) {
+            this.referrers = referrers;
+            this.countries = countries;
+            this.userAgents = userAgents;
+        }
+
+        private void add(String referrer, String country, String userAgent) {
+            referrers.add(referrer);
+            countries.add(country);
+            userAgents.add(userAgent);
+        }
+
+        private void merge(PostSketches other) {
+            referrers.merge(other.referrers);
+            countries.merge(other.countries);
+            userAgents.merge(other.userAgents);
+        }
+
+        private PostSketches copy() {
+            return new PostSketches(referrers.copy(), countries.copy(), userAgents.copy());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package syncqubits.ai.blog.pranuBlog.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.TrendingScore;
+import syncqubits.ai.blog.pranuBlog.mapper.PostMapper;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.TrendingScoreRepository;
+import syncqubits.ai.blog.pranuBlog.service.TrendingService;
+import syncqubits.ai.blog.pranuBlog.util.DecayedTopK;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending feed backed by an in-memory, time-decayed top-K of public posts.
+ *
+ * Views, likes and comments bump a post's score as they happen. Each node only sees the
+ * engagement it handles, so every node checkpoints its own ranking to trending_node_scores under
+ * its node id (periodically and on shutdown) and reads the other nodes' rows back as a peer
+ * ranking; the feed is the sum of both. Rows of nodes that stop checkpointing decay away and are
+ * deleted once they are older than {@code app.trending.stale-after}.
+ */
+@Service
+@Slf4j
+public class TrendingServiceImpl implements TrendingService {
+
+    private final PostRepository postRepository;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final PostMapper postMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final int capacity;
+    private final long halfLifeMillis;
+    private final long staleAfterMillis;
+    private final DecayedTopK ranking;
+    private volatile DecayedTopK peers;
+    private final Map<EngagementType, Double> weights = new EnumMap<>(EngagementType.class);
+    private final double pruneBelow;
+
+    public TrendingServiceImpl(
+            PostRepository postRepository,
+            TrendingScoreRepository trendingScoreRepository,
+            PostMapper postMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.trending.capacity:100}") int capacity,
+            @Value("${app.trending.half-life:21600000}") long halfLifeMillis,
+            @Value("${app.trending.weights.view:1.0}") double viewWeight,
+            @Value("${app.trending.weights.like:3.0}") double likeWeight,
+            @Value("${app.trending.weights.comment:5.0}") double commentWeight,
+            @Value("${app.trending.prune-below:0.05}") double pruneBelow,
+            @Value("${app.trending.stale-after:172800000}") long staleAfterMillis,
+            @Value("${app.trending.node-id:}") String nodeId) {
+        this.postRepository = postRepository;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.postMapper = postMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Without a configured id every process gets a fresh one; a restarted node's old rows are
+        // then read as a peer's until they go stale, so nothing is counted twice or lost
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLifeMillis;
+        this.staleAfterMillis = staleAfterMillis;
+        this.ranking = new DecayedTopK(capacity, halfLifeMillis, System.currentTimeMillis());
+        this.peers = new DecayedTopK(capacity, halfLifeMillis, System.currentTimeMillis());
+        this.weights.put(EngagementType.VIEW, viewWeight);
+        this.weights.put(EngagementType.LIKE, likeWeight);
+        this.weights.put(EngagementType.COMMENT, commentWeight);
+        this.pruneBelow = pruneBelow;
+    }
+
+    @PostConstruct
+    public void restore() {
+        long now = System.currentTimeMillis();
+        List<TrendingScore> own = trendingScoreRepository.findByNode(nodeId);
+        for (TrendingScore score : own) {
+            ranking.restore(score.getId().getPostId(), score.getScore(), toEpochMilli(score.getScoredAt()), now);
+        }
+        int peerRows = refreshPeers(now);
+        log.info("Restored {} trending scores for node {} and {} from other nodes", own.size(), nodeId, peerRows);
+    }
+
+    @Override
+    public void recordEngagement(Long postId, EngagementType type) {
+        ranking.add(postId, weights.get(type), System.currentTimeMillis());
+    }
+
+    @Override
+    public void removePost(Long postId) {
+        ranking.remove(postId);
+        peers.remove(postId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponse> getTrendingPosts(int limit) {
+        List<Long> ids = mergedTop(limit, System.currentTimeMillis());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> posts = postRepository.findWithAuthorByIdIn(ids).stream()
+                .filter(p -> p.getStatus() == Post.PostStatus.PUBLISHED && Boolean.TRUE.equals(p.getIsPublic()))
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostResponse> result = new ArrayList<>(posts.size());
+        for (Long id : ids) {
+            Post post = posts.get(id);
+            if (post != null) {
+                result.add(PostServiceImpl.buildPostResponse(postMapper, post));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void checkpoint() {
+        long now = System.currentTimeMillis();
+        int pruned = ranking.prune(pruneBelow, now);
+
+        LocalDateTime scoredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        List<TrendingScore> scores = ranking.top(Integer.MAX_VALUE, now).stream()
+                .map(e -> TrendingScore.builder()
+                        .id(new TrendingScore.Key(nodeId, e.getId()))
+                        .score(e.getScore())
+                        .scoredAt(scoredAt)
+                        .build())
+                .collect(Collectors.toList());
+
+        int stale = transactionTemplate.execute(tx -> {
+            // Only this node's rows are replaced; other nodes' checkpoints are left alone
+            trendingScoreRepository.deleteByNode(nodeId);
+            trendingScoreRepository.saveAll(scores);
+            return trendingScoreRepository.deleteScoredBefore(scoredAt.minusNanos(staleAfterMillis * 1_000_000));
+        });
+        int peerRows = refreshPeers(now);
+        log.debug("Trending checkpoint: {} scores saved, {} pruned, {} stale rows deleted, {} peer rows read",
+                scores.size(), pruned, stale, peerRows);
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            log.error("Error checkpointing trending scores on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private int refreshPeers(long now) {
+        List<TrendingScore> rows = trendingScoreRepository.findOtherNodes(nodeId);
+        // Each peer wrote at most its own top-K, so the union is bounded by nodes * capacity
+        DecayedTopK loaded = new DecayedTopK(Integer.MAX_VALUE, halfLifeMillis, now);
+        for (TrendingScore score : rows) {
+            loaded.restore(score.getId().getPostId(), score.getScore(), toEpochMilli(score.getScoredAt()), now);
+        }
+        peers = loaded;
+        return rows.size();
+    }
+
+    private List<Long> mergedTop(int limit, long now) {
+        Map<Long, Double> merged = new HashMap<>();
+        for (DecayedTopK.Entry entry : ranking.top(capacity, now)) {
+            merged.merge(entry.getId(), entry.getScore(), Double::sum);
+        }
+        for (DecayedTopK.Entry entry : peers.top(Integer.MAX_VALUE, now)) {
+            merged.merge(entry.getId(), entry.getScore(), Double::sum);
+        }
+        return merged.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,136 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive multi-pattern substring matcher (Aho-Corasick compiled to a DFA).
+ *
+ * Patterns are ASCII. Characters are first mapped to a small alphabet of the characters that
+ * actually occur in patterns (everything else shares class 0), and the full transition table
+ * is precomputed, so matching is one array lookup per input character with no backtracking.
+ * Instances are immutable and thread-safe.
+ */
+public final class AhoCorasickMatcher {
+
+    private final int[] charClass = new int[128];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    public AhoCorasickMatcher(Collection<String> patterns) {
+        List<String> normalized = new ArrayList<>();
+        int nextClass = 1;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isBlank()) {
+                continue;
+            }
+            String lower = pattern.trim().toLowerCase(Locale.ROOT);
+            if (!lower.chars().allMatch(c -> c < 128)) {
+                throw new IllegalArgumentException("Only ASCII patterns are supported: " + pattern);
+            }
+            for (int i = 0; i < lower.length(); i++) {
+                char c = lower.charAt(i);
+                if (charClass[c] == 0) {
+                    charClass[c] = nextClass++;
+                }
+            }
+            normalized.add(lower);
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            charClass[Character.toUpperCase(c)] = charClass[c];
+        }
+        this.alphabetSize = nextClass;
+
+        // Build the trie
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newRow());
+        terminal.add(false);
+        for (String pattern : normalized) {
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cls = charClass[pattern.charAt(i)];
+                if (trie.get(state)[cls] < 0) {
+                    trie.get(state)[cls] = trie.size();
+                    trie.add(newRow());
+                    terminal.add(false);
+                }
+                state = trie.get(state)[cls];
+            }
+            terminal.set(state, true);
+        }
+
+        // Breadth-first failure links, filling in missing edges to turn the trie into a DFA
+        int stateCount = trie.size();
+        int[] fail = new int[stateCount];
+        this.accepting = new boolean[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            accepting[s] = terminal.get(s);
+        }
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int cls = 0; cls < alphabetSize; cls++) {
+            if (root[cls] < 0) {
+                root[cls] = 0;
+            } else {
+                fail[root[cls]] = 0;
+                queue.add(root[cls]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] |= accepting[fail[state]];
+            int[] row = trie.get(state);
+            int[] failRow = trie.get(fail[state]);
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                int child = row[cls];
+                if (child < 0) {
+                    row[cls] = failRow[cls];
+                } else {
+                    fail[child] = failRow[cls];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = new int[stateCount * alphabetSize];
+        for (int s = 0; s < stateCount; s++) {
+            System.arraycopy(trie.get(s), 0, transitions, s * alphabetSize, alphabetSize);
+        }
+    }
+
+    /**
+     * @return true if any pattern occurs in {@code text}, ignoring ASCII case
+     */
+    public boolean matches(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int cls = c < 128 ? charClass[c] : 0;
+            state = transitions[state * alphabetSize + cls];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int stateCount() {
+        return accepting.length;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
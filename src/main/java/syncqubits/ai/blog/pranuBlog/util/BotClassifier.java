@@ -0,0 +1,101 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classifies user agents as bots/crawlers at view ingestion.
+ *
+ * Signatures from {@code bot-signatures.txt} (plus {@code app.bot-detection.extra-signatures})
+ * are compiled once into an {@link AhoCorasickMatcher}, so a user agent is scanned in a single
+ * pass regardless of how many signatures there are. Verdicts are cached per user-agent string,
+ * since real traffic repeats a small set of agents.
+ */
+@Component
+@Slf4j
+public class BotClassifier {
+
+    public static final String SIGNATURES_RESOURCE = "bot-signatures.txt";
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private final boolean enabled;
+    private final AhoCorasickMatcher matcher;
+    private final Cache<String, Boolean> verdicts;
+
+    public BotClassifier(
+            MeterRegistry meterRegistry,
+            @Value("${app.bot-detection.enabled:true}") boolean enabled,
+            @Value("${app.bot-detection.cache-size:10000}") long cacheSize,
+            @Value("${app.bot-detection.extra-signatures:}") List<String> extraSignatures) {
+        this.enabled = enabled;
+
+        List<String> signatures = loadSignatures();
+        signatures.addAll(extraSignatures);
+        this.matcher = new AhoCorasickMatcher(signatures);
+        this.verdicts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verdicts, "botUserAgents");
+        log.info("Compiled {} bot signatures into {} matcher states", signatures.size(), matcher.stateCount());
+    }
+
+    /**
+     * Missing or blank user agents are treated as automated clients.
+     */
+    public boolean isBot(String userAgent) {
+        if (!enabled) {
+            return false;
+        }
+        if (userAgent == null || userAgent.isBlank()) {
+            return true;
+        }
+        String key = userAgent.length() > MAX_USER_AGENT_LENGTH
+                ? userAgent.substring(0, MAX_USER_AGENT_LENGTH)
+                : userAgent;
+        return verdicts.get(key, matcher::matches);
+    }
+
+    /**
+     * Classify without the verdict cache (used to measure the raw matcher).
+     */
+    public boolean matchesSignature(String userAgent) {
+        return matcher.matches(userAgent);
+    }
+
+    public static List<String> loadSignatures() {
+        InputStream in = BotClassifier.class.getClassLoader().getResourceAsStream(SIGNATURES_RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("Missing classpath resource " + SIGNATURES_RESOURCE);
+        }
+        List<String> signatures = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    signatures.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + SIGNATURES_RESOURCE, e);
+        }
+        return signatures;
+    }
+}
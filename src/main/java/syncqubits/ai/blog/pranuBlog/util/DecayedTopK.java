@@ -0,0 +1,199 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Exponentially time-decayed scores per id with an incrementally maintained top-K.
+ *
+ * Uses forward decay: an event of weight w at time t is stored as w * e^(lambda * (t - landmark)),
+ * so stored scores never need to be decayed in place and only ever grow. Every tracked id sits in
+ * one ordered set, indexed by id, so adding, removing and refilling the top after a removal are
+ * all O(log N); the top-K is simply the K highest entries.
+ * The real (decayed) score is stored * e^(-lambda * (now - landmark)). The landmark is moved
+ * forward before the exponent gets large enough to overflow.
+ *
+ * Writers synchronize on the instance; readers get an immutable snapshot that is rebuilt at most
+ * once per change to the top-K, so reads are O(K).
+ */
+public class DecayedTopK {
+
+    private static final double MAX_EXPONENT = 50.0;
+
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingDouble((Ranked r) -> r.score)
+            .thenComparingLong(r -> r.id);
+
+    private final int capacity;
+    private final double lambdaPerMilli;
+
+    private final TreeSet<Ranked> ranked = new TreeSet<>(ORDER);
+    private final Map<Long, Ranked> index = new HashMap<>();
+    private long landmark;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean dirty;
+
+    public DecayedTopK(int capacity, long halfLifeMillis, long now) {
+        this.capacity = capacity;
+        this.lambdaPerMilli = Math.log(2) / halfLifeMillis;
+        this.landmark = now;
+        this.snapshot = new Snapshot(new Ranked[0], now);
+    }
+
+    public synchronized void add(long id, double weight, long now) {
+        rebaseIfNeeded(now);
+        merge(id, weight * Math.exp(lambdaPerMilli * (now - landmark)));
+    }
+
+    /**
+     * Seed a score that was decayed to {@code asOf} (e.g. from a checkpoint).
+     */
+    public synchronized void restore(long id, double decayedScore, long asOf, long now) {
+        rebaseIfNeeded(now);
+        merge(id, decayedScore * Math.exp(lambdaPerMilli * (asOf - landmark)));
+    }
+
+    public synchronized void remove(long id) {
+        Ranked existing = index.remove(id);
+        if (existing == null) {
+            return;
+        }
+        ranked.remove(existing);
+        markDirtyIfTop(existing.score);
+    }
+
+    /**
+     * Drop ids outside the top-K whose decayed score fell below {@code minScore}.
+     */
+    public synchronized int prune(double minScore, long now) {
+        double threshold = minScore * Math.exp(lambdaPerMilli * (now - landmark));
+        int pruned = 0;
+        while (ranked.size() > capacity && ranked.first().score < threshold) {
+            index.remove(ranked.pollFirst().id);
+            pruned++;
+        }
+        return pruned;
+    }
+
+    /**
+     * Highest decayed scores first, at most {@code limit} entries.
+     */
+    public List<Entry> top(int limit, long now) {
+        Snapshot view = snapshot;
+        if (dirty) {
+            synchronized (this) {
+                if (dirty) {
+                    Ranked[] top = new Ranked[Math.min(capacity, ranked.size())];
+                    Iterator<Ranked> it = ranked.descendingIterator();
+                    for (int i = 0; i < top.length; i++) {
+                        top[i] = it.next();
+                    }
+                    snapshot = new Snapshot(top, landmark);
+                    dirty = false;
+                }
+                view = snapshot;
+            }
+        }
+
+        double decay = Math.exp(-lambdaPerMilli * (now - view.landmark));
+        int size = Math.min(limit, view.ranked.length);
+        List<Entry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Ranked entry = view.ranked[i];
+            result.add(new Entry(entry.id, entry.score * decay));
+        }
+        return result;
+    }
+
+    public synchronized int trackedCount() {
+        return index.size();
+    }
+
+    private void merge(long id, double increment) {
+        Ranked existing = index.get(id);
+        double score = increment;
+        if (existing != null) {
+            ranked.remove(existing);
+            score += existing.score;
+        }
+        Ranked updated = new Ranked(id, score);
+        ranked.add(updated);
+        index.put(id, updated);
+        markDirtyIfTop(score);
+    }
+
+    // Stored scores only grow, so an update can only change the top-K if it reaches the
+    // snapshot's lowest entry; the snapshot shares the current landmark unless already dirty
+    private void markDirtyIfTop(double storedScore) {
+        if (dirty) {
+            return;
+        }
+        Ranked[] top = snapshot.ranked;
+        if (top.length < capacity || storedScore >= top[top.length - 1].score) {
+            dirty = true;
+        }
+    }
+
+    private void rebaseIfNeeded(long now) {
+        if (lambdaPerMilli * (now - landmark) < MAX_EXPONENT) {
+            return;
+        }
+        double factor = Math.exp(-lambdaPerMilli * (now - landmark));
+        List<Ranked> rebased = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            rebased.add(new Ranked(entry.id, entry.score * factor));
+        }
+        ranked.clear();
+        index.clear();
+        for (Ranked entry : rebased) {
+            ranked.add(entry);
+            index.put(entry.id, entry);
+        }
+        landmark = now;
+        dirty = true;
+    }
+
+    public static final class Entry {
+        private final long id;
+        private final double score;
+
+        public Entry(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Ranked {
+        private final long id;
+        private final double score;
+
+        private Ranked(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Ranked[] ranked;
+        private final long landmark;
+
+        private Snapshot(Ranked[] ranked, long landmark) {
+            this.ranked = ranked;
+            this.landmark = landmark;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.LikesDocument;
+import syncqubits.ai.blog.pranuBlog.entity.MetricsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.ViewsDocument;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Initial values for a post's engagement jsonb columns.
+ */
+public final class EngagementDefaults {
+
+    private EngagementDefaults() {
+    }
+
+    public static ViewsDocument views() {
+        return ViewsDocument.EMPTY;
+    }
+
+    public static LikesDocument likes() {
+        return LikesDocument.EMPTY;
+    }
+
+    public static Map<String, Object> favorites() {
+        Map<String, Object> favorites = new HashMap<>();
+        favorites.put("is_favorite", false);
+        return favorites;
+    }
+
+    public static CommentsDocument comments() {
+        return CommentsDocument.EMPTY;
+    }
+
+    public static MetricsDocument metrics() {
+        return MetricsDocument.EMPTY;
+    }
+}
@@ -0,0 +1,32 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reads engagement timestamps as epoch millis. Entries written before the switch hold
+ * {@code LocalDateTime.toString()} in server time; those are converted on read.
+ */
+public class EpochMillisDeserializer extends StdDeserializer<Long> {
+
+    public EpochMillisDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getLongValue();
+        }
+        String text = parser.getValueAsString();
+        if (text == null || text.isBlank()) {
+            return 0L;
+        }
+        return LocalDateTime.parse(text).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,168 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel: schedules keys at deadlines with O(1) insert and cancel, and
+ * fires them as the wheel is advanced.
+ *
+ * Level 0 has one slot per tick; each slot of level {@code n} spans {@code wheelSize^n} ticks.
+ * A timer sits in the lowest level whose range covers it and moves down a level each time the
+ * wheel reaches its slot, until it fires from level 0. Deadlines beyond the top level wait in an
+ * overflow set that is re-placed once per top-level slot. Deadlines are rounded up to a tick,
+ * so keys never fire early.
+ *
+ * Thread-safe; all operations synchronize on the instance.
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private static final int READY = -1;
+    private static final int OVERFLOW = -2;
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    // Ticks covered by one slot at each level
+    private final long[] slotTicks;
+    private final Set<K>[][] slots;
+    private final Set<K> overflow = new HashSet<>();
+    private final Set<K> ready = new LinkedHashSet<>();
+    private final Map<K, Timer> timers = new HashMap<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long now) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slotTicks = new long[levels];
+        this.slots = new Set[levels][wheelSize];
+        long ticks = 1;
+        for (int level = 0; level < levels; level++) {
+            slotTicks[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new HashSet<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(now, tickMillis);
+    }
+
+    /**
+     * Schedule {@code key} at {@code deadlineMillis}, replacing any earlier deadline for it.
+     * A deadline that has already passed fires on the next {@link #advance}.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        place(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+    }
+
+    public synchronized boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        switch (timer.level()) {
+            case READY -> ready.remove(key);
+            case OVERFLOW -> overflow.remove(key);
+            default -> slots[timer.level()][timer.slot()].remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Move the wheel to {@code now} and return the keys whose deadlines have passed, which are
+     * no longer scheduled.
+     */
+    public synchronized List<K> advance(long now) {
+        long targetTick = Math.floorDiv(now, tickMillis);
+        if (targetTick - currentTick > slotTicks[levels - 1] * wheelSize) {
+            // Stepped far past the wheel's range (clock jump); re-placing everything is cheaper
+            currentTick = targetTick;
+            List<Map.Entry<K, Timer>> all = new ArrayList<>(timers.entrySet());
+            clearSlots();
+            for (Map.Entry<K, Timer> entry : all) {
+                place(entry.getKey(), entry.getValue().deadlineTick());
+            }
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (currentTick % slotTicks[levels - 1] == 0 && !overflow.isEmpty()) {
+                List<K> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                for (K key : waiting) {
+                    place(key, timers.get(key).deadlineTick());
+                }
+            }
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    Set<K> slot = slots[level][(int) ((currentTick / slotTicks[level]) % wheelSize)];
+                    if (!slot.isEmpty()) {
+                        List<K> cascading = new ArrayList<>(slot);
+                        slot.clear();
+                        for (K key : cascading) {
+                            place(key, timers.get(key).deadlineTick());
+                        }
+                    }
+                }
+            }
+            Set<K> slot = slots[0][(int) (currentTick % wheelSize)];
+            ready.addAll(slot);
+            slot.clear();
+        }
+
+        List<K> due = new ArrayList<>(ready);
+        ready.clear();
+        for (K key : due) {
+            timers.remove(key);
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            ready.add(key);
+            timers.put(key, new Timer(deadlineTick, READY, 0));
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (delta < slotTicks[level] * wheelSize) {
+                int slot = (int) ((deadlineTick / slotTicks[level]) % wheelSize);
+                slots[level][slot].add(key);
+                timers.put(key, new Timer(deadlineTick, level, slot));
+                return;
+            }
+        }
+        overflow.add(key);
+        timers.put(key, new Timer(deadlineTick, OVERFLOW, 0));
+    }
+
+    private void clearSlots() {
+        for (Set<K>[] level : slots) {
+            for (Set<K> slot : level) {
+                slot.clear();
+            }
+        }
+        overflow.clear();
+        ready.clear();
+    }
+
+    private record Timer(long deadlineTick, int level, int slot) {
+    }
+}
@@ -2,41 +2,163 @@ package syncqubits.ai.blog.pranuBlog.util;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the client address of a request.
+ *
+ * X-Forwarded-For is client-controlled, so it is only honoured when the connection comes from a
+ * configured trusted proxy ({@code app.trusted-proxies}, IPs or CIDR ranges). The header is then
+ * read right to left, skipping further trusted hops, and the first untrusted address is the
+ * client. Otherwise the socket address is used.
+ *
+ * Behind a load balancer the default (loopback only) resolves every client to the balancer's
+ * address, which collapses rate limits and view dedup onto one key. A forwarded request from an
+ * untrusted peer is therefore logged as an error (at most once a minute) naming the peer, so a
+ * missing TRUSTED_PROXIES in production shows up in the logs.
+ */
 @Component
 @Slf4j
 public class IpAddressUtil {
 
-    public String getClientIpAddress(HttpServletRequest request) {
-        String[] headers = {
-                "X-Forwarded-For",
-                "Proxy-Client-IP",
-                "WL-Proxy-Client-IP",
-                "HTTP_X_FORWARDED_FOR",
-                "HTTP_X_FORWARDED",
-                "HTTP_X_CLUSTER_CLIENT_IP",
-                "HTTP_CLIENT_IP",
-                "HTTP_FORWARDED_FOR",
-                "HTTP_FORWARDED",
-                "HTTP_VIA",
-                "REMOTE_ADDR"
-        };
-
-        for (String header : headers) {
-            String ip = request.getHeader(header);
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-                // X-Forwarded-For can contain multiple IPs, take the first one
-                if (ip.contains(",")) {
-                    ip = ip.split(",")[0].trim();
-                }
-                log.debug("IP found in header {}: {}", header, ip);
-                return ip;
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private static final long UNTRUSTED_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final List<Cidr> trustedProxies;
+    private final AtomicLong lastUntrustedWarning = new AtomicLong(System.nanoTime() - UNTRUSTED_WARNING_INTERVAL_NANOS);
+
+    /**
+     * Trusts no proxy: the socket address is always the client.
+     */
+    public IpAddressUtil() {
+        this("");
+    }
+
+    @Autowired
+    public IpAddressUtil(@Value("${app.trusted-proxies:127.0.0.1,::1}") String trustedProxies) {
+        this.trustedProxies = new ArrayList<>();
+        for (String entry : trustedProxies.split(",")) {
+            if (!entry.isBlank()) {
+                this.trustedProxies.add(Cidr.parse(entry.trim()));
             }
         }
+    }
 
+    public String getClientIpAddress(HttpServletRequest request) {
         String remoteAddr = request.getRemoteAddr();
-        log.debug("Using remote address: {}", remoteAddr);
-        return remoteAddr;
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (!isTrustedProxy(remoteAddr)) {
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                warnUntrustedProxy(remoteAddr);
+            }
+            return remoteAddr;
+        }
+
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (parseLiteral(hop) == null) {
+                // Unparseable hop: nothing to its left can be trusted either
+                log.debug("Ignoring malformed X-Forwarded-For hop: {}", hop);
+                return remoteAddr;
+            }
+            if (!isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return hops[0].trim();
+    }
+
+    private void warnUntrustedProxy(String remoteAddr) {
+        long now = System.nanoTime();
+        long last = lastUntrustedWarning.get();
+        if (now - last >= UNTRUSTED_WARNING_INTERVAL_NANOS && lastUntrustedWarning.compareAndSet(last, now)) {
+            log.error("X-Forwarded-For received from {}, which is not a trusted proxy; the client address "
+                    + "is taken from the socket. If this is your load balancer, add it to TRUSTED_PROXIES "
+                    + "(app.trusted-proxies)", remoteAddr);
+        }
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        InetAddress parsed = parseLiteral(address);
+        if (parsed == null) {
+            return false;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(parsed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse an IP literal without ever falling back to a DNS lookup.
+     */
+    private static InetAddress parseLiteral(String address) {
+        if (address == null || !(IPV4.matcher(address).matches() || IPV6.matcher(address).matches())) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefixLength) {
+
+        static Cidr parse(String value) {
+            int slash = value.indexOf('/');
+            String address = slash < 0 ? value : value.substring(0, slash);
+            InetAddress parsed = parseLiteral(address);
+            if (parsed == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+            }
+            byte[] network = parsed.getAddress();
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(value.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,231 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Advice for DataSource.getConnection that hands out instrumented connections.
+ *
+ * Connections, statements and result sets are wrapped in JDK proxies that time every execute
+ * call, count rows read from result sets (or the update count), capture bound parameters for
+ * slow-query logs, and report to {@link QueryMetrics}. Everything else is passed through.
+ */
+public class JdbcQueryInterceptor implements MethodInterceptor {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final DataSource target;
+    private final Supplier<QueryMetrics> queryMetrics;
+
+    public JdbcQueryInterceptor(DataSource target, Supplier<QueryMetrics> queryMetrics) {
+        this.target = target;
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (result instanceof Connection connection && invocation.getMethod().getName().equals("getConnection")) {
+            return proxy(Connection.class, new ConnectionHandler(connection));
+        }
+        return result;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(JdbcQueryInterceptor.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * equals/hashCode on the proxy itself, so proxies behave as distinct objects in collections.
+     * unwrap/isWrapperFor see through the proxy to the wrapped object (e.g. the pool's or the
+     * driver's connection) and whatever it wraps in turn.
+     */
+    private static Object identityMethod(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap" -> {
+                Class<?> type = (Class<?>) args[0];
+                if (type.isInstance(proxy)) {
+                    yield proxy;
+                }
+                yield type.isInstance(target) ? target : invokeTarget(target, method, args);
+            }
+            case "isWrapperFor" -> {
+                Class<?> type = (Class<?>) args[0];
+                yield type.isInstance(proxy) || type.isInstance(target) || (Boolean) invokeTarget(target, method, args);
+            }
+            default -> null;
+        };
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityMethod(proxy, connection, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(connection, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" ->
+                        proxy(PreparedStatement.class, new StatementHandler((Statement) result, sql));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, sql));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new HashMap<>();
+        private QueryMetrics.Execution pending;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityMethod(proxy, statement, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull")
+                        ? new QueryMetrics.NullParameter((Integer) args[1])
+                        : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("close")) {
+                completePending();
+            }
+
+            Object result = invokeTarget(statement, method, args);
+            if (name.equals("getResultSet") && result instanceof ResultSet resultSet && pending != null) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, pending));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            completePending();
+            QueryMetrics metrics = queryMetrics.get();
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            QueryMetrics.Execution execution = metrics.startExecution(sql);
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(statement, method, args);
+            } catch (Throwable t) {
+                metrics.executed(execution, System.nanoTime() - start, parameters, null);
+                metrics.complete(execution);
+                throw t;
+            }
+            metrics.executed(execution, System.nanoTime() - start, parameters, target);
+
+            if (result instanceof ResultSet resultSet) {
+                pending = execution;
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, execution));
+            }
+            if (Boolean.TRUE.equals(result)) {
+                // execute() produced a result set, fetched later through getResultSet()
+                pending = execution;
+                return result;
+            }
+            if (Boolean.FALSE.equals(result)) {
+                execution.addRows(Math.max(statement.getUpdateCount(), 0));
+            } else if (result instanceof Number count) {
+                execution.addRows(Math.max(count.longValue(), 0));
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    execution.addRows(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    execution.addRows(Math.max(count, 0));
+                }
+            }
+            metrics.complete(execution);
+            return result;
+        }
+
+        private void completePending() {
+            if (pending != null) {
+                queryMetrics.get().complete(pending);
+                pending = null;
+            }
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final QueryMetrics.Execution execution;
+
+        private ResultSetHandler(ResultSet resultSet, QueryMetrics.Execution execution) {
+            this.resultSet = resultSet;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityMethod(proxy, resultSet, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(resultSet, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        execution.addRows(1);
+                    }
+                }
+                case "close" -> queryMetrics.get().complete(execution);
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+}
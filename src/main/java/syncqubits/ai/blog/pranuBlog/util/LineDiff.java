@@ -0,0 +1,177 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line diff (Myers' O(ND) algorithm) used for revision deltas and the revision diff endpoint.
+ *
+ * Common leading and trailing lines are trimmed first, so a local edit in a long post only runs
+ * the algorithm over the edited region. When the remaining region needs more than
+ * {@code maxEdits} insertions and deletions, it is reported as one replaced block instead: still
+ * a correct diff, and the cost stays bounded.
+ */
+public final class LineDiff {
+
+    private LineDiff() {
+    }
+
+    /**
+     * Lines of {@code a} in [oldStart, oldEnd) replaced by lines of {@code b} in [newStart, newEnd).
+     */
+    public record Change(int oldStart, int oldEnd, int newStart, int newEnd) {
+    }
+
+    /**
+     * Split text into lines such that {@code String.join("\n", lines(text))} returns it unchanged.
+     */
+    public static String[] lines(String text) {
+        return text.split("\n", -1);
+    }
+
+    public static List<Change> diff(String[] a, String[] b, int maxEdits) {
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+
+        int n = a.length - prefix - suffix;
+        int m = b.length - prefix - suffix;
+        if (n == 0 && m == 0) {
+            return List.of();
+        }
+        if (n > 0 && m > 0) {
+            List<Change> changes = myers(a, b, prefix, n, m, maxEdits);
+            if (changes != null) {
+                return changes;
+            }
+        }
+        return List.of(new Change(prefix, prefix + n, prefix, prefix + m));
+    }
+
+    /**
+     * @return the changes, or null if they need more than maxEdits edits
+     */
+    private static List<Change> myers(String[] a, String[] b, int offset, int n, int m, int maxEdits) {
+        int max = Math.min(n + m, maxEdits);
+        int origin = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= max; d++) {
+            trace.add(v.clone());
+            for (int k = -d; k <= d; k += 2) {
+                int x = (k == -d || (k != d && v[origin + k - 1] < v[origin + k + 1]))
+                        ? v[origin + k + 1]
+                        : v[origin + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[offset + x].equals(b[offset + y])) {
+                    x++;
+                    y++;
+                }
+                v[origin + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, origin, offset, n, m);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Change> backtrack(List<int[]> trace, int origin, int offset, int n, int m) {
+        boolean[] deleted = new boolean[n];
+        boolean[] inserted = new boolean[m];
+
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] v = trace.get(d);
+            int k = x - y;
+            int prevK = (k == -d || (k != d && v[origin + k - 1] < v[origin + k + 1])) ? k + 1 : k - 1;
+            int prevX = v[origin + prevK];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                x--;
+                y--;
+            }
+            if (x == prevX) {
+                inserted[prevY] = true;
+            } else {
+                deleted[prevX] = true;
+            }
+            x = prevX;
+            y = prevY;
+        }
+
+        // Unmarked lines on both sides are equal pairs, in order; runs of marked lines are changes
+        List<Change> changes = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if ((i < n && deleted[i]) || (j < m && inserted[j])) {
+                int startI = i;
+                int startJ = j;
+                while (i < n && deleted[i]) {
+                    i++;
+                }
+                while (j < m && inserted[j]) {
+                    j++;
+                }
+                changes.add(new Change(offset + startI, offset + i, offset + startJ, offset + j));
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Unified diff of the changes, with {@code context} unchanged lines around each hunk.
+     */
+    public static String unified(String[] a, String[] b, List<Change> changes, int context) {
+        StringBuilder out = new StringBuilder();
+        int index = 0;
+        while (index < changes.size()) {
+            // Group changes whose context would overlap into one hunk
+            int last = index;
+            while (last + 1 < changes.size()
+                    && changes.get(last + 1).oldStart() - changes.get(last).oldEnd() <= 2 * context) {
+                last++;
+            }
+            Change first = changes.get(index);
+            Change end = changes.get(last);
+            int oldFrom = Math.max(0, first.oldStart() - context);
+            int oldTo = Math.min(a.length, end.oldEnd() + context);
+            int newFrom = first.newStart() - (first.oldStart() - oldFrom);
+            int newTo = end.newEnd() + (oldTo - end.oldEnd());
+
+            out.append("@@ -").append(oldFrom + 1).append(',').append(oldTo - oldFrom)
+                    .append(" +").append(newFrom + 1).append(',').append(newTo - newFrom).append(" @@\n");
+            int cursor = oldFrom;
+            for (int c = index; c <= last; c++) {
+                Change change = changes.get(c);
+                for (; cursor < change.oldStart(); cursor++) {
+                    out.append(' ').append(a[cursor]).append('\n');
+                }
+                for (int line = change.oldStart(); line < change.oldEnd(); line++) {
+                    out.append('-').append(a[line]).append('\n');
+                }
+                for (int line = change.newStart(); line < change.newEnd(); line++) {
+                    out.append('+').append(b[line]).append('\n');
+                }
+                cursor = change.oldEnd();
+            }
+            for (; cursor < oldTo; cursor++) {
+                out.append(' ').append(a[cursor]).append('\n');
+            }
+            index = last + 1;
+        }
+        return out.toString();
+    }
+}
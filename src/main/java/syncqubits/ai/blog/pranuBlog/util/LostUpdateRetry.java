@@ -0,0 +1,73 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write transaction when a concurrent write to the same post committed
+ * first (optimistic lock on the post version), with a short jittered back-off between attempts.
+ *
+ * Must wrap the whole transaction, never run inside one: each attempt has to re-read the post.
+ */
+@Component
+@Slf4j
+public class LostUpdateRetry {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exhausted = new ConcurrentHashMap<>();
+
+    public LostUpdateRetry(
+            MeterRegistry meterRegistry,
+            @Value("${app.lost-update.max-attempts:4}") int maxAttempts) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T run(String operation, Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    counter(exhausted, "blog.post.lost_update.exhausted",
+                            "Post writes abandoned after repeated concurrent updates", operation).increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw e;
+                }
+                counter(retries, "blog.post.lost_update.retries",
+                        "Post writes re-run because a concurrent update committed first", operation).increment();
+                log.debug("Concurrent update during {}, retrying (attempt {})", operation, attempt + 1);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String description, String operation) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder(name)
+                .description(description)
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+
+    private void backOff(int attempt) {
+        // Jittered, so two colliding writers don't collide again on the next attempt
+        long millis = ThreadLocalRandom.current().nextLong(1, 5L * attempt + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostContentResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.springframework.web.util.HtmlUtils.htmlEscape;
+
+/**
+ * Renders a post's public content snapshot as a standalone HTML page.
+ *
+ * Post content is treated as plain text and escaped: blank lines separate paragraphs, single
+ * newlines become line breaks.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostHtmlRenderer {
+
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param snapshotJson a serialized {@link PostContentResponse}, as stored in a post snapshot
+     */
+    public byte[] render(byte[] snapshotJson) {
+        try {
+            return render(objectMapper.readValue(snapshotJson, PostContentResponse.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read post snapshot", e);
+        }
+    }
+
+    public byte[] render(PostContentResponse post) {
+        String title = htmlEscape(post.getTitle());
+        StringBuilder html = new StringBuilder(post.getContent().length() + 1024);
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n")
+                .append("<meta charset=\"utf-8\">\n")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("<title>").append(title).append("</title>\n")
+                .append("<meta property=\"og:type\" content=\"article\">\n")
+                .append("<meta property=\"og:title\" content=\"").append(title).append("\">\n");
+        if (post.getExcerpt() != null) {
+            String excerpt = htmlEscape(post.getExcerpt());
+            html.append("<meta name=\"description\" content=\"").append(excerpt).append("\">\n")
+                    .append("<meta property=\"og:description\" content=\"").append(excerpt).append("\">\n");
+        }
+        if (post.getCoverImageUrl() != null) {
+            html.append("<meta property=\"og:image\" content=\"").append(htmlEscape(post.getCoverImageUrl())).append("\">\n");
+        }
+        html.append("</head>\n<body>\n<article>\n")
+                .append("<h1>").append(title).append("</h1>\n")
+                .append("<p class=\"byline\">").append(escape(post.getAuthorName()));
+        if (post.getCreatedAt() != null) {
+            html.append(" &middot; <time datetime=\"").append(post.getCreatedAt()).append("\">")
+                    .append(post.getCreatedAt().format(DISPLAY_DATE)).append("</time>");
+        }
+        html.append("</p>\n");
+        if (post.getCoverImageUrl() != null) {
+            html.append("<img class=\"cover\" src=\"").append(htmlEscape(post.getCoverImageUrl())).append("\" alt=\"\">\n");
+        }
+        for (String paragraph : post.getContent().split("\\R\\s*\\R")) {
+            if (!paragraph.isBlank()) {
+                html.append("<p>").append(htmlEscape(paragraph.strip()).replaceAll("\\R", "<br>\n")).append("</p>\n");
+            }
+        }
+        html.append("</article>\n</body>\n</html>\n");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : htmlEscape(text);
+    }
+}
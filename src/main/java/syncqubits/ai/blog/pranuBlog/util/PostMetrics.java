@@ -0,0 +1,179 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Latency and document-size metrics for the post engagement hot paths.
+ *
+ * Every engagement write rewrites a whole jsonb column, so its cost grows with the document.
+ * Entry counts are recorded per write. Serializing the document to measure it would add another
+ * full pass per write, so the exact size is only measured for a sample of writes
+ * ({@code app.post-metrics.document-sample-rate}); other writes scale the post's last measured
+ * bytes per entry. A write whose estimate reaches {@code app.post-metrics.warn-document-bytes} is
+ * always measured, so the largest document per column (exposed as a gauge) is logged as soon as
+ * it crosses the threshold, before its writes start failing.
+ */
+@Component
+@Slf4j
+public class PostMetrics {
+
+    public enum Document {
+        VIEWS, LIKES, COMMENTS;
+
+        private final String column = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long warnDocumentBytes;
+    private final double documentSampleRate;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Document, DocumentMeters> documents = new EnumMap<>(Document.class);
+
+    public PostMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${app.post-metrics.warn-document-bytes:4194304}") long warnDocumentBytes,
+            @Value("${app.post-metrics.document-sample-rate:0.05}") double documentSampleRate,
+            @Value("${app.post-metrics.tracked-posts:10000}") long trackedPosts) {
+        this.meterRegistry = meterRegistry;
+        this.warnDocumentBytes = warnDocumentBytes;
+        this.documentSampleRate = documentSampleRate;
+        for (Document document : Document.values()) {
+            documents.put(document, new DocumentMeters(document, trackedPosts));
+        }
+    }
+
+    /**
+     * Time an engagement operation (including any lost-update retries).
+     */
+    public <T> T time(String operation, Supplier<T> body) {
+        return timers.computeIfAbsent(operation, op -> Timer.builder("blog.post.operation")
+                        .description("Latency of post engagement and rendering operations")
+                        .tag("operation", op)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(body);
+    }
+
+    /**
+     * Record the entry count, and the measured or estimated serialized size, of a jsonb document
+     * just written for a post.
+     */
+    public void recordDocument(Long postId, Document document, Object content, int entries) {
+        DocumentMeters meters = documents.get(document);
+        meters.entries.record(entries);
+
+        DocumentSize previous = meters.byPost.getIfPresent(postId);
+        if (previous != null && ThreadLocalRandom.current().nextDouble() >= documentSampleRate) {
+            long estimated = previous.entries() > 0 ? previous.bytes() * entries / previous.entries() : previous.bytes();
+            if (estimated < warnDocumentBytes) {
+                meters.byPost.put(postId, new DocumentSize(estimated, entries));
+                return;
+            }
+        }
+
+        long bytes = serializedSize(content);
+        meters.bytes.record(bytes);
+        meters.byPost.put(postId, new DocumentSize(bytes, entries));
+        if (bytes >= warnDocumentBytes && (previous == null || previous.bytes() < warnDocumentBytes)) {
+            log.warn("Post {} {} document is {} bytes ({} entries), above the {} byte warning threshold",
+                    postId, document.column, bytes, entries, warnDocumentBytes);
+        }
+    }
+
+    public void forgetPost(Long postId) {
+        documents.values().forEach(meters -> meters.byPost.invalidate(postId));
+    }
+
+    private long serializedSize(Object content) {
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(out, content);
+        } catch (IOException e) {
+            log.debug("Could not measure document size: {}", e.getMessage());
+        }
+        return out.count;
+    }
+
+    private static long max(Cache<Long, DocumentSize> byPost, ToLongFunction<DocumentSize> value) {
+        long max = 0;
+        for (DocumentSize size : byPost.asMap().values()) {
+            max = Math.max(max, value.applyAsLong(size));
+        }
+        return max;
+    }
+
+    private record DocumentSize(long bytes, int entries) {
+    }
+
+    private final class DocumentMeters {
+        private final DistributionSummary bytes;
+        private final DistributionSummary entries;
+        private final Cache<Long, DocumentSize> byPost;
+
+        private DocumentMeters(Document document, long trackedPosts) {
+            this.bytes = DistributionSummary.builder("blog.post.document.size")
+                    .description("Serialized size of a jsonb engagement document after a sampled write")
+                    .tag("column", document.column)
+                    .baseUnit("bytes")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.entries = DistributionSummary.builder("blog.post.document.entries")
+                    .description("Entries in a jsonb engagement document after a write")
+                    .tag("column", document.column)
+                    .baseUnit("entries")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.byPost = Caffeine.newBuilder()
+                    .maximumSize(trackedPosts)
+                    .expireAfterWrite(Duration.ofHours(24))
+                    .build();
+
+            Gauge.builder("blog.post.document.size.max", byPost, cache -> max(cache, DocumentSize::bytes))
+                    .description("Largest jsonb engagement document among recently written posts")
+                    .tag("column", document.column)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("blog.post.document.entries.max", byPost, cache -> max(cache, DocumentSize::entries))
+                    .description("Most entries in a jsonb engagement document among recently written posts")
+                    .tag("column", document.column)
+                    .baseUnit("entries")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-statement database metrics attributed to the repository method and HTTP endpoint that
+ * issued them.
+ *
+ * Repository attribution is set by an interceptor on every Spring Data repository proxy; endpoint
+ * attribution by {@code QueryMetricsFilter}. Statements run during a request are buffered and
+ * recorded when the request ends, because the endpoint's route pattern is only known once the
+ * handler has been mapped (after security filters have already queried the database).
+ *
+ * Slow statements are counted; a sample of them is logged with the EXPLAIN plan, fetched
+ * asynchronously on a separate connection. Bound values are redacted to their type unless the
+ * repository is listed in {@code app.query-metrics.log-parameters-for}; statements on the
+ * sensitive tables (password hashes, OTPs, revoked JWTs) never log values and are not explained,
+ * since a plan repeats the values it filters on.
+ */
+@Component
+@Slf4j
+public class QueryMetrics {
+
+    public static final String NONE = "none";
+    public static final String UNMAPPED = "unmapped";
+
+    private static final int MAX_BUFFERED_PER_REQUEST = 2000;
+
+    private static final ThreadLocal<Invocation> currentInvocation = new ThreadLocal<>();
+    private static final ThreadLocal<RequestScope> currentRequest = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final double slowQuerySampleRate;
+    private final boolean explainSlowQueries;
+    private final int maxExplainsPerMinute;
+    private final int maxParameterLength;
+    private final Set<String> logParametersFor;
+    private final Pattern sensitiveTables;
+
+    // Meters are registered once per tag combination and reused; builder().register() looks the
+    // meter up again on every call
+    private final Map<String, QueryMeters> meters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> invocationStatements = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestStatements = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowQueries = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+    private final AtomicLong explainWindowStart = new AtomicLong();
+    private final AtomicInteger explainsInWindow = new AtomicInteger();
+
+    public QueryMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${app.query-metrics.slow-query-threshold:200}") long slowQueryThresholdMillis,
+            @Value("${app.query-metrics.slow-query-sample-rate:0.2}") double slowQuerySampleRate,
+            @Value("${app.query-metrics.explain:true}") boolean explainSlowQueries,
+            @Value("${app.query-metrics.max-explains-per-minute:6}") int maxExplainsPerMinute,
+            @Value("${app.query-metrics.max-parameter-length:100}") int maxParameterLength,
+            @Value("${app.query-metrics.log-parameters-for:}") Set<String> logParametersFor,
+            @Value("${app.query-metrics.sensitive-tables:users,invalidated_tokens}") Set<String> sensitiveTables) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+        this.slowQuerySampleRate = slowQuerySampleRate;
+        this.explainSlowQueries = explainSlowQueries;
+        this.maxExplainsPerMinute = maxExplainsPerMinute;
+        this.maxParameterLength = maxParameterLength;
+        this.logParametersFor = logParametersFor.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        String tables = sensitiveTables.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+        this.sensitiveTables = tables.isEmpty()
+                ? null
+                : Pattern.compile("\\b(?:" + tables + ")\\b", Pattern.CASE_INSENSITIVE);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Run a repository method with its name as the attribution for any statements it issues.
+     */
+    public Object invokeRepository(String repositoryMethod, MethodInvocation invocation) throws Throwable {
+        Invocation previous = currentInvocation.get();
+        Invocation current = new Invocation(repositoryMethod);
+        currentInvocation.set(current);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous != null) {
+                currentInvocation.set(previous);
+            } else {
+                currentInvocation.remove();
+            }
+            invocationStatements.computeIfAbsent(repositoryMethod, k -> DistributionSummary
+                            .builder("blog.db.invocation.statements")
+                            .description("SQL statements issued per repository method call")
+                            .tag("repository", repositoryMethod)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry))
+                    .record(current.statements);
+        }
+    }
+
+    /**
+     * @return true if this call opened the request scope (and must end it)
+     */
+    public boolean beginRequest(String description) {
+        if (currentRequest.get() != null) {
+            return false;
+        }
+        currentRequest.set(new RequestScope(description));
+        return true;
+    }
+
+    public void endRequest(String endpoint) {
+        RequestScope scope = currentRequest.get();
+        currentRequest.remove();
+        if (scope == null) {
+            return;
+        }
+        for (Execution execution : scope.completed) {
+            record(execution, endpoint);
+        }
+        requestStatements.computeIfAbsent(endpoint, k -> DistributionSummary
+                        .builder("blog.db.request.statements")
+                        .description("SQL statements issued per HTTP request")
+                        .tag("endpoint", endpoint)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(scope.statements);
+    }
+
+    Execution startExecution(String sql) {
+        Invocation invocation = currentInvocation.get();
+        if (invocation != null) {
+            invocation.statements++;
+        }
+        RequestScope scope = currentRequest.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+        return new Execution(sql, invocation != null ? invocation.repositoryMethod : NONE);
+    }
+
+    /**
+     * Called right after the statement returns; flags (and possibly explains) slow statements.
+     */
+    void executed(Execution execution, long elapsedNanos, Map<Integer, Object> parameters, DataSource explainSource) {
+        execution.elapsedNanos = elapsedNanos;
+        if (elapsedNanos < slowQueryThresholdNanos) {
+            return;
+        }
+
+        slowQueries.computeIfAbsent(execution.repository, k -> Counter.builder("blog.db.slow_queries")
+                        .description("Statements slower than app.query-metrics.slow-query-threshold")
+                        .tag("repository", execution.repository)
+                        .register(meterRegistry))
+                .increment();
+
+        if (ThreadLocalRandom.current().nextDouble() >= slowQuerySampleRate || !acquireExplainSlot()) {
+            return;
+        }
+
+        RequestScope scope = currentRequest.get();
+        String request = scope != null ? scope.description : NONE;
+        Map<Integer, Object> boundParameters = new TreeMap<>(parameters);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        boolean sensitive = sensitiveTables != null && sensitiveTables.matcher(execution.sql).find();
+        boolean showValues = !sensitive && logsParameters(execution.repository);
+
+        if (sensitive || !explainSlowQueries || explainSource == null || !isExplainable(execution.type)) {
+            logSlowQuery(execution, request, elapsedMillis, boundParameters, showValues, null);
+            return;
+        }
+        explainExecutor.execute(() -> logSlowQuery(execution, request, elapsedMillis, boundParameters, showValues,
+                explain(explainSource, execution.sql, boundParameters)));
+    }
+
+    /**
+     * Record a finished statement: immediately outside a request, at request end inside one.
+     */
+    void complete(Execution execution) {
+        if (execution.completed) {
+            return;
+        }
+        execution.completed = true;
+
+        RequestScope scope = currentRequest.get();
+        if (scope != null && scope.completed.size() < MAX_BUFFERED_PER_REQUEST) {
+            scope.completed.add(execution);
+        } else {
+            record(execution, scope != null ? UNMAPPED : NONE);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void record(Execution execution, String endpoint) {
+        String key = execution.repository + '|' + endpoint + '|' + execution.type;
+        QueryMeters queryMeters = meters.computeIfAbsent(key, k -> new QueryMeters(
+                Timer.builder("blog.db.query")
+                        .description("SQL statement execution time")
+                        .tags("repository", execution.repository, "endpoint", endpoint, "type", execution.type)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("blog.db.query.rows")
+                        .description("Rows read (queries) or affected (updates) per SQL statement")
+                        .tags("repository", execution.repository, "endpoint", endpoint, "type", execution.type)
+                        .baseUnit("rows")
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+        queryMeters.time.record(execution.elapsedNanos, TimeUnit.NANOSECONDS);
+        queryMeters.rows.record(execution.rows);
+    }
+
+    private boolean acquireExplainSlot() {
+        long now = System.currentTimeMillis();
+        long windowStart = explainWindowStart.get();
+        if (now - windowStart >= 60_000 && explainWindowStart.compareAndSet(windowStart, now)) {
+            explainsInWindow.set(0);
+        }
+        return explainsInWindow.incrementAndGet() <= maxExplainsPerMinute;
+    }
+
+    private boolean logsParameters(String repositoryMethod) {
+        if (logParametersFor.isEmpty()) {
+            return false;
+        }
+        int dot = repositoryMethod.indexOf('.');
+        return logParametersFor.contains(repositoryMethod)
+                || (dot > 0 && logParametersFor.contains(repositoryMethod.substring(0, dot)));
+    }
+
+    private boolean isExplainable(String type) {
+        return !"other".equals(type);
+    }
+
+    private String explain(DataSource dataSource, String sql, Map<Integer, Object> parameters) {
+        // Plain EXPLAIN (no ANALYZE) plans the statement without executing it
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    if (parameter.getValue() instanceof NullParameter nullParameter) {
+                        statement.setNull(parameter.getKey(), nullParameter.sqlType());
+                    } else {
+                        statement.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                }
+                StringJoiner plan = new StringJoiner("\n    ", "\n    ", "");
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        } catch (Exception e) {
+            return " (unavailable: " + e.getMessage() + ")";
+        }
+    }
+
+    private void logSlowQuery(Execution execution, String request, long elapsedMillis,
+                              Map<Integer, Object> parameters, boolean showValues, String plan) {
+        StringJoiner bound = new StringJoiner(", ", "[", "]");
+        parameters.forEach((index, value) -> bound.add(index + "="
+                + (showValues ? formatParameter(value) : redactParameter(value))));
+        log.warn("Slow query ({} ms, repository={}, request={}): {}\n  params: {}{}",
+                elapsedMillis, execution.repository, request, execution.sql, bound,
+                plan != null ? "\n  plan:" + plan : "");
+    }
+
+    private String redactParameter(Object value) {
+        if (value == null || value instanceof NullParameter) {
+            return "null";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    private String formatParameter(Object value) {
+        if (value == null || value instanceof NullParameter) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > maxParameterLength) {
+            text = text.substring(0, maxParameterLength) + "...(" + text.length() + " chars)";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    static String statementType(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "with" -> keyword;
+            default -> "other";
+        };
+    }
+
+    /**
+     * Marker for a parameter bound with setNull, keeping the SQL type for EXPLAIN.
+     */
+    record NullParameter(int sqlType) {
+    }
+
+    static final class Execution {
+        private final String sql;
+        private final String type;
+        private final String repository;
+        private long elapsedNanos;
+        private long rows;
+        private volatile boolean completed;
+
+        private Execution(String sql, String repository) {
+            this.sql = sql;
+            this.type = statementType(sql);
+            this.repository = repository;
+        }
+
+        void addRows(long count) {
+            rows += count;
+        }
+    }
+
+    private static final class Invocation {
+        private final String repositoryMethod;
+        private int statements;
+
+        private Invocation(String repositoryMethod) {
+            this.repositoryMethod = repositoryMethod;
+        }
+    }
+
+    private static final class RequestScope {
+        private final String description;
+        private final List<Execution> completed = new ArrayList<>();
+        private int statements;
+
+        private RequestScope(String description) {
+            this.description = description;
+        }
+    }
+
+    private record QueryMeters(Timer time, DistributionSummary rows) {
+    }
+}
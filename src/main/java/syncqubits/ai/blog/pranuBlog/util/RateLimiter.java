@@ -0,0 +1,171 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import syncqubits.ai.blog.pranuBlog.exception.RateLimitExceededException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token-bucket rate limiter for the public (permitAll) engagement endpoints.
+ *
+ * Each bucket is a single AtomicLong holding the "theoretical arrival time" of the next
+ * request (GCRA), which is equivalent to a token bucket but can be updated lock-free with CAS.
+ * Buckets are keyed by endpoint + client IP and endpoint + guest identifier, and live in a
+ * bounded cache that drops buckets idle for longer than a full refill.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    public enum Endpoint {
+        VIEW,
+        LIKE,
+        COMMENT,
+        REPLY
+    }
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<Endpoint, Limit> limits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> ipRejections = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> guestRejections = new EnumMap<>(Endpoint.class);
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    public RateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.idle-eviction:600000}") long idleEvictionMillis,
+            @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+            @Value("${app.rate-limit.view.requests-per-minute:60}") int viewPerMinute,
+            @Value("${app.rate-limit.view.burst:20}") int viewBurst,
+            @Value("${app.rate-limit.like.requests-per-minute:20}") int likePerMinute,
+            @Value("${app.rate-limit.like.burst:5}") int likeBurst,
+            @Value("${app.rate-limit.comment.requests-per-minute:10}") int commentPerMinute,
+            @Value("${app.rate-limit.comment.burst:3}") int commentBurst,
+            @Value("${app.rate-limit.reply.requests-per-minute:10}") int replyPerMinute,
+            @Value("${app.rate-limit.reply.burst:3}") int replyBurst) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMillis(idleEvictionMillis))
+                .build();
+
+        limits.put(Endpoint.VIEW, new Limit(viewPerMinute, viewBurst));
+        limits.put(Endpoint.LIKE, new Limit(likePerMinute, likeBurst));
+        limits.put(Endpoint.COMMENT, new Limit(commentPerMinute, commentBurst));
+        limits.put(Endpoint.REPLY, new Limit(replyPerMinute, replyBurst));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            String tag = endpoint.name().toLowerCase();
+            ipRejections.put(endpoint, Counter.builder("blog.rate_limit.rejections")
+                    .description("Requests rejected by the public endpoint rate limiter")
+                    .tag("endpoint", tag)
+                    .tag("key", "ip")
+                    .register(meterRegistry));
+            guestRejections.put(endpoint, Counter.builder("blog.rate_limit.rejections")
+                    .description("Requests rejected by the public endpoint rate limiter")
+                    .tag("endpoint", tag)
+                    .tag("key", "guest")
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("blog.rate_limit.buckets", buckets, Cache::estimatedSize);
+    }
+
+    /**
+     * Take one token for the client IP and (if present) the guest identifier.
+     * Throws RateLimitExceededException when either bucket is empty; both are checked before
+     * either is charged, so a request rejected for one key does not spend the other's token.
+     */
+    public void acquire(Endpoint endpoint, String ipAddress, String guestIdentifier) {
+        if (!enabled) {
+            return;
+        }
+
+        Limit limit = limits.get(endpoint);
+        long now = System.nanoTime();
+        String ipKey = ipAddress != null ? endpoint.name() + ":ip:" + ipAddress : null;
+        String guestKey = guestIdentifier != null && !guestIdentifier.isBlank()
+                ? endpoint.name() + ":guest:" + guestIdentifier
+                : null;
+
+        if (ipKey != null) {
+            reject(endpoint, ipRejections, "IP", ipAddress, waitNanos(ipKey, limit, now));
+        }
+        if (guestKey != null) {
+            reject(endpoint, guestRejections, "guest", guestIdentifier, waitNanos(guestKey, limit, now));
+        }
+
+        // A concurrent request may have drained a bucket since the check; the second charge
+        // still enforces the limit, at worst after the first key was charged
+        if (ipKey != null) {
+            reject(endpoint, ipRejections, "IP", ipAddress, tryAcquire(ipKey, limit, now));
+        }
+        if (guestKey != null) {
+            reject(endpoint, guestRejections, "guest", guestIdentifier, tryAcquire(guestKey, limit, now));
+        }
+    }
+
+    private void reject(Endpoint endpoint, Map<Endpoint, Counter> rejections, String keyType, String key,
+                        long waitNanos) {
+        if (waitNanos > 0) {
+            rejections.get(endpoint).increment();
+            // Rejections are already counted; logging each one at warn would let abusive clients flood the log
+            log.debug("Rate limit exceeded for {} by {} {}", endpoint, keyType, key);
+            throw new RateLimitExceededException("Too many requests", toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    /**
+     * @return 0 if a token is available, otherwise nanos until the next one; takes nothing
+     */
+    private long waitNanos(String key, Limit limit, long now) {
+        AtomicLong tat = buckets.getIfPresent(key);
+        if (tat == null) {
+            return 0;
+        }
+        long current = tat.get();
+        long start = current - now > 0 ? current : now;
+        return Math.max(0, start - now - limit.burstToleranceNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise nanos until the next token is available
+     */
+    private long tryAcquire(String key, Limit limit, long now) {
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - limit.burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, start + limit.emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private static final class Limit {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        private Limit(int requestsPerMinute, int burst) {
+            this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.exception.ResourceNotFoundException;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded share token -> post id (+ public/comment flags) cache in front of findByShareToken.
+ *
+ * Entries are loaded lazily through a projection query. Unknown tokens are cached separately
+ * with a short TTL so token-guessing scans don't reach the database on every attempt.
+ *
+ * A load that read the database before a write committed must not re-cache the old state after
+ * the write's invalidation. Every invalidation bumps a generation counter (striped by token), and
+ * a load only caches its result if the generation it saw before querying is still current.
+ * Callers that load the post entity re-check visibility on it anyway; see
+ * {@link syncqubits.ai.blog.pranuBlog.entity.Post#isPubliclyVisible()}.
+ */
+@Component
+@Slf4j
+public class ShareTokenCache {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final PostRepository postRepository;
+    private final Cache<String, Entry> entries;
+    private final Cache<String, Boolean> unknownTokens;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ShareTokenCache(
+            PostRepository postRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.share-token-cache.max-size:100000}") long maxSize,
+            @Value("${app.share-token-cache.ttl:600000}") long ttlMillis,
+            @Value("${app.share-token-cache.negative-max-size:50000}") long negativeMaxSize,
+            @Value("${app.share-token-cache.negative-ttl:60000}") long negativeTtlMillis) {
+        this.postRepository = postRepository;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        this.unknownTokens = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(Duration.ofMillis(negativeTtlMillis))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "shareTokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownTokens, "unknownShareTokens");
+    }
+
+    /**
+     * Resolve a share token without loading the post entity.
+     * Throws ResourceNotFoundException for unknown tokens.
+     */
+    public Entry resolve(String shareToken) {
+        if (shareToken == null || unknownTokens.getIfPresent(shareToken) != null) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+
+        Entry entry = entries.getIfPresent(shareToken);
+        if (entry != null) {
+            return entry;
+        }
+
+        int stripe = stripe(shareToken);
+        long generation = generations.get(stripe);
+        entry = postRepository.findRefByShareToken(shareToken)
+                .map(ref -> new Entry(ref.getId(),
+                        ref.getStatus() == Post.PostStatus.PUBLISHED && Boolean.TRUE.equals(ref.getIsPublic()),
+                        Boolean.TRUE.equals(ref.getAllowComments())))
+                .orElse(null);
+
+        if (entry == null) {
+            unknownTokens.asMap().compute(shareToken, (token, cached) -> {
+                if (generations.get(stripe) != generation) {
+                    return cached;
+                }
+                log.debug("Caching unknown share token: {}", shareToken);
+                return Boolean.TRUE;
+            });
+            throw new ResourceNotFoundException("Post not found");
+        }
+
+        // Atomic with respect to invalidate(), which bumps the generation before removing
+        Entry loaded = entry;
+        entries.asMap().compute(shareToken, (token, cached) ->
+                generations.get(stripe) == generation ? loaded : cached);
+        return entry;
+    }
+
+    /**
+     * Drop the cached mapping once the surrounding transaction commits, so a concurrent
+     * reader can't re-cache the pre-commit state.
+     */
+    public void invalidateAfterCommit(String shareToken) {
+        if (shareToken == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(shareToken);
+                }
+            });
+        } else {
+            invalidate(shareToken);
+        }
+    }
+
+    public void invalidate(String shareToken) {
+        generations.incrementAndGet(stripe(shareToken));
+        entries.invalidate(shareToken);
+        unknownTokens.invalidate(shareToken);
+    }
+
+    private static int stripe(String shareToken) {
+        return Math.floorMod(shareToken.hashCode(), GENERATION_STRIPES);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final Long postId;
+        private final boolean isPublic;
+        private final boolean allowComments;
+    }
+}
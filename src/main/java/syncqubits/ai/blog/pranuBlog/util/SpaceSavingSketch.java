@@ -0,0 +1,183 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving heavy-hitter sketch with a fixed number of counters.
+ *
+ * Any value whose true frequency exceeds total / capacity is guaranteed to be tracked.
+ * Each counter carries the overestimation it may include ({@code error}), so
+ * {@code count - error} is a guaranteed lower bound on the true frequency.
+ * Not thread-safe; callers synchronize.
+ */
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    public void add(String value, long increment) {
+        total += increment;
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            counter.count += increment;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(value, new Counter(value, increment, 0));
+            return;
+        }
+
+        // Replace the smallest counter; its count becomes the new value's error
+        Counter min = minCounter();
+        counters.remove(min.value);
+        counters.put(value, new Counter(value, min.count + increment, min.count));
+    }
+
+    /**
+     * Fold another sketch into this one. A value missing from a full sketch may still have
+     * occurred up to that sketch's minimum count, so that minimum is added as error.
+     */
+    public void merge(SpaceSavingSketch other) {
+        long thisMin = counters.size() < capacity ? 0 : minCounter().count;
+        long otherMin = other.counters.size() < other.capacity ? 0 : other.minCounter().count;
+
+        Set<String> values = new HashSet<>(counters.keySet());
+        values.addAll(other.counters.keySet());
+
+        List<Counter> merged = new ArrayList<>(values.size());
+        for (String value : values) {
+            Counter a = counters.get(value);
+            Counter b = other.counters.get(value);
+            long count = (a != null ? a.count : thisMin) + (b != null ? b.count : otherMin);
+            long error = (a != null ? a.error : thisMin) + (b != null ? b.error : otherMin);
+            merged.add(new Counter(value, count, error));
+        }
+
+        merged.sort(Comparator.comparingLong((Counter c) -> c.count).reversed());
+        counters.clear();
+        for (int i = 0; i < Math.min(capacity, merged.size()); i++) {
+            Counter counter = merged.get(i);
+            counters.put(counter.value, counter);
+        }
+        total += other.total;
+    }
+
+    public List<Counter> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            sorted.add(new Counter(counter.value, counter.count, counter.error));
+        }
+        sorted.sort(Comparator.comparingLong((Counter c) -> c.count).reversed());
+        return sorted.size() > limit ? sorted.subList(0, limit) : sorted;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public SpaceSavingSketch copy() {
+        SpaceSavingSketch copy = new SpaceSavingSketch(capacity);
+        for (Counter counter : counters.values()) {
+            copy.counters.put(counter.value, new Counter(counter.value, counter.count, counter.error));
+        }
+        copy.total = total;
+        return copy;
+    }
+
+    /**
+     * Compact jsonb-friendly form: {"total": n, "items": [{"v": value, "c": count, "e": error}, ...]}
+     */
+    public Map<String, Object> toMap() {
+        List<Map<String, Object>> items = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("v", counter.value);
+            item.put("c", counter.count);
+            item.put("e", counter.error);
+            items.add(item);
+        }
+        Map<String, Object> map = new HashMap<>();
+        map.put("total", total);
+        map.put("items", items);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SpaceSavingSketch fromMap(Map<String, Object> map, int capacity) {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        if (map == null) {
+            return sketch;
+        }
+        Object total = map.get("total");
+        sketch.total = total instanceof Number ? ((Number) total).longValue() : 0;
+
+        Object items = map.get("items");
+        if (items instanceof List) {
+            List<Counter> loaded = new ArrayList<>();
+            for (Map<String, Object> item : (List<Map<String, Object>>) items) {
+                loaded.add(new Counter((String) item.get("v"),
+                        ((Number) item.get("c")).longValue(),
+                        ((Number) item.get("e")).longValue()));
+            }
+            loaded.sort(Comparator.comparingLong((Counter c) -> c.count).reversed());
+            for (int i = 0; i < Math.min(capacity, loaded.size()); i++) {
+                sketch.counters.put(loaded.get(i).value, loaded.get(i));
+            }
+        }
+        return sketch;
+    }
+
+    private Counter minCounter() {
+        Counter min = null;
+        for (Counter counter : counters.values()) {
+            if (min == null || counter.count < min.count) {
+                min = counter;
+            }
+        }
+        return min;
+    }
+
+    public static final class Counter {
+        private final String value;
+        private long count;
+        private final long error;
+
+        private Counter(String value, long count, long error) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
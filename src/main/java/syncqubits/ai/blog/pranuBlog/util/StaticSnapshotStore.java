@@ -0,0 +1,279 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Static HTML and JSON copies of published posts on local disk, served without the database,
+ * the mapper or Jackson.
+ *
+ * Layout under the root directory:
+ * <pre>
+ * objects/ab/abcd...ef.html   immutable bodies named by the SHA-256 of their content,
+ * objects/ab/abcd...ef.html.gz  with a gzip copy when that is smaller
+ * tokens/&lt;shareToken&gt;       "&lt;html hash&gt; &lt;json hash&gt;": the post's current objects
+ * </pre>
+ *
+ * Every file is written to a temp file in its target directory and moved into place atomically,
+ * so readers see the previous version or the new one, never a partial file. Objects are shared
+ * by every token whose content hashes the same. {@link #sweep()} works from the disk alone: it
+ * deletes objects that no pointer under tokens/ references and that were last touched longer ago
+ * than the grace period. An object's modification time is bumped when a pointer stops
+ * referencing it, so responses that already resolved it (possibly handed to sendfile by name) can
+ * finish, and garbage left before a restart is still found.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.static-snapshots", name = "enabled", havingValue = "true")
+@Slf4j
+public class StaticSnapshotStore {
+
+    private static final Pattern SHARE_TOKEN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final String TEMP_PREFIX = ".tmp-";
+
+    private final Path objects;
+    private final Path tokens;
+    private final long retireAfterMillis;
+
+    public StaticSnapshotStore(
+            @Value("${app.static-snapshots.directory:./data/static-snapshots}") String directory,
+            @Value("${app.static-snapshots.retire-after:300000}") long retireAfterMillis) {
+        Path root = Paths.get(directory).toAbsolutePath().normalize();
+        this.objects = root.resolve("objects");
+        this.tokens = root.resolve("tokens");
+        this.retireAfterMillis = retireAfterMillis;
+        try {
+            Files.createDirectories(objects);
+            Files.createDirectories(tokens);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create static snapshot directory " + root, e);
+        }
+        log.info("Static snapshots stored in {}", root);
+    }
+
+    /**
+     * Write a post's pages and point its share token at them.
+     */
+    public synchronized void publish(String shareToken, byte[] html, byte[] htmlGzip,
+                                     byte[] json, byte[] jsonGzip) throws IOException {
+        Path pointer = pointer(shareToken);
+        String htmlHash = writeObject(Format.HTML, html, htmlGzip);
+        String jsonHash = writeObject(Format.JSON, json, jsonGzip);
+
+        String[] previous = readPointer(pointer);
+        writeAtomically(pointer, (htmlHash + " " + jsonHash).getBytes(StandardCharsets.US_ASCII));
+
+        if (previous != null) {
+            if (!previous[0].equals(htmlHash)) {
+                retire(Format.HTML, previous[0]);
+            }
+            if (!previous[1].equals(jsonHash)) {
+                retire(Format.JSON, previous[1]);
+            }
+        }
+    }
+
+    public synchronized void remove(String shareToken) throws IOException {
+        Path pointer = pointer(shareToken);
+        String[] previous = readPointer(pointer);
+        if (previous == null) {
+            return;
+        }
+        Files.deleteIfExists(pointer);
+        retire(Format.HTML, previous[0]);
+        retire(Format.JSON, previous[1]);
+    }
+
+    /**
+     * The current file for a share token, preferring the gzip copy when the client accepts it.
+     */
+    public Optional<StaticFile> find(String shareToken, Format format, boolean acceptsGzip) throws IOException {
+        if (!SHARE_TOKEN.matcher(shareToken).matches()) {
+            return Optional.empty();
+        }
+        String[] hashes = readPointer(tokens.resolve(shareToken));
+        if (hashes == null) {
+            return Optional.empty();
+        }
+        String hash = format == Format.HTML ? hashes[0] : hashes[1];
+        Path path = object(format, hash);
+        if (acceptsGzip) {
+            Path gzipPath = gzipPath(path);
+            if (Files.exists(gzipPath)) {
+                return Optional.of(new StaticFile(gzipPath, hash, hashes[1], format, true));
+            }
+        }
+        return Files.exists(path)
+                ? Optional.of(new StaticFile(path, hash, hashes[1], format, false))
+                : Optional.empty();
+    }
+
+    /**
+     * Delete objects no share token points to that were retired longer ago than the grace
+     * period, and temp files left behind by an interrupted write.
+     *
+     * @return number of files deleted
+     */
+    public synchronized int sweep() throws IOException {
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - retireAfterMillis);
+        Set<Path> referenced = referencedObjects(cutoff);
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(objects)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+        int deleted = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Path object = name.endsWith(GZIP_SUFFIX)
+                    ? file.resolveSibling(name.substring(0, name.length() - GZIP_SUFFIX.length()))
+                    : file;
+            if (referenced.contains(object) || !olderThan(file, cutoff)) {
+                continue;
+            }
+            try {
+                if (Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete static snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private String writeObject(Format format, byte[] body, byte[] gzip) throws IOException {
+        String hash = SnapshotEncoding.sha256(body);
+        Path path = object(format, hash);
+        if (!Files.exists(path)) {
+            Files.createDirectories(path.getParent());
+            if (gzip.length < body.length) {
+                writeAtomically(gzipPath(path), gzip);
+            }
+            writeAtomically(path, body);
+        }
+        return hash;
+    }
+
+    /**
+     * Start the grace period of an object a pointer no longer references. Other tokens may still
+     * reference it, in which case the sweep keeps it regardless.
+     */
+    private void retire(Format format, String hash) throws IOException {
+        FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+        Path path = object(format, hash);
+        for (Path file : new Path[]{path, gzipPath(path)}) {
+            try {
+                Files.setLastModifiedTime(file, now);
+            } catch (NoSuchFileException e) {
+                // No gzip copy, or already swept
+            }
+        }
+    }
+
+    private Set<Path> referencedObjects(FileTime cutoff) throws IOException {
+        Set<Path> referenced = new HashSet<>();
+        List<Path> pointers;
+        try (Stream<Path> list = Files.list(tokens)) {
+            pointers = list.toList();
+        }
+        for (Path pointer : pointers) {
+            if (pointer.getFileName().toString().startsWith(TEMP_PREFIX)) {
+                if (olderThan(pointer, cutoff)) {
+                    Files.deleteIfExists(pointer);
+                }
+                continue;
+            }
+            String[] hashes = readPointer(pointer);
+            if (hashes != null) {
+                referenced.add(object(Format.HTML, hashes[0]));
+                referenced.add(object(Format.JSON, hashes[1]));
+            }
+        }
+        return referenced;
+    }
+
+    private static boolean olderThan(Path file, FileTime cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(cutoff) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String[] readPointer(Path pointer) throws IOException {
+        try {
+            String[] hashes = Files.readString(pointer, StandardCharsets.US_ASCII).trim().split(" ");
+            return hashes.length == 2 ? hashes : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), TEMP_PREFIX, null);
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path pointer(String shareToken) {
+        if (shareToken == null || !SHARE_TOKEN.matcher(shareToken).matches()) {
+            throw new IllegalArgumentException("Invalid share token");
+        }
+        return tokens.resolve(shareToken);
+    }
+
+    private Path object(Format format, String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash + "." + format.extension);
+    }
+
+    private static Path gzipPath(Path path) {
+        return path.resolveSibling(path.getFileName() + GZIP_SUFFIX);
+    }
+
+    public enum Format {
+        HTML("html", "text/html;charset=UTF-8"),
+        JSON("json", "application/json");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * @param hash        SHA-256 of this format's body
+     * @param contentHash SHA-256 of the JSON body, the same value as the snapshot's content hash
+     */
+    public record StaticFile(Path path, String hash, String contentHash, Format format, boolean gzip) {
+    }
+}
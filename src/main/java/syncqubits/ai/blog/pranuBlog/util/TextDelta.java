@@ -0,0 +1,141 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed line deltas and full texts for post revisions.
+ *
+ * A delta is a list of operations that rebuild the target from the base text: COPY a run of base
+ * lines, or INSERT new lines. It is deflated like a full text, so a delta is only worth storing
+ * while it is smaller than the deflated target.
+ */
+public final class TextDelta {
+
+    private static final byte COPY = 'C';
+    private static final byte INSERT = 'I';
+    private static final byte END = 'E';
+
+    private TextDelta() {
+    }
+
+    public static byte[] compress(String text) {
+        return deflate(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decompress(byte[] data) {
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param changes the diff from {@code base} to {@code target}, see {@link LineDiff#diff}
+     */
+    public static byte[] encode(String[] base, String[] target, List<LineDiff.Change> changes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(base.length);
+            int cursor = 0;
+            for (LineDiff.Change change : changes) {
+                if (change.oldStart() > cursor) {
+                    writeCopy(out, cursor, change.oldStart() - cursor);
+                }
+                if (change.newEnd() > change.newStart()) {
+                    out.writeByte(INSERT);
+                    out.writeInt(change.newEnd() - change.newStart());
+                    for (int line = change.newStart(); line < change.newEnd(); line++) {
+                        byte[] encoded = target[line].getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(encoded.length);
+                        out.write(encoded);
+                    }
+                }
+                cursor = change.oldEnd();
+            }
+            if (cursor < base.length) {
+                writeCopy(out, cursor, base.length - cursor);
+            }
+            out.writeByte(END);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deflate(bytes.toByteArray());
+    }
+
+    public static String apply(String base, byte[] delta) {
+        String[] baseLines = LineDiff.lines(base);
+        StringBuilder result = new StringBuilder(base.length() + 256);
+        boolean first = true;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(delta)))) {
+            int expectedLines = in.readInt();
+            if (expectedLines != baseLines.length) {
+                throw new IllegalStateException("Delta expects " + expectedLines
+                        + " base lines, got " + baseLines.length);
+            }
+            for (byte op = in.readByte(); op != END; op = in.readByte()) {
+                if (op == COPY) {
+                    int start = in.readInt();
+                    int count = in.readInt();
+                    for (int line = start; line < start + count; line++) {
+                        first = appendLine(result, baseLines[line], first);
+                    }
+                } else if (op == INSERT) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        byte[] encoded = new byte[in.readInt()];
+                        in.readFully(encoded);
+                        first = appendLine(result, new String(encoded, StandardCharsets.UTF_8), first);
+                    }
+                } else {
+                    throw new IllegalStateException("Unknown delta operation " + op);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt revision delta", e);
+        }
+        return result.toString();
+    }
+
+    private static void writeCopy(DataOutputStream out, int start, int count) throws IOException {
+        out.writeByte(COPY);
+        out.writeInt(start);
+        out.writeInt(count);
+    }
+
+    private static boolean appendLine(StringBuilder result, String line, boolean first) {
+        if (!first) {
+            result.append('\n');
+        }
+        result.append(line);
+        return false;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+            deflate.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt compressed revision", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drops repeat views of the same post by the same viewer inside a time window,
+ * before they reach persistence.
+ *
+ * Uses two rotating generations of concurrent sets keyed by (post, viewer): a key seen in
+ * either generation is a duplicate. Generations rotate every window, so a repeat view is
+ * suppressed for at least one window and at most two.
+ */
+@Component
+@Slf4j
+public class ViewDeduplicator {
+
+    private final Counter deduplicatedViews;
+    private final Counter recordedViews;
+
+    @Value("${app.view-dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.view-dedup.window:1800000}")
+    private long windowMillis;
+
+    @Value("${app.view-dedup.max-entries:500000}")
+    private long maxEntries;
+
+    private volatile Set<String> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> previous = ConcurrentHashMap.newKeySet();
+    private volatile long rotateAt = System.currentTimeMillis();
+
+    public ViewDeduplicator(MeterRegistry meterRegistry) {
+        this.deduplicatedViews = Counter.builder("blog.views.deduplicated")
+                .description("Repeat views dropped before persistence (writes saved)")
+                .register(meterRegistry);
+        this.recordedViews = Counter.builder("blog.views.recorded")
+                .description("Views passed through to persistence")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if this is the first view of the post by this viewer in the current window
+     */
+    public boolean isFirstView(Long postId, String viewerGuestId, String ipAddress) {
+        if (!enabled) {
+            return true;
+        }
+
+        String viewer = viewerGuestId != null && !viewerGuestId.isEmpty()
+                ? "g:" + viewerGuestId
+                : "ip:" + ipAddress;
+        String key = postId + "|" + viewer;
+
+        rotateIfDue();
+
+        if (previous.contains(key) || !current.add(key)) {
+            deduplicatedViews.increment();
+            log.debug("Dropped repeat view of post {} by {}", postId, viewer);
+            return false;
+        }
+
+        recordedViews.increment();
+        return true;
+    }
+
+    public long getDeduplicatedCount() {
+        return (long) deduplicatedViews.count();
+    }
+
+    private void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < rotateAt && current.size() < maxEntries) {
+            return;
+        }
+        synchronized (this) {
+            if (now < rotateAt && current.size() < maxEntries) {
+                return;
+            }
+            previous = current;
+            current = ConcurrentHashMap.newKeySet();
+            rotateAt = now + windowMillis;
+        }
+    }
+}
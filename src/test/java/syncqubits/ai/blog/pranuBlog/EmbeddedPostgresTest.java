@@ -0,0 +1,59 @@
+package syncqubits.ai.blog.pranuBlog;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base for Spring Boot tests that need a real PostgreSQL (jsonb columns and native queries).
+ *
+ * One embedded server is started per test JVM and stopped when it exits. Every application
+ * context built for a subclass gets its own database on it, so a context reused from Spring's
+ * test context cache never loses its database to another test class.
+ */
+public abstract class EmbeddedPostgresTest {
+
+    private static final AtomicInteger databases = new AtomicInteger();
+    private static EmbeddedPostgres postgres;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres server = server();
+        String database = "test_" + databases.incrementAndGet();
+        try (Connection connection = server.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + database, e);
+        }
+        registry.add("spring.datasource.url", () -> server.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded Postgres", e);
+            }
+            EmbeddedPostgres started = postgres;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting; the server's data directory is temporary
+                }
+            }));
+        }
+        return postgres;
+    }
+}
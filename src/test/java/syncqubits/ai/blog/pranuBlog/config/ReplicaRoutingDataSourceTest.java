@@ -0,0 +1,193 @@
+package syncqubits.ai.blog.pranuBlog.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.util.IpAddressUtil;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing decisions through a real transaction manager and lazy connection proxy, with mock
+ * datasources standing in for the primary and replica databases.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG = 5_000;
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker writesTracker;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        lagMonitor = new ReplicaLagMonitor(replica, null, MAX_LAG, 1_000);
+        writesTracker = new ReadYourWritesTracker(new IpAddressUtil(), 2_000, MAX_LAG, 1_000);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replica, lagMonitor, writesTracker, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource = proxy;
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writeTransactionsUsePrimary() {
+        lagMonitor.recordLag(0, System.currentTimeMillis());
+
+        assertThat(physicalConnection(writeTx)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaWhenInSync() {
+        lagMonitor.recordLag(100, System.currentTimeMillis());
+
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimaryWhenReplicaLags() {
+        lagMonitor.recordLag(MAX_LAG + 1, System.currentTimeMillis());
+
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimaryWhenLagIsUnknown() {
+        // No successful check yet
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+
+        lagMonitor.recordLag(0, System.currentTimeMillis());
+        lagMonitor.recordFailure();
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+
+        // Last successful check is too old
+        lagMonitor.recordLag(0, System.currentTimeMillis() - 60_000);
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readsFollowOwnCommittedWriteToPrimary() {
+        lagMonitor.recordLag(0, System.currentTimeMillis());
+
+        authenticateAs(1L);
+        physicalConnection(writeTx);
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+
+        // Other users are unaffected
+        authenticateAs(2L);
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReads() {
+        lagMonitor.recordLag(0, System.currentTimeMillis());
+
+        authenticateAs(1L);
+        writeTx.executeWithoutResult(status -> {
+            touch();
+            status.setRollbackOnly();
+        });
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void subjectCapturedOnRequestThreadFollowsAsyncWork() throws Exception {
+        lagMonitor.recordLag(0, System.currentTimeMillis());
+        authenticateAs(1L);
+        String subject = writesTracker.currentSubject();
+        SecurityContextHolder.clearContext();
+
+        // As on an async response thread: no security context, no request
+        Connection[] connections = new Connection[2];
+        Thread worker = new Thread(() -> {
+            try {
+                writesTracker.runAs(subject, () -> {
+                    connections[0] = physicalConnection(writeTx);
+                    connections[1] = physicalConnection(readOnlyTx);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        worker.start();
+        worker.join();
+
+        assertThat(connections[1]).isSameAs(primaryConnection);
+        authenticateAs(1L);
+        assertThat(physicalConnection(readOnlyTx)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void stickinessLastsForWindowOrReplicaLag() {
+        long writtenAt = 1_000_000;
+        writesTracker.recordWrite("user:1", writtenAt);
+
+        assertThat(writesTracker.isSticky("user:1", writtenAt + 1_999, 0)).isTrue();
+        assertThat(writesTracker.isSticky("user:1", writtenAt + 2_000, 0)).isFalse();
+        assertThat(writesTracker.isSticky("user:1", writtenAt + 3_000, 4_000)).isTrue();
+        assertThat(writesTracker.isSticky("user:2", writtenAt, 0)).isFalse();
+        assertThat(writesTracker.isSticky(null, writtenAt, 0)).isFalse();
+    }
+
+    private Connection physicalConnection(TransactionTemplate tx) {
+        return tx.execute(status -> touch());
+    }
+
+    /**
+     * Forces the lazy proxy to fetch (and route) a physical connection, and returns it.
+     */
+    private Connection touch() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        return ((ConnectionProxy) connection).getTargetConnection();
+    }
+
+    private void authenticateAs(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, List.of(new SimpleGrantedAuthority("ROLE_AUTHOR"))));
+    }
+}
@@ -0,0 +1,303 @@
+package syncqubits.ai.blog.pranuBlog.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.EmbeddedPostgresTest;
+import syncqubits.ai.blog.pranuBlog.entity.CommentsDocument;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.UserRepository;
+import syncqubits.ai.blog.pranuBlog.util.EngagementDefaults;
+import syncqubits.ai.blog.pranuBlog.util.JwtUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement and row budgets per endpoint, read from the per-request query metrics.
+ *
+ * Each endpoint is called once to warm in-memory caches (share tokens, traffic sketches), then
+ * measured on a second call. The second-level cache is switched off so entity loads it would
+ * hide, such as a lazy author per listed post, count against the budget. List budgets don't
+ * grow with the number of posts or authors. A change that adds statements to one of these
+ * paths fails here; lower the budget when a change removes some.
+ *
+ * Authenticated requests include the token revocation check run by JwtAuthenticationFilter.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "app.rate-limit.enabled=false",
+        "app.query-metrics.explain=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTest extends EmbeddedPostgresTest {
+
+    private static final String BROWSER_USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36";
+
+    private static final int AUTHORS = 3;
+    private static final int PUBLIC_POSTS_PER_AUTHOR = 2;
+    private static final String SEEDED_COMMENT_ID = "c-seeded";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger viewers = new AtomicInteger();
+
+    private String bearer;
+    private Long ownPostId;
+    private String shareToken;
+    private List<String> publicTokens;
+
+    @BeforeAll
+    void seed() {
+        List<User> authors = new ArrayList<>();
+        List<Post> posts = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int a = 0; a < AUTHORS; a++) {
+                User author = userRepository.save(User.builder()
+                        .name("Author " + a)
+                        .email("budget-author-" + a + "@example.com")
+                        .passwordHash("not-a-real-hash")
+                        .isVerified(true)
+                        .build());
+                authors.add(author);
+                for (int p = 0; p < PUBLIC_POSTS_PER_AUTHOR; p++) {
+                    posts.add(postRepository.save(newPost(author, "a" + a + "-p" + p, Post.PostStatus.PUBLISHED)));
+                }
+                postRepository.save(newPost(author, "a" + a + "-draft", Post.PostStatus.DRAFT));
+            }
+        });
+
+        User owner = authors.get(0);
+        bearer = "Bearer " + jwtUtil.generateToken(owner.getId(), owner.getEmail(), "AUTHOR");
+        ownPostId = posts.get(0).getId();
+        shareToken = posts.get(0).getShareToken();
+        publicTokens = posts.stream().map(Post::getShareToken).toList();
+    }
+
+    @Test
+    void listPublicPosts() throws Exception {
+        // Posts with their authors fetched in the same select
+        assertBudget("GET /api/posts/public/list", 1, AUTHORS * PUBLIC_POSTS_PER_AUTHOR,
+                () -> get("/api/posts/public/list"));
+    }
+
+    @Test
+    void trendingPosts() throws Exception {
+        for (String token : publicTokens) {
+            mockMvc.perform(post("/api/posts/public/{shareToken}/like", token)
+                            .header("User-Agent", BROWSER_USER_AGENT)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(json(Map.of("guestName", "Trend", "guestIdentifier", "budget-trend"))))
+                    .andExpect(status().isOk());
+        }
+
+        // Ranked ids come from memory; one select for those posts and their authors
+        assertBudget("GET /api/posts/public/trending", 1, AUTHORS * PUBLIC_POSTS_PER_AUTHOR,
+                () -> get("/api/posts/public/trending"));
+    }
+
+    @Test
+    void firstViewOfPublicPost() throws Exception {
+        // Post, author, version-checked update
+        assertBudget("GET /api/posts/public/{shareToken}", 3, 3,
+                () -> publicView("viewer-" + viewers.incrementAndGet()));
+    }
+
+    @Test
+    void repeatViewOfPublicPost() throws Exception {
+        // Deduplicated: post and author only, no write
+        assertBudget("GET /api/posts/public/{shareToken}", 2, 2,
+                () -> publicView("repeat-viewer"));
+    }
+
+    @Test
+    void publicPostContent() throws Exception {
+        // Served from the cached snapshot the first call stored
+        assertBudget("GET /api/posts/public/{shareToken}/content", 0, 0,
+                () -> get("/api/posts/public/{shareToken}/content", shareToken)
+                        .header("Accept-Encoding", "gzip"));
+    }
+
+    @Test
+    void toggleLike() throws Exception {
+        // Post, author (for the response), update
+        assertBudget("POST /api/posts/public/{shareToken}/like", 3, 3,
+                () -> post("/api/posts/public/{shareToken}/like", shareToken)
+                        .header("User-Agent", BROWSER_USER_AGENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("guestName", "Fan", "guestIdentifier", "budget-fan"))));
+    }
+
+    @Test
+    void addComment() throws Exception {
+        assertBudget("POST /api/posts/public/{shareToken}/comments", 2, 2,
+                () -> post("/api/posts/public/{shareToken}/comments", shareToken)
+                        .header("User-Agent", BROWSER_USER_AGENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("guestName", "Commenter", "guestIdentifier", "budget-commenter",
+                                "content", "Counting queries"))));
+    }
+
+    @Test
+    void addReply() throws Exception {
+        assertBudget("POST /api/posts/public/{shareToken}/replies", 2, 2,
+                () -> post("/api/posts/public/{shareToken}/replies", shareToken)
+                        .header("User-Agent", BROWSER_USER_AGENT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("parentCommentId", SEEDED_COMMENT_ID, "guestName", "Replier",
+                                "content", "Counting queries too"))));
+    }
+
+    @Test
+    void getMyPosts() throws Exception {
+        // Token check, posts with author
+        assertBudget("GET /api/posts", 2, PUBLIC_POSTS_PER_AUTHOR + 1,
+                () -> get("/api/posts").header("Authorization", bearer));
+    }
+
+    @Test
+    void getPostById() throws Exception {
+        assertBudget("GET /api/posts/{postId}", 3, 2,
+                () -> get("/api/posts/{postId}", ownPostId).header("Authorization", bearer));
+    }
+
+    @Test
+    void dashboard() throws Exception {
+        // Token check, posts with author
+        assertBudget("GET /api/dashboard", 2, PUBLIC_POSTS_PER_AUTHOR + 1,
+                () -> get("/api/dashboard").param("sortBy", "TOP_VIEWS").header("Authorization", bearer));
+    }
+
+    @Test
+    void postAnalytics() throws Exception {
+        // Token check, owner id projection, rollup series
+        assertBudget("GET /api/dashboard/posts/{postId}/analytics", 3, 1,
+                () -> get("/api/dashboard/posts/{postId}/analytics", ownPostId).header("Authorization", bearer));
+    }
+
+    @Test
+    void trafficBreakdown() throws Exception {
+        // Token check, owner id projection, persisted bot views; sketches are cached after the first call
+        assertBudget("GET /api/dashboard/posts/{postId}/traffic", 3, 1,
+                () -> get("/api/dashboard/posts/{postId}/traffic", ownPostId).header("Authorization", bearer));
+    }
+
+    private void assertBudget(String endpoint, long maxStatements, long maxRows,
+                              Supplier<RequestBuilder> request) throws Exception {
+        mockMvc.perform(request.get()).andExpect(status().is2xxSuccessful());
+
+        Cost before = cost(endpoint);
+        mockMvc.perform(request.get()).andExpect(status().is2xxSuccessful());
+        Cost after = cost(endpoint);
+
+        assertThat(after.requests() - before.requests())
+                .as("requests recorded for %s", endpoint)
+                .isEqualTo(1);
+        assertThat(after.statements() - before.statements())
+                .as("SQL statements for %s", endpoint)
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(after.rows() - before.rows())
+                .as("rows read or written for %s", endpoint)
+                .isLessThanOrEqualTo(maxRows);
+    }
+
+    private Cost cost(String endpoint) {
+        DistributionSummary statements = meterRegistry.find("blog.db.request.statements")
+                .tag("endpoint", endpoint)
+                .summary();
+        double rows = meterRegistry.find("blog.db.query.rows")
+                .tag("endpoint", endpoint)
+                .summaries()
+                .stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+        return statements == null
+                ? new Cost(0, 0, (long) rows)
+                : new Cost(statements.count(), (long) statements.totalAmount(), (long) rows);
+    }
+
+    private RequestBuilder publicView(String viewerGuestId) {
+        return get("/api/posts/public/{shareToken}", shareToken)
+                .param("guestName", "Reader")
+                .param("viewerGuestId", viewerGuestId)
+                .header("User-Agent", BROWSER_USER_AGENT);
+    }
+
+    private Post newPost(User author, String key, Post.PostStatus status) {
+        boolean published = status == Post.PostStatus.PUBLISHED;
+
+        CommentsDocument comments = EngagementDefaults.comments().plus(new CommentsDocument.Entry(
+                SEEDED_COMMENT_ID, null, "Seed", null, null, "First!", System.currentTimeMillis(), List.of()));
+
+        return Post.builder()
+                .author(author)
+                .title("Budget post " + key)
+                .slug("budget-" + key)
+                .shareToken(published ? "budget-token-" + key : null)
+                .content("Body of " + key)
+                .excerpt("Excerpt of " + key)
+                .status(status)
+                .isPublic(published)
+                .views(EngagementDefaults.views())
+                .likes(EngagementDefaults.likes())
+                .favorites(EngagementDefaults.favorites())
+                .comments(comments)
+                .metrics(EngagementDefaults.metrics())
+                .build();
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Cost(long requests, long statements, long rows) {
+    }
+}
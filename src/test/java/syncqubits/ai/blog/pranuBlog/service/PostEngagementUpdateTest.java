@@ -0,0 +1,141 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import syncqubits.ai.blog.pranuBlog.EmbeddedPostgresTest;
+import syncqubits.ai.blog.pranuBlog.entity.Post;
+import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.repository.PostRepository;
+import syncqubits.ai.blog.pranuBlog.repository.UserRepository;
+import syncqubits.ai.blog.pranuBlog.util.EngagementDefaults;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The UPDATE issued for an engagement write sets only the columns it changed: a like rewrites
+ * the likes document and the counters, not the content or the other engagement documents.
+ *
+ * Besides those, every post update bumps {@code version} (optimistic locking) and
+ * {@code updated_at} (which the engagement rollup scans by).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.rate-limit.enabled=false",
+        "app.query-metrics.explain=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostEngagementUpdateTest extends EmbeddedPostgresTest {
+
+    private static final String SHARE_TOKEN = "update-columns-token";
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestConfiguration
+    static class CapturedStatements {
+        @Bean
+        HibernatePropertiesCustomizer capturingStatementInspector() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User author = userRepository.save(User.builder()
+                    .name("Author")
+                    .email("update-columns@example.com")
+                    .passwordHash("not-a-real-hash")
+                    .isVerified(true)
+                    .build());
+            postRepository.save(Post.builder()
+                    .author(author)
+                    .title("Update columns")
+                    .slug("update-columns")
+                    .shareToken(SHARE_TOKEN)
+                    .content("Body")
+                    .status(Post.PostStatus.PUBLISHED)
+                    .isPublic(true)
+                    .views(EngagementDefaults.views())
+                    .likes(EngagementDefaults.likes())
+                    .favorites(EngagementDefaults.favorites())
+                    .comments(EngagementDefaults.comments())
+                    .metrics(EngagementDefaults.metrics())
+                    .build());
+        });
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void likeUpdatesOnlyLikesAndCounters() {
+        postService.toggleLike(SHARE_TOKEN, null, "Guest", "guest-like", request());
+
+        assertThat(postUpdates()).containsExactly(Set.of("likes", "metrics", "version", "updated_at"));
+    }
+
+    @Test
+    void unlikeUpdatesOnlyLikesAndCounters() {
+        postService.toggleLike(SHARE_TOKEN, null, "Guest", "guest-unlike", request());
+        STATEMENTS.clear();
+
+        postService.toggleLike(SHARE_TOKEN, null, "Guest", "guest-unlike", request());
+
+        assertThat(postUpdates()).containsExactly(Set.of("likes", "metrics", "version", "updated_at"));
+    }
+
+    /**
+     * The columns set by each UPDATE of the posts table, in statement order.
+     */
+    private static List<Set<String>> postUpdates() {
+        return STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update posts "))
+                .map(sql -> sql.substring(sql.indexOf(" set ") + 5, sql.indexOf(" where ")))
+                .map(assignments -> Arrays.stream(assignments.split(","))
+                        .map(assignment -> assignment.substring(0, assignment.indexOf('=')).trim())
+                        .collect(Collectors.toSet()))
+                .toList();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
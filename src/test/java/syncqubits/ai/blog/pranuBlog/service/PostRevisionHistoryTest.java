@@ -0,0 +1,212 @@
+package syncqubits.ai.blog.pranuBlog.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import syncqubits.ai.blog.pranuBlog.EmbeddedPostgresTest;
+import syncqubits.ai.blog.pranuBlog.dto.request.CreatePostRequest;
+import syncqubits.ai.blog.pranuBlog.dto.request.UpdatePostRequest;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.PostRevisionResponse;
+import syncqubits.ai.blog.pranuBlog.dto.response.RevisionDiffResponse;
+import syncqubits.ai.blog.pranuBlog.entity.PostRevision;
+import syncqubits.ai.blog.pranuBlog.entity.User;
+import syncqubits.ai.blog.pranuBlog.repository.PostRevisionRepository;
+import syncqubits.ai.blog.pranuBlog.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Creating a post records its first revision, with a timestamp, in the same transaction; edits
+ * add revisions that rebuild to the content saved at the time. A short keyframe interval puts
+ * several delta chains and keyframe boundaries within a dozen edits.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.rate-limit.enabled=false",
+        "app.query-metrics.explain=false",
+        "app.revisions.keyframe-interval=" + PostRevisionHistoryTest.KEYFRAME_INTERVAL
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostRevisionHistoryTest extends EmbeddedPostgresTest {
+
+    static final int KEYFRAME_INTERVAL = 5;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRevisionService postRevisionService;
+
+    @Autowired
+    private PostRevisionRepository revisionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long authorId;
+
+    @BeforeAll
+    void seed() {
+        authorId = userRepository.save(User.builder()
+                .name("Author")
+                .email("revisions@example.com")
+                .passwordHash("not-a-real-hash")
+                .isVerified(true)
+                .build()).getId();
+    }
+
+    @Test
+    void createPostRecordsFirstRevision() {
+        PostResponse created = postService.createPost(authorId, CreatePostRequest.builder()
+                .title("First draft")
+                .content("The first version of the body.")
+                .build());
+
+        List<PostRevisionResponse> revisions = postRevisionService.listRevisions(authorId, created.getId());
+
+        assertThat(revisions).hasSize(1);
+        assertThat(revisions.get(0).getRevision()).isEqualTo(1);
+        assertThat(revisions.get(0).getCreatedAt()).isNotNull();
+        assertThat(postRevisionService.getRevision(authorId, created.getId(), 1).getContent())
+                .isEqualTo("The first version of the body.");
+    }
+
+    @Test
+    void updatePostKeepsEarlierRevisions() {
+        PostResponse created = postService.createPost(authorId, CreatePostRequest.builder()
+                .title("Edited post")
+                .content("Line one\nLine two\n")
+                .build());
+
+        postService.updatePost(authorId, created.getId(), UpdatePostRequest.builder()
+                .content("Line one\nLine two, edited\n")
+                .build());
+
+        assertThat(postRevisionService.listRevisions(authorId, created.getId()))
+                .extracting(PostRevisionResponse::getRevision)
+                .containsExactlyInAnyOrder(1, 2);
+        assertThat(postRevisionService.getRevision(authorId, created.getId(), 1).getContent())
+                .isEqualTo("Line one\nLine two\n");
+        assertThat(postRevisionService.getRevision(authorId, created.getId(), 2).getContent())
+                .isEqualTo("Line one\nLine two, edited\n");
+    }
+
+    @Test
+    void largeEditsAreStoredAsDeltasBetweenKeyframes() {
+        List<String> versions = new ArrayList<>();
+        versions.add(largeContent());
+        PostResponse created = postService.createPost(authorId, CreatePostRequest.builder()
+                .title("Long post")
+                .content(versions.get(0))
+                .build());
+        Long postId = created.getId();
+
+        int revisions = 3 * KEYFRAME_INTERVAL - 2;
+        for (int revision = 2; revision <= revisions; revision++) {
+            versions.add(editLine(versions.get(revision - 2), revision * 7, "Edited in revision " + revision));
+            postService.updatePost(authorId, postId, UpdatePostRequest.builder()
+                    .content(versions.get(revision - 1))
+                    .build());
+        }
+
+        for (int revision = 1; revision <= revisions; revision++) {
+            PostRevision stored = revisionRepository.findById(new PostRevision.Key(postId, revision)).orElseThrow();
+            int keyframe = 1 + (revision - 1) / KEYFRAME_INTERVAL * KEYFRAME_INTERVAL;
+            assertThat(stored.getKeyframeRevision()).as("keyframe of revision %d", revision).isEqualTo(keyframe);
+            assertThat(stored.isKeyframe()).isEqualTo(revision == keyframe);
+            if (!stored.isKeyframe()) {
+                // One changed line out of two hundred
+                assertThat(stored.getData().length).isLessThan(versions.get(revision - 1).length() / 20);
+            }
+            assertThat(postRevisionService.getRevision(authorId, postId, revision).getContent())
+                    .as("content of revision %d", revision)
+                    .isEqualTo(versions.get(revision - 1));
+        }
+    }
+
+    @Test
+    void diffReportsChangedLinesAcrossAKeyframe() {
+        String original = largeContent();
+        PostResponse created = postService.createPost(authorId, CreatePostRequest.builder()
+                .title("Diffed post")
+                .content(original)
+                .build());
+        Long postId = created.getId();
+        String current = original;
+        for (int revision = 2; revision <= KEYFRAME_INTERVAL + 2; revision++) {
+            current = editLine(current, revision, "Edited in revision " + revision);
+            postService.updatePost(authorId, postId, UpdatePostRequest.builder().content(current).build());
+        }
+        int last = KEYFRAME_INTERVAL + 2;
+
+        RevisionDiffResponse diff = postRevisionService.diff(authorId, postId, 1, last);
+
+        assertThat(diff.getTitleChanged()).isFalse();
+        assertThat(diff.getLinesAdded()).isEqualTo(last - 1);
+        assertThat(diff.getLinesRemoved()).isEqualTo(last - 1);
+        assertThat(diff.getDiff())
+                .contains("-" + original.split("\n")[2])
+                .contains("+Edited in revision 2")
+                .contains("+Edited in revision " + last);
+    }
+
+    @Test
+    void restoreRevisionRecordsItAsANewRevision() {
+        String original = largeContent();
+        PostResponse created = postService.createPost(authorId, CreatePostRequest.builder()
+                .title("Restored post")
+                .content(original)
+                .build());
+        Long postId = created.getId();
+        String edited = editLine(original, 10, "A regrettable edit");
+        postService.updatePost(authorId, postId, UpdatePostRequest.builder()
+                .title("Renamed post")
+                .content(edited)
+                .build());
+
+        PostResponse restored = postService.restoreRevision(authorId, postId, 1);
+
+        assertThat(restored.getTitle()).isEqualTo("Restored post");
+        assertThat(postService.getPostById(authorId, postId).getContent()).isEqualTo(original);
+        assertThat(postRevisionService.listRevisions(authorId, postId))
+                .extracting(PostRevisionResponse::getRevision)
+                .containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(postRevisionService.getRevision(authorId, postId, 2).getContent()).isEqualTo(edited);
+        assertThat(postRevisionService.getRevision(authorId, postId, 3).getContent()).isEqualTo(original);
+        assertThat(postRevisionService.diff(authorId, postId, 1, 3).getLinesAdded()).isZero();
+    }
+
+    /**
+     * Two hundred lines of random words: compresses poorly, so a one-line edit is far smaller as
+     * a delta than as a keyframe.
+     */
+    private static String largeContent() {
+        Random random = new Random(7);
+        StringBuilder content = new StringBuilder();
+        for (int line = 0; line < 200; line++) {
+            content.append("Paragraph ").append(line).append(':');
+            for (int word = 0; word < 12; word++) {
+                content.append(' ');
+                for (int letter = 3 + random.nextInt(6); letter > 0; letter--) {
+                    content.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            content.append('\n');
+        }
+        return content.toString();
+    }
+
+    private static String editLine(String content, int line, String replacement) {
+        String[] lines = content.split("\n", -1);
+        lines[line] = replacement;
+        return String.join("\n", Arrays.asList(lines));
+    }
+}
@@ -0,0 +1,92 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void findsOverlappingPatterns() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "she", "his", "hers"));
+
+        assertThat(matcher.matches("ushers")).isTrue();
+        assertThat(matcher.matches("ahis")).isTrue();
+        assertThat(matcher.matches("hxsxe")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+    }
+
+    @Test
+    void matchesPatternReachedThroughAFailureLink() {
+        // "bc" ends inside a partial match of "abcd", which then fails
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("abcd", "bc"));
+
+        assertThat(matcher.matches("xabcx")).isTrue();
+        assertThat(matcher.matches("xabxcd")).isFalse();
+    }
+
+    @Test
+    void ignoresAsciiCaseOnBothSides() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Googlebot", " curl/ "));
+
+        assertThat(matcher.matches("Mozilla/5.0 (compatible; GOOGLEBOT/2.1)")).isTrue();
+        assertThat(matcher.matches("CURL/8.4.0")).isTrue();
+        assertThat(matcher.matches("Mozilla/5.0 (Windows NT 10.0) Firefox/120.0")).isFalse();
+    }
+
+    @Test
+    void nonAsciiTextNeverMatchesAsciiPatterns() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("bot"));
+
+        assertThat(matcher.matches("bötbot")).isTrue();
+        assertThat(matcher.matches("bøt bο t")).isFalse();
+    }
+
+    @Test
+    void rejectsNonAsciiPatternsAndSkipsBlankOnes() {
+        assertThatThrownBy(() -> new AhoCorasickMatcher(List.of("bøt")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        AhoCorasickMatcher empty = new AhoCorasickMatcher(Arrays.asList(null, "", "  "));
+        assertThat(empty.stateCount()).isEqualTo(1);
+        assertThat(empty.matches("anything")).isFalse();
+        assertThat(empty.matches(null)).isFalse();
+    }
+
+    @Test
+    void agreesWithNaiveSearchOnRandomInput() {
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0, count = 1 + random.nextInt(6); i < count; i++) {
+                patterns.add(randomText(random, 1 + random.nextInt(4)));
+            }
+            AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+
+            for (int i = 0; i < 50; i++) {
+                String text = randomText(random, random.nextInt(30));
+                String lower = text.toLowerCase(Locale.ROOT);
+                boolean expected = patterns.stream()
+                        .anyMatch(pattern -> lower.contains(pattern.trim().toLowerCase(Locale.ROOT)));
+                assertThat(matcher.matches(text)).as("%s in %s", patterns, text).isEqualTo(expected);
+            }
+        }
+    }
+
+    // Small alphabet, mixed case, so patterns share prefixes and suffixes often
+    private static String randomText(Random random, int length) {
+        String alphabet = "abcABC-";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DecayedTopKTest {
+
+    private static final long HALF_LIFE = 1_000;
+
+    @Test
+    void scoresHalveEveryHalfLife() {
+        DecayedTopK topK = new DecayedTopK(3, HALF_LIFE, 0);
+        topK.add(1, 8.0, 0);
+
+        assertThat(topK.top(3, HALF_LIFE).get(0).getScore()).isCloseTo(4.0, within(1e-9));
+        assertThat(topK.top(3, 3 * HALF_LIFE).get(0).getScore()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void restoredScoreDecaysFromItsCheckpointTime() {
+        DecayedTopK topK = new DecayedTopK(3, HALF_LIFE, 0);
+        topK.restore(1, 4.0, 2 * HALF_LIFE, 2 * HALF_LIFE);
+
+        assertThat(topK.top(3, 3 * HALF_LIFE).get(0).getScore()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void removalRefillsTheTopFromTrackedIds() {
+        DecayedTopK topK = new DecayedTopK(2, HALF_LIFE, 0);
+        topK.add(1, 3.0, 0);
+        topK.add(2, 2.0, 0);
+        topK.add(3, 1.0, 0);
+        assertThat(ids(topK.top(5, 0))).containsExactly(1L, 2L);
+
+        topK.remove(1);
+
+        assertThat(ids(topK.top(5, 0))).containsExactly(2L, 3L);
+        assertThat(topK.trackedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void pruneOnlyDropsLowScoresOutsideTheTop() {
+        DecayedTopK topK = new DecayedTopK(2, HALF_LIFE, 0);
+        topK.add(1, 0.1, 0);
+        topK.add(2, 0.2, 0);
+        topK.add(3, 0.3, 0);
+        topK.add(4, 5.0, 0);
+
+        // Only id 1 is below the minimum and outside the top two
+        assertThat(topK.prune(0.15, 0)).isEqualTo(1);
+        assertThat(topK.trackedCount()).isEqualTo(3);
+
+        // A minimum above everything still keeps the top two
+        assertThat(topK.prune(100, 10 * HALF_LIFE)).isEqualTo(1);
+        assertThat(ids(topK.top(5, 10 * HALF_LIFE))).containsExactly(4L, 3L);
+    }
+
+    /**
+     * Random adds and removes over many half-lives (so the landmark is rebased several times),
+     * compared after every step with scores decayed from scratch.
+     */
+    @Test
+    void matchesBruteForceAcrossRebases() {
+        int capacity = 5;
+        long halfLife = 100;
+        double lambda = Math.log(2) / halfLife;
+        Random random = new Random(11);
+        DecayedTopK topK = new DecayedTopK(capacity, halfLife, 0);
+        Map<Long, List<double[]>> events = new HashMap<>();
+
+        long now = 0;
+        for (int step = 0; step < 3_000; step++) {
+            now += random.nextInt(40);
+            long id = random.nextInt(30);
+            if (random.nextInt(10) == 0) {
+                topK.remove(id);
+                events.remove(id);
+            } else {
+                double weight = 1 + random.nextInt(5);
+                topK.add(id, weight, now);
+                events.computeIfAbsent(id, k -> new ArrayList<>()).add(new double[]{weight, now});
+            }
+
+            List<DecayedTopK.Entry> expected = bruteForceTop(events, lambda, now, capacity);
+            List<DecayedTopK.Entry> actual = topK.top(capacity, now);
+            assertThat(ids(actual)).as("top at step %d", step).isEqualTo(ids(expected));
+            for (int i = 0; i < actual.size(); i++) {
+                double score = expected.get(i).getScore();
+                assertThat(actual.get(i).getScore()).isCloseTo(score, within(score * 1e-9));
+            }
+        }
+    }
+
+    private static List<DecayedTopK.Entry> bruteForceTop(Map<Long, List<double[]>> events, double lambda,
+                                                         long now, int limit) {
+        List<DecayedTopK.Entry> scores = new ArrayList<>();
+        events.forEach((id, list) -> {
+            double score = 0;
+            for (double[] event : list) {
+                score += event[0] * Math.exp(-lambda * (now - event[1]));
+            }
+            scores.add(new DecayedTopK.Entry(id, score));
+        });
+        scores.sort(Comparator.comparingDouble(DecayedTopK.Entry::getScore).reversed()
+                .thenComparing(Comparator.comparingLong(DecayedTopK.Entry::getId).reversed()));
+        return scores.subList(0, Math.min(limit, scores.size()));
+    }
+
+    private static List<Long> ids(List<DecayedTopK.Entry> entries) {
+        return entries.stream().map(DecayedTopK.Entry::getId).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A small wheel (4 slots, 3 levels: 64 ticks before overflow) so deadlines land on every level
+ * and in overflow, advanced deterministically.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+    private static final int LEVELS = 3;
+    private static final long START = 1_000;
+    // Ticks covered before a deadline waits in overflow
+    private static final long RANGE = 64;
+
+    @Test
+    void firesEachDeadlineOnItsTickAcrossLevelsAndOverflow() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+        Map<Long, Long> deadlines = new HashMap<>();
+        long key = 0;
+        // Every offset up to five times the wheel's range, including unaligned deadlines and the
+        // level and overflow boundaries
+        for (long offset = 1; offset <= 5 * RANGE * TICK; offset += 7) {
+            deadlines.put(key, START + offset);
+            wheel.schedule(key++, START + offset);
+        }
+        for (long ticks : new long[]{1, WHEEL_SIZE - 1, WHEEL_SIZE, WHEEL_SIZE + 1, 16, 17, RANGE - 1, RANGE, RANGE + 1}) {
+            deadlines.put(key, START + ticks * TICK);
+            wheel.schedule(key++, START + ticks * TICK);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = START + TICK; now <= START + 6 * RANGE * TICK; now += TICK) {
+            for (Long fired : wheel.advance(now)) {
+                assertThat(firedAt.put(fired, now)).as("key %d fired twice", fired).isNull();
+            }
+        }
+
+        assertThat(firedAt).hasSameSizeAs(deadlines);
+        deadlines.forEach((k, deadline) -> {
+            long now = firedAt.get(k);
+            assertThat(deadline).as("key %d fired early", k).isLessThanOrEqualTo(now);
+            assertThat(deadline).as("key %d fired late", k).isGreaterThan(now - TICK);
+        });
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void irregularAdvancesFireEachDeadlineOnce() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long key = 0; key < 2_000; key++) {
+            long deadline = START + 1 + random.nextInt((int) (8 * RANGE * TICK));
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        int fired = 0;
+        long previous = START;
+        while (wheel.size() > 0) {
+            long now = previous + TICK * (1 + random.nextInt(40));
+            for (Long key : wheel.advance(now)) {
+                long deadline = deadlines.get(key);
+                assertThat(deadline).as("key %d fired early", key).isLessThanOrEqualTo(now);
+                assertThat(deadline).as("key %d fired late", key).isGreaterThan(previous);
+                fired++;
+            }
+            previous = now;
+        }
+        assertThat(fired).isEqualTo(deadlines.size());
+    }
+
+    @Test
+    void passedDeadlineFiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+
+        wheel.schedule("late", START - 5 * TICK);
+
+        assertThat(wheel.advance(START)).containsExactly("late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleReplacesEarlierDeadlineAndCancelRemoves() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+        wheel.schedule("moved", START + 2 * TICK);
+        wheel.schedule("moved", START + 30 * TICK);
+        wheel.schedule("cancelled", START + 3 * TICK);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.advance(START + 29 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 30 * TICK)).containsExactly("moved");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void clockJumpPastTheWheelFiresOnlyPassedDeadlines() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, LEVELS, START);
+        long jump = START + 10 * RANGE * TICK;
+        wheel.schedule("passed", START + 5 * TICK);
+        wheel.schedule("overflowed", START + 9 * RANGE * TICK);
+        wheel.schedule("after", jump + 3 * TICK);
+
+        assertThat(wheel.advance(jump)).containsExactlyInAnyOrder("passed", "overflowed");
+        assertThat(wheel.advance(jump + 2 * TICK)).isEmpty();
+        assertThat(wheel.advance(jump + 3 * TICK)).isEqualTo(List.of("after"));
+    }
+}
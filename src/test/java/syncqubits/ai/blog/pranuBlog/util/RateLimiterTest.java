@@ -0,0 +1,94 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import syncqubits.ai.blog.pranuBlog.exception.RateLimitExceededException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * One request per minute with a burst of two, so no token refills while a test runs and every
+ * outcome is deterministic.
+ */
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(meterRegistry, 600_000, 1_000,
+                1, 2, 1, 2, 1, 2, 1, 2);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+    }
+
+    @Test
+    void rejectsOnceTheBurstIsSpent() {
+        rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.1", null);
+        rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.1", null);
+
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.1", null))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L));
+        assertThat(rejections("like", "ip")).isEqualTo(1);
+    }
+
+    @Test
+    void bucketsAreSeparatePerEndpointAndClient() {
+        rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.1", null);
+        rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.1", null);
+
+        assertThatCode(() -> {
+            rateLimiter.acquire(RateLimiter.Endpoint.COMMENT, "10.0.0.1", null);
+            rateLimiter.acquire(RateLimiter.Endpoint.LIKE, "10.0.0.2", null);
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void guestLimitAppliesAcrossAddresses() {
+        rateLimiter.acquire(RateLimiter.Endpoint.VIEW, "10.0.0.1", "guest-1");
+        rateLimiter.acquire(RateLimiter.Endpoint.VIEW, "10.0.0.2", "guest-1");
+
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.VIEW, "10.0.0.3", "guest-1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(rejections("view", "guest")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionForOneKeyDoesNotSpendTheOther() {
+        rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.1", "guest-1");
+        rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.2", "guest-1");
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.3", "guest-1"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        // 10.0.0.3 still has its whole burst
+        rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.3", null);
+        rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.3", "  ");
+        assertThatThrownBy(() -> rateLimiter.acquire(RateLimiter.Endpoint.REPLY, "10.0.0.3", null))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                rateLimiter.acquire(RateLimiter.Endpoint.COMMENT, "10.0.0.1", "guest-1");
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private double rejections(String endpoint, String key) {
+        return meterRegistry.find("blog.rate_limit.rejections")
+                .tag("endpoint", endpoint)
+                .tag("key", key)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,121 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Skewed, seeded streams checked against exact counts: every counter brackets the true
+ * frequency, and values above total / capacity are always tracked.
+ */
+class SpaceSavingSketchTest {
+
+    private static final int CAPACITY = 10;
+
+    @Test
+    void countsExactlyUnderCapacity() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+        sketch.add("a");
+        sketch.add("b", 3);
+        sketch.add("a");
+
+        assertThat(sketch.getTotal()).isEqualTo(5);
+        assertThat(sketch.top(CAPACITY))
+                .extracting(SpaceSavingSketch.Counter::getValue, SpaceSavingSketch.Counter::getCount,
+                        SpaceSavingSketch.Counter::getError)
+                .containsExactly(tuple("b", 3L, 0L), tuple("a", 2L, 0L));
+    }
+
+    @Test
+    void tracksHeavyHittersWithinErrorBounds() {
+        List<String> stream = skewedStream(new Random(1), 20_000);
+        SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+        stream.forEach(sketch::add);
+
+        assertBounds(sketch, exactCounts(stream));
+        assertThat(sketch.getTotal()).isEqualTo(stream.size());
+    }
+
+    @Test
+    void mergedSketchKeepsErrorBounds() {
+        Random random = new Random(2);
+        List<String> first = skewedStream(random, 10_000);
+        List<String> second = skewedStream(random, 10_000);
+        SpaceSavingSketch merged = new SpaceSavingSketch(CAPACITY);
+        first.forEach(merged::add);
+        SpaceSavingSketch other = new SpaceSavingSketch(CAPACITY);
+        second.forEach(other::add);
+
+        merged.merge(other);
+
+        List<String> all = new ArrayList<>(first);
+        all.addAll(second);
+        assertBounds(merged, exactCounts(all));
+        assertThat(merged.getTotal()).isEqualTo(all.size());
+    }
+
+    @Test
+    void mapFormRoundTrips() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(CAPACITY);
+        skewedStream(new Random(3), 5_000).forEach(sketch::add);
+
+        SpaceSavingSketch restored = SpaceSavingSketch.fromMap(sketch.toMap(), CAPACITY);
+
+        assertThat(restored.getTotal()).isEqualTo(sketch.getTotal());
+        assertThat(restored.top(CAPACITY))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(sketch.top(CAPACITY));
+    }
+
+    private static void assertBounds(SpaceSavingSketch sketch, Map<String, Long> exact) {
+        long threshold = sketch.getTotal() / CAPACITY;
+        Map<String, SpaceSavingSketch.Counter> tracked = new HashMap<>();
+        for (SpaceSavingSketch.Counter counter : sketch.top(CAPACITY)) {
+            tracked.put(counter.getValue(), counter);
+            long actual = exact.getOrDefault(counter.getValue(), 0L);
+            assertThat(counter.getCount()).as("count of %s", counter.getValue()).isGreaterThanOrEqualTo(actual);
+            assertThat(counter.getCount() - counter.getError())
+                    .as("lower bound of %s", counter.getValue())
+                    .isLessThanOrEqualTo(actual);
+        }
+        exact.forEach((value, count) -> {
+            if (count > threshold) {
+                assertThat(tracked).as("heavy hitter %s (%d of %d)", value, count, sketch.getTotal())
+                        .containsKey(value);
+            }
+        });
+    }
+
+    /**
+     * A few values take most of the stream; a long tail of rare ones forces replacements.
+     */
+    private static List<String> skewedStream(Random random, int size) {
+        List<String> stream = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 30) {
+                stream.add("hot-0");
+            } else if (roll < 50) {
+                stream.add("hot-1");
+            } else if (roll < 62) {
+                stream.add("hot-2");
+            } else {
+                stream.add("tail-" + random.nextInt(500));
+            }
+        }
+        return stream;
+    }
+
+    private static Map<String, Long> exactCounts(List<String> stream) {
+        Map<String, Long> counts = new HashMap<>();
+        stream.forEach(value -> counts.merge(value, 1L, Long::sum));
+        return counts;
+    }
+}
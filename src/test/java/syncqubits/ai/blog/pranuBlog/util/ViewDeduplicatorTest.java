@@ -0,0 +1,71 @@
+package syncqubits.ai.blog.pranuBlog.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The window is far longer than any test, so generations only rotate when the current one
+ * reaches max-entries, which makes rotation deterministic.
+ */
+class ViewDeduplicatorTest {
+
+    private ViewDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new ViewDeduplicator(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(deduplicator, "enabled", true);
+        ReflectionTestUtils.setField(deduplicator, "windowMillis", 3_600_000L);
+        ReflectionTestUtils.setField(deduplicator, "maxEntries", 1_000L);
+    }
+
+    @Test
+    void dropsRepeatViewsOfTheSamePostByTheSameViewer() {
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.1")).isFalse();
+
+        assertThat(deduplicator.isFirstView(2L, "guest-1", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "guest-2", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.getDeduplicatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void guestIdTakesPrecedenceOverAddress() {
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.2")).isFalse();
+
+        // Without a guest id the address is the viewer
+        assertThat(deduplicator.isFirstView(1L, null, "10.0.0.1")).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "", "10.0.0.1")).isFalse();
+    }
+
+    @Test
+    void keyIsRememberedForOneRotationAndForgottenAfterTwo() {
+        ReflectionTestUtils.setField(deduplicator, "maxEntries", 2L);
+        deduplicator.isFirstView(1L, "a", null);
+        deduplicator.isFirstView(1L, "b", null);
+
+        // Current generation is full: "c" rotates it into the previous one
+        assertThat(deduplicator.isFirstView(1L, "c", null)).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "a", null)).isFalse();
+
+        deduplicator.isFirstView(1L, "d", null);
+        // Rotates again; "a" is no longer in either generation
+        assertThat(deduplicator.isFirstView(1L, "e", null)).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "d", null)).isFalse();
+        assertThat(deduplicator.isFirstView(1L, "a", null)).isTrue();
+    }
+
+    @Test
+    void disabledDeduplicatorPassesEveryView() {
+        ReflectionTestUtils.setField(deduplicator, "enabled", false);
+
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.isFirstView(1L, "guest-1", "10.0.0.1")).isTrue();
+        assertThat(deduplicator.getDeduplicatedCount()).isZero();
+    }
+}